@@ -0,0 +1,146 @@
+package com.eduride.benchmarks;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.entity.StudentStatus;
+import com.eduride.service.AttendanceArchiveService;
+import com.eduride.service.AttendanceExportService;
+import com.eduride.service.StudentStatusService;
+
+/**
+ * A year of attendance for 1,000 students, read with every row still in
+ * student_status (HOT) and after compacting the closed months into
+ * student_status_month (ARCHIVED): a student's year of history, and a
+ * school's month as CSV. Setup prints the on-disk size of both tables.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class AttendanceArchiveBenchmark {
+
+    private static final int STUDENTS = 1_000;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    @Param({ "HOT", "ARCHIVED" })
+    public String layout;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private StudentStatusService statusService;
+    private AttendanceExportService exportService;
+    private Long schoolId;
+    private long[] studentIds;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("eduride-archive-bench");
+        context = EmbeddedBackend.startOnDisk(directory);
+        statusService = context.getBean(StudentStatusService.class);
+        exportService = context.getBean(AttendanceExportService.class);
+        seed();
+
+        if ("ARCHIVED".equals(layout)) {
+            AttendanceArchiveService.Compaction compaction = context.getBean(AttendanceArchiveService.class)
+                    .compactBefore(TO.plusDays(1));
+            System.out.println("\nCompacted " + compaction.archived() + " rows from " + compaction.months() + " months");
+        }
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (String table : List.of("student_status", "student_status_month")) {
+            System.out.printf("%n%-20s %,9d rows %,12d bytes on disk%n", table,
+                    jdbc.queryForObject("SELECT COUNT(*) FROM " + table, Long.class),
+                    jdbc.queryForObject("SELECT DISK_SPACE_USED(?)", Long.class, table));
+        }
+
+        // sanity: both layouts must read the same history
+        List<StudentStatus> history = statusService.findByStudent(studentIds[0]);
+        if (history.size() != TO.getDayOfYear()) {
+            throw new IllegalStateException("History has " + history.size() + " days");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public List<StudentStatus> studentYearHistory() {
+        long studentId = studentIds[ThreadLocalRandom.current().nextInt(studentIds.length)];
+        return statusService.findByStudent(studentId);
+    }
+
+    @Benchmark
+    public int schoolMonthCsv() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(1 << 20);
+        exportService.export(schoolId, LocalDate.of(2025, 6, 1), LocalDate.of(2025, 6, 30),
+                AttendanceExportService.Format.CSV, out);
+        return out.size();
+    }
+
+    // ─── SEED ───
+
+    private void seed() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        schoolId = school.getId();
+        Bus bus = fixtures.bus(agency, school, STUDENTS);
+        BusHelper helper = fixtures.helper(bus);
+        studentIds = fixtures.students(bus, STUDENTS).stream()
+                .mapToLong(Student::getId)
+                .toArray();
+
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (LocalDate month = FROM; !month.isAfter(TO); month = month.plusMonths(1)) {
+            jdbc.update("""
+                    INSERT INTO student_status (date, pickup_status, student_id, updated_by)
+                    SELECT DATEADD(DAY, r.d, CAST(? AS DATE)),
+                           CASE MOD(r.d + s.id, 3) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'PICKED' ELSE 'DROPPED' END,
+                           s.id, ?
+                    FROM SYSTEM_RANGE(0, ?) AS r(d)
+                    CROSS JOIN student s
+                    WHERE s.school_id = ?
+                    """,
+                    Date.valueOf(month), helper.getId(), month.lengthOfMonth() - 1, schoolId);
+        }
+    }
+}
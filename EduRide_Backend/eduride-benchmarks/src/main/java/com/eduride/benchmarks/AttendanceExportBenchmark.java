@@ -0,0 +1,129 @@
+package com.eduride.benchmarks;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.School;
+import com.eduride.service.AttendanceExportService;
+
+/**
+ * A year of attendance for a 3,000-student school (~1.1M rows) exported to a
+ * discarding stream, in a fork capped at 256 MB of heap. The rows live in a
+ * file-backed database, so the ceiling only holds if the export really
+ * streams – materialising the year would not fit.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(value = 1, jvmArgsAppend = { "-Xmx256m" })
+@State(Scope.Benchmark)
+public class AttendanceExportBenchmark {
+
+    private static final int STUDENTS = 3_000;
+    private static final LocalDate FROM = LocalDate.of(2025, 1, 1);
+    private static final LocalDate TO = LocalDate.of(2025, 12, 31);
+
+    @Param({ "CSV", "NDJSON" })
+    public AttendanceExportService.Format format;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private AttendanceExportService exportService;
+    private Long schoolId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("eduride-export-bench");
+        context = EmbeddedBackend.startOnDisk(directory);
+        exportService = context.getBean(AttendanceExportService.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long exportYear() throws IOException {
+        CountingOutputStream out = new CountingOutputStream();
+        long rows = exportService.export(schoolId, FROM, TO, format, out);
+        if (rows != (long) STUDENTS * (TO.getDayOfYear())) {
+            throw new IllegalStateException("Exported " + rows + " rows");
+        }
+        return out.bytes;
+    }
+
+    // ─── SEED ───
+
+    private void seed() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        schoolId = school.getId();
+        Bus bus = fixtures.bus(agency, school, STUDENTS);
+        BusHelper helper = fixtures.helper(bus);
+        fixtures.students(bus, STUDENTS);
+
+        // one statement per month keeps each transaction's undo log small
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        for (LocalDate month = FROM; !month.isAfter(TO); month = month.plusMonths(1)) {
+            jdbc.update("""
+                    INSERT INTO student_status (date, pickup_status, student_id, updated_by)
+                    SELECT DATEADD(DAY, r.d, CAST(? AS DATE)),
+                           CASE MOD(r.d + s.id, 3) WHEN 0 THEN 'PENDING' WHEN 1 THEN 'PICKED' ELSE 'DROPPED' END,
+                           s.id, ?
+                    FROM SYSTEM_RANGE(0, ?) AS r(d)
+                    CROSS JOIN student s
+                    WHERE s.school_id = ?
+                    """,
+                    Date.valueOf(month), helper.getId(), month.lengthOfMonth() - 1, schoolId);
+        }
+    }
+
+    /** Response body stand-in: counts bytes, keeps nothing. */
+    private static final class CountingOutputStream extends OutputStream {
+
+        long bytes;
+
+        @Override
+        public void write(int b) {
+            bytes++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+            bytes += len;
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.eduride.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.entity.User;
+import com.eduride.repository.AgencyRepository;
+import com.eduride.repository.BusHelperRepository;
+import com.eduride.repository.BusRepository;
+import com.eduride.repository.DriverRepository;
+import com.eduride.repository.SchoolRepository;
+import com.eduride.repository.StudentRepository;
+
+/**
+ * Seed data for the agency → school → bus → helper / driver → students chain
+ * of an {@link EmbeddedBackend}, the benchmarks' counterpart of the backend's
+ * TestFixtures. Every row gets its own number, so emails and phones never
+ * collide. {@code newX} builds an unsaved row for a benchmark to save itself;
+ * the plural builders save in one saveAll.
+ */
+final class BenchmarkFixtures {
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private final AgencyRepository agencyRepository;
+    private final SchoolRepository schoolRepository;
+    private final DriverRepository driverRepository;
+    private final BusRepository busRepository;
+    private final BusHelperRepository helperRepository;
+    private final StudentRepository studentRepository;
+
+    BenchmarkFixtures(ConfigurableApplicationContext context) {
+        this.agencyRepository = context.getBean(AgencyRepository.class);
+        this.schoolRepository = context.getBean(SchoolRepository.class);
+        this.driverRepository = context.getBean(DriverRepository.class);
+        this.busRepository = context.getBean(BusRepository.class);
+        this.helperRepository = context.getBean(BusHelperRepository.class);
+        this.studentRepository = context.getBean(StudentRepository.class);
+    }
+
+    // ─── USERS ───
+
+    Agency agency() {
+        Agency agency = user(new Agency(), "agency", Role.AGENCY);
+        agency.setAddress("Pune");
+        return agencyRepository.save(agency);
+    }
+
+    School school(Agency agency) {
+        return schoolRepository.save(newSchool(agency));
+    }
+
+    List<School> schools(Agency agency, int count) {
+        List<School> schools = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            schools.add(newSchool(agency));
+        }
+        return schoolRepository.saveAll(schools);
+    }
+
+    private School newSchool(Agency agency) {
+        School school = user(new School(), "school", Role.SCHOOL);
+        school.setAddress("Pune");
+        school.setAgency(agency);
+        return school;
+    }
+
+    List<Driver> drivers(Agency agency, int count) {
+        List<Driver> drivers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Driver driver = user(new Driver(), "driver", Role.DRIVER);
+            driver.setLicenseNumber("LIC-" + sequence.get());
+            driver.setAgency(agency);
+            drivers.add(driver);
+        }
+        return driverRepository.saveAll(drivers);
+    }
+
+    /** The helper works for the bus's school. */
+    BusHelper helper(Bus bus) {
+        return helperRepository.save(newHelper(bus));
+    }
+
+    List<BusHelper> helpers(Collection<Bus> buses) {
+        return helperRepository.saveAll(buses.stream().map(this::newHelper).toList());
+    }
+
+    private BusHelper newHelper(Bus bus) {
+        BusHelper helper = user(new BusHelper(), "helper", Role.HELPER);
+        helper.setSchool(bus.getSchool());
+        helper.setAssignedBus(bus);
+        return helper;
+    }
+
+    /** Unsaved ACTIVE riders of the bus, at the bus's school. */
+    List<Student> newStudents(Bus bus, int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Student student = user(new Student(), "student", Role.STUDENT);
+            student.setRollNo(Integer.toString(i));
+            student.setClassName("5A");
+            student.setAddress("Pune");
+            student.setPassStatus("ACTIVE");
+            student.setSchool(bus.getSchool());
+            student.setAssignedBus(bus);
+            students.add(student);
+        }
+        return students;
+    }
+
+    List<Student> students(Bus bus, int count) {
+        return studentRepository.saveAll(newStudents(bus, count));
+    }
+
+    // ─── BUSES ───
+
+    Bus newBus(Agency agency, School school, int capacity) {
+        Bus bus = new Bus();
+        bus.setBusNumber("BUS-" + sequence.incrementAndGet());
+        bus.setCapacity(capacity);
+        bus.setAgency(agency);
+        bus.setSchool(school);
+        return bus;
+    }
+
+    Bus bus(Agency agency, School school, int capacity) {
+        return busRepository.save(newBus(agency, school, capacity));
+    }
+
+    List<Bus> buses(Agency agency, School school, int count, int capacity) {
+        List<Bus> buses = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            buses.add(newBus(agency, school, capacity));
+        }
+        return busRepository.saveAll(buses);
+    }
+
+    private <T extends User> T user(T user, String kind, Role role) {
+        long n = sequence.incrementAndGet();
+        user.setName("Bench " + Character.toUpperCase(kind.charAt(0)) + kind.substring(1) + " " + n);
+        user.setPhone(String.format("9%09d", n));
+        user.setEmail("bench-" + kind + "-" + n + "@eduride.test");
+        user.setPassword("x");
+        user.setRole(role);
+        return user;
+    }
+}
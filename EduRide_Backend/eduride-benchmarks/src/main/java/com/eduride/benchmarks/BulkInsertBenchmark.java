@@ -0,0 +1,118 @@
+package com.eduride.benchmarks;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Student;
+import com.eduride.entity.StudentStatus;
+import com.eduride.repository.StudentRepository;
+import com.eduride.repository.StudentStatusRepository;
+import com.eduride.repository.StudentStatusRepositoryCustom.StatusUpsert;
+
+/**
+ * Bulk writes of 500 rows in one transaction: a student import (users +
+ * student rows through Hibernate) and a day of statuses for 500 students,
+ * once as entities and once through the batched upsert the status paths use.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BulkInsertBenchmark {
+
+    private static final int ROWS = 500;
+
+    private ConfigurableApplicationContext context;
+    private TransactionTemplate transactions;
+    private StudentRepository studentRepository;
+    private StudentStatusRepository statusRepository;
+    private BenchmarkFixtures fixtures;
+    private Bus bus;
+    private BusHelper helper;
+    private List<Student> roster;
+    private LocalDate day = LocalDate.of(2020, 1, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedBackend.start("bulk-insert");
+        transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        studentRepository = context.getBean(StudentRepository.class);
+        statusRepository = context.getBean(StudentStatusRepository.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<Student> importStudents() {
+        List<Student> students = fixtures.newStudents(bus, ROWS);
+        return transactions.execute(status -> studentRepository.saveAll(students));
+    }
+
+    @Benchmark
+    public List<StudentStatus> dailyStatusesAsEntities() {
+        LocalDate date = nextDay();
+        List<StudentStatus> statuses = new ArrayList<>(ROWS);
+        for (Student student : roster) {
+            StudentStatus status = new StudentStatus();
+            status.setStudent(student);
+            status.setDate(date);
+            status.setPickupStatus("PENDING");
+            status.setUpdatedBy(helper);
+            statuses.add(status);
+        }
+        return transactions.execute(status -> statusRepository.saveAll(statuses));
+    }
+
+    @Benchmark
+    public int dailyStatusesBatchedUpsert() {
+        LocalDate date = nextDay();
+        List<StatusUpsert> rows = new ArrayList<>(ROWS);
+        for (Student student : roster) {
+            rows.add(new StatusUpsert(student.getId(), date, "PENDING", helper.getId()));
+        }
+        transactions.executeWithoutResult(status -> statusRepository.upsertAll(rows));
+        return rows.size();
+    }
+
+    private LocalDate nextDay() {
+        day = day.plusDays(1);
+        return day;
+    }
+
+    // ─── SEED ───
+
+    private void seed() {
+        fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+        bus = fixtures.bus(agency, fixtures.school(agency), ROWS);
+        helper = fixtures.helper(bus);
+        roster = fixtures.students(bus, ROWS);
+    }
+}
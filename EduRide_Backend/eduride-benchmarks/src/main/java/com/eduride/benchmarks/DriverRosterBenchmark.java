@@ -0,0 +1,140 @@
+package com.eduride.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eduride.dto.DriverDTO;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.Driver;
+import com.eduride.entity.School;
+import com.eduride.repository.BusRepository;
+import com.eduride.repository.DriverRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Agency driver roster and unassigned-driver lookup against H2, half of the
+ * drivers assigned to a bus.
+ *
+ * rosterPerDriverBusLookup – old flow: findByAgencyId, then findByDriverIdWithSchool per driver
+ * rosterProjection         – DriverRepository.findDriverDTOsByAgencyId (one LEFT JOIN statement)
+ * unassignedNotIn          – old NOT IN (SELECT b.driver.id ...) query
+ * unassignedAntiJoin       – DriverRepository.findUnassignedDriverDTOsByAgencyId
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DriverRosterBenchmark {
+
+    private static final String LEGACY_UNASSIGNED = """
+            SELECT d FROM Driver d
+            WHERE d.agency.id = :agencyId
+              AND d.id NOT IN (
+                  SELECT b.driver.id FROM Bus b WHERE b.driver IS NOT NULL
+              )
+            """;
+
+    @Param({ "10", "1000", "10000" })
+    public int drivers;
+
+    private ConfigurableApplicationContext context;
+    private DriverRepository driverRepository;
+    private BusRepository busRepository;
+    private EntityManagerFactory entityManagerFactory;
+    private Long agencyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedBackend.start("drivers" + drivers);
+        driverRepository = context.getBean(DriverRepository.class);
+        busRepository = context.getBean(BusRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<DriverDTO> rosterPerDriverBusLookup() {
+        List<DriverDTO> roster = new ArrayList<>();
+        for (Driver driver : driverRepository.findByAgencyId(agencyId)) {
+            Bus bus = busRepository.findByDriverIdWithSchool(driver.getId()).orElse(null);
+            roster.add(new DriverDTO(
+                    driver.getId(),
+                    driver.getName(),
+                    driver.getPhone(),
+                    driver.getLicenseNumber(),
+                    bus != null ? bus.getId() : null,
+                    bus != null ? bus.getBusNumber() : null,
+                    bus != null && bus.getSchool() != null ? bus.getSchool().getId() : null,
+                    bus != null && bus.getSchool() != null ? bus.getSchool().getName() : null));
+        }
+        return roster;
+    }
+
+    @Benchmark
+    public List<DriverDTO> rosterProjection() {
+        return driverRepository.findDriverDTOsByAgencyId(agencyId);
+    }
+
+    @Benchmark
+    public List<Driver> unassignedNotIn() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(LEGACY_UNASSIGNED, Driver.class)
+                    .setParameter("agencyId", agencyId)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<DriverDTO> unassignedAntiJoin() {
+        return driverRepository.findUnassignedDriverDTOsByAgencyId(agencyId);
+    }
+
+    // ─── SEED ───
+
+    private void seed() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+        agencyId = agency.getId();
+
+        List<School> schools = fixtures.schools(agency, Math.max(1, drivers / 200));
+        List<Driver> seeded = fixtures.drivers(agency, drivers);
+
+        // every other driver drives a bus
+        List<Bus> buses = new ArrayList<>(drivers / 2);
+        for (int i = 0; i < drivers; i += 2) {
+            Bus bus = fixtures.newBus(agency, schools.get(i % schools.size()), 40);
+            bus.setDriver(seeded.get(i));
+            buses.add(bus);
+        }
+        busRepository.saveAll(buses);
+    }
+}
@@ -0,0 +1,61 @@
+package com.eduride.benchmarks;
+
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eduride.Application;
+
+/**
+ * Boots the backend against a private in-memory H2 database (MySQL mode, as
+ * the backend's test profile) for query benchmarks. No web server, no
+ * attendance engine, quiet logging.
+ *
+ * QUERY_CACHE_SIZE=0 stops H2 from handing back the previous result of an
+ * identical query over unchanged tables, which would time a cache hit
+ * instead of the query.
+ *
+ * The attendance export gets a plain fetch size: H2 rejects the negative one
+ * MySQL streams with.
+ *
+ * {@link #startOnDisk} keeps the tables in a file instead, for benchmarks
+ * whose data set should not count against the JVM heap.
+ */
+final class EmbeddedBackend {
+
+    private EmbeddedBackend() {
+    }
+
+    static ConfigurableApplicationContext start(String databaseName, String... properties) {
+        return run("jdbc:h2:mem:" + databaseName + ";DB_CLOSE_DELAY=-1", properties);
+    }
+
+    static ConfigurableApplicationContext startOnDisk(Path directory, String... properties) {
+        return run("jdbc:h2:file:" + directory.resolve("eduride").toAbsolutePath(), properties);
+    }
+
+    /** {@code properties} are extra {@code --name=value} arguments, applied last. */
+    private static ConfigurableApplicationContext run(String url, String... properties) {
+        String[] defaults = {
+                        "--spring.main.web-application-type=none",
+                        "--spring.main.banner-mode=off",
+                        "--spring.datasource.url=" + url
+                                + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE,VALUE,YEAR,MONTH"
+                                + ";QUERY_CACHE_SIZE=0",
+                        "--spring.datasource.username=sa",
+                        "--spring.datasource.password=",
+                        "--spring.datasource.driver-class-name=org.h2.Driver",
+                        "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                        "--spring.jpa.hibernate.ddl-auto=create-drop",
+                        "--spring.jpa.show-sql=false",
+                        "--eduride.attendance.engine.enabled=false",
+                        "--eduride.attendance.seed.enabled=false",
+                        "--eduride.attendance.export.fetch-size=1000",
+                        "--logging.level.root=WARN" };
+        String[] args = Arrays.copyOf(defaults, defaults.length + properties.length);
+        System.arraycopy(properties, 0, args, defaults.length, properties.length);
+        return new SpringApplicationBuilder(Application.class).run(args);
+    }
+}
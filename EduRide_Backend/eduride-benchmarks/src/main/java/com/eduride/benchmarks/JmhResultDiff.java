@@ -0,0 +1,85 @@
+package com.eduride.benchmarks;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Compares two JMH JSON result files (see the exec configuration in the pom)
+ * benchmark by benchmark:
+ *
+ *   mvn exec:java@diff -Djmh.baseline=baseline.json
+ *
+ * Scores are matched on benchmark name plus parameters; the change is
+ * relative to the baseline, so for time-per-operation modes negative is faster.
+ */
+public final class JmhResultDiff {
+
+    private JmhResultDiff() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("usage: JmhResultDiff <baseline.json> <current.json>");
+            System.exit(2);
+        }
+
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> current = read(new File(args[1]));
+
+        Map<String, JsonNode> all = new TreeMap<>(baseline);
+        current.forEach(all::putIfAbsent);
+
+        System.out.printf("%-70s %14s %14s %9s  %s%n", "Benchmark", "Baseline", "Current", "Change", "Unit");
+        for (String key : all.keySet()) {
+            JsonNode before = baseline.get(key);
+            JsonNode after = current.get(key);
+            JsonNode any = after != null ? after : before;
+
+            String change = before != null && after != null
+                    ? String.format("%+8.1f%%", (score(after) - score(before)) * 100 / score(before))
+                    : "";
+            System.out.printf("%-70s %14s %14s %9s  %s%n", key,
+                    before != null ? String.format("%.3f", score(before)) : "-",
+                    after != null ? String.format("%.3f", score(after)) : "-",
+                    change,
+                    any.path("primaryMetric").path("scoreUnit").asText());
+        }
+    }
+
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            results.put(key(result), result);
+        }
+        return results;
+    }
+
+    // short benchmark name plus its params, e.g. PasswordHashingBenchmark.matches[strength=12]
+    private static String key(JsonNode result) {
+        String benchmark = result.path("benchmark").asText();
+        int method = benchmark.lastIndexOf('.');
+        StringBuilder key = new StringBuilder(benchmark.substring(benchmark.lastIndexOf('.', method - 1) + 1));
+
+        JsonNode params = result.path("params");
+        if (!params.isMissingNode()) {
+            StringBuilder list = new StringBuilder();
+            for (Iterator<Map.Entry<String, JsonNode>> fields = params.fields(); fields.hasNext(); ) {
+                Map.Entry<String, JsonNode> param = fields.next();
+                list.append(list.isEmpty() ? "" : ",").append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            key.append('[').append(list).append(']');
+        }
+        return key.toString();
+    }
+
+    private static double score(JsonNode result) {
+        return result.path("primaryMetric").path("score").asDouble();
+    }
+}
@@ -0,0 +1,115 @@
+package com.eduride.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eduride.dto.BusDTO;
+import com.eduride.dto.HelperStudentStatusDTO;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.Driver;
+import com.eduride.entity.School;
+import com.eduride.repository.BusRepository;
+import com.eduride.service.BusService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Response serialization with the application's ObjectMapper:
+ *
+ * helperRoster – a helper's 50-student roster with today's status
+ * busDTOs      – 50 BusDTO rows (school / driver / helper flattened)
+ * busEntities  – the same 50 buses as entities loaded with the Bus.withDetails
+ *                fetch plan (agency, school, driver, helpers), as
+ *                /api/buses/school/{id} returns them
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JsonSerializationBenchmark {
+
+    private static final int ROWS = 50;
+
+    private ConfigurableApplicationContext context;
+    private ObjectMapper objectMapper;
+    private List<HelperStudentStatusDTO> roster;
+    private List<BusDTO> busDTOs;
+    private List<Bus> buses;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedBackend.start("json-serialization");
+        objectMapper = context.getBean(ObjectMapper.class);
+
+        roster = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            roster.add(new HelperStudentStatusDTO(10_000L + i, 10_000L + i, "Bench Student " + i,
+                    Integer.toString(i), "5A", "93" + String.format("%08d", i), "BUS-0",
+                    "bench-student-" + i + "@eduride.test", i % 3 == 0 ? "PICKED" : "PENDING"));
+        }
+
+        Long schoolId = seed();
+        BusService busService = context.getBean(BusService.class);
+        buses = busService.findBySchool(schoolId);
+        busDTOs = busService.getBusesBySchool(schoolId);
+        if (buses.size() != ROWS || busDTOs.size() != ROWS) {
+            throw new IllegalStateException("Expected " + ROWS + " buses");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public byte[] helperRoster() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(roster);
+    }
+
+    @Benchmark
+    public byte[] busDTOs() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(busDTOs);
+    }
+
+    @Benchmark
+    public byte[] busEntities() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(buses);
+    }
+
+    // ─── SEED ───
+
+    private Long seed() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+
+        List<Driver> drivers = fixtures.drivers(agency, ROWS);
+        List<Bus> seeded = new ArrayList<>(ROWS);
+        for (Driver driver : drivers) {
+            Bus bus = fixtures.newBus(agency, school, 40);
+            bus.setDriver(driver);
+            seeded.add(bus);
+        }
+        fixtures.helpers(context.getBean(BusRepository.class).saveAll(seeded));
+        return school.getId();
+    }
+}
@@ -0,0 +1,108 @@
+package com.eduride.benchmarks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.crypto.SecretKey;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eduride.entity.Role;
+import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+import com.eduride.security.VerifiedTokenCache;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.SignatureAlgorithm;
+import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Per-request JWT verification cost as seen by JwtFilter, and token issue at login.
+ *
+ * generateToken           – JwtUtil.generateToken: claims, HS256 signature, compact serialization
+ * legacyFilter           – old flow: new parser + full parse in isTokenValid, then again in extractUsername
+ * sharedParserSingleParse – one parse on a parser built once, as JwtUtil's (cache miss path)
+ * cachedVerify            – JwtUtil.verify on an already-verified token (steady-state path)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class JwtVerificationBenchmark {
+
+    private SecretKey legacyKey;
+    private String legacyToken;
+    private JwtParser sharedParser;
+
+    private JwtUtil jwtUtil;
+    private TenantContext tenant;
+    private String token;
+
+    @Setup
+    public void setUp() {
+        jwtUtil = new JwtUtil(new VerifiedTokenCache(new SimpleMeterRegistry(), 10_000));
+        tenant = new TenantContext(42L, "helper42@eduride.test", Role.HELPER, 3L, 7L, 11L, 0);
+        token = jwtUtil.generateToken(tenant);
+
+        // Same claim set signed with a local key – JwtUtil's key is private
+        legacyKey = Keys.hmacShaKeyFor(
+                "benchmark-only-secret-key-32-chars-minimum-eduride".getBytes(StandardCharsets.UTF_8));
+        legacyToken = Jwts.builder()
+                .setSubject("helper42@eduride.test")
+                .claim("role", "ROLE_HELPER")
+                .claim("uid", 42L)
+                .claim("aid", 3L)
+                .claim("sid", 7L)
+                .claim("bid", 11L)
+                .claim("ver", 0)
+                .setIssuedAt(new Date())
+                .setExpiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(24)))
+                .signWith(legacyKey, SignatureAlgorithm.HS256)
+                .compact();
+        sharedParser = Jwts.parserBuilder().setSigningKey(legacyKey).build();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtUtil.generateToken(tenant);
+    }
+
+    @Benchmark
+    public String legacyFilter() {
+        legacyParse(legacyToken);                        // isTokenValid
+        return legacyParse(legacyToken).getSubject();    // extractUsername
+    }
+
+    @Benchmark
+    public Claims sharedParserSingleParse() {
+        return sharedParser.parseClaimsJws(legacyToken).getBody();
+    }
+
+    @Benchmark
+    public TenantContext cachedVerify() {
+        return jwtUtil.verify(token);
+    }
+
+    private Claims legacyParse(String jwt) {
+        return Jwts.parserBuilder()
+                .setSigningKey(legacyKey)
+                .build()
+                .parseClaimsJws(jwt)
+                .getBody();
+    }
+}
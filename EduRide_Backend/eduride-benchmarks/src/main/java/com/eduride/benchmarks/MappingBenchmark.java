@@ -0,0 +1,122 @@
+package com.eduride.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.eduride.dto.BusDTO;
+import com.eduride.dto.StudentDTO;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.mapper.StudentMapper;
+
+/**
+ * In-memory entity → DTO mapping, no database: a 50-student roster through
+ * StudentMapper and 50 buses the way BusService.toDTO built BusDTO before the
+ * projection query replaced it (school, driver, first helper).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class MappingBenchmark {
+
+    private static final int ROWS = 50;
+
+    private List<Student> students;
+    private List<Bus> buses;
+
+    @Setup
+    public void setUp() {
+        Agency agency = new Agency();
+        agency.setId(1L);
+        agency.setName("Bench Agency");
+
+        School school = new School();
+        school.setId(2L);
+        school.setName("Bench School");
+        school.setAgency(agency);
+
+        students = new ArrayList<>(ROWS);
+        buses = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            Driver driver = new Driver();
+            driver.setId(1_000L + i);
+            driver.setName("Bench Driver " + i);
+            driver.setPhone("94" + String.format("%08d", i));
+
+            BusHelper helper = new BusHelper();
+            helper.setId(2_000L + i);
+            helper.setName("Bench Helper " + i);
+            helper.setPhone("95" + String.format("%08d", i));
+
+            Bus bus = new Bus();
+            bus.setId(100L + i);
+            bus.setBusNumber("BUS-" + i);
+            bus.setCapacity(40);
+            bus.setAgency(agency);
+            bus.setSchool(school);
+            bus.setDriver(driver);
+            bus.setBusHelpers(List.of(helper));
+            buses.add(bus);
+
+            Student student = new Student();
+            student.setId(10_000L + i);
+            student.setName("Bench Student " + i);
+            student.setEmail("bench-student-" + i + "@eduride.test");
+            student.setPhone("93" + String.format("%08d", i));
+            student.setRollNo(Integer.toString(i));
+            student.setClassName("5A");
+            student.setAddress("Pune");
+            student.setPassStatus("ACTIVE");
+            student.setSchool(school);
+            student.setAssignedBus(buses.get(0));
+            students.add(student);
+        }
+    }
+
+    @Benchmark
+    public List<StudentDTO> studentMapper() {
+        return students.stream().map(StudentMapper::toDTO).toList();
+    }
+
+    @Benchmark
+    public List<BusDTO> busToDTO() {
+        return buses.stream().map(MappingBenchmark::toDTO).toList();
+    }
+
+    private static BusDTO toDTO(Bus bus) {
+        School school = bus.getSchool();
+        Driver driver = bus.getDriver();
+        BusHelper helper = bus.getBusHelpers().isEmpty() ? null : bus.getBusHelpers().get(0);
+        return new BusDTO(
+                bus.getId(),
+                bus.getBusNumber(),
+                bus.getCapacity(),
+                school != null ? school.getId() : null,
+                school != null ? school.getName() : null,
+                driver != null ? driver.getId() : null,
+                driver != null ? driver.getName() : null,
+                driver != null ? driver.getPhone() : null,
+                helper != null ? helper.getName() : null,
+                helper != null ? helper.getPhone() : null
+        );
+    }
+}
@@ -0,0 +1,120 @@
+package com.eduride.benchmarks;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.School;
+import com.eduride.service.PendingStatusSeeder;
+
+/**
+ * One nightly PENDING seed of every rider, a fresh date per invocation, on a
+ * file-backed database. Riders are spread over schools of 1,000 students on
+ * buses of 50, each bus with its helper; {@code -p students=500000} gives the
+ * full-size night.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PendingSeedBenchmark {
+
+    private static final int STUDENTS_PER_SCHOOL = 1_000;
+    private static final int STUDENTS_PER_BUS = 50;
+    // well past anything the id generator hands out during the seed
+    private static final long FIRST_STUDENT_ID = 100_000_000L;
+
+    @Param({ "50000" })
+    public int students;
+
+    @Param({ "1", "4" })
+    public int threads;
+
+    private Path directory;
+    private ConfigurableApplicationContext context;
+    private PendingStatusSeeder seeder;
+    private LocalDate day = LocalDate.of(2020, 1, 1);
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        directory = Files.createTempDirectory("eduride-seed-bench");
+        context = EmbeddedBackend.startOnDisk(directory, "--eduride.attendance.seed.threads=" + threads);
+        seeder = context.getBean(PendingStatusSeeder.class);
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        }
+    }
+
+    @Benchmark
+    public long seedNight() {
+        day = day.plusDays(1);
+        PendingStatusSeeder.SeedRun run = seeder.seed(day);
+        if (!run.complete() || run.inserted() != students) {
+            throw new IllegalStateException("Seeded " + run);
+        }
+        return run.inserted();
+    }
+
+    // ─── SEED ───
+
+    private void seed() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+
+        List<Bus> buses = new ArrayList<>();
+        for (School school : fixtures.schools(agency, students / STUDENTS_PER_SCHOOL)) {
+            buses.addAll(fixtures.buses(agency, school, STUDENTS_PER_SCHOOL / STUDENTS_PER_BUS, STUDENTS_PER_BUS));
+        }
+        fixtures.helpers(buses);
+
+        // the riders themselves straight through SQL: Hibernate would spend minutes on the larger sizes
+        JdbcTemplate jdbc = context.getBean(JdbcTemplate.class);
+        long nextId = FIRST_STUDENT_ID;
+        for (Bus bus : buses) {
+            jdbc.update("""
+                    INSERT INTO users (id, name, phone, email, password, role, active, token_version)
+                    SELECT ? + n, CONCAT('Bench Student ', ? + n), '9300000000',
+                           CONCAT('bench-student-', ? + n, '@eduride.test'), 'x', 'STUDENT', TRUE, 0
+                    FROM SYSTEM_RANGE(0, ?) AS r(n)
+                    """, nextId, nextId, nextId, STUDENTS_PER_BUS - 1);
+            jdbc.update("""
+                    INSERT INTO student (id, class_name, roll_no, address, pass_status, school_id, assigned_bus_id)
+                    SELECT ? + n, '5A', CAST(n AS VARCHAR), 'Pune', 'ACTIVE', ?, ?
+                    FROM SYSTEM_RANGE(0, ?) AS r(n)
+                    """, nextId, bus.getSchool().getId(), bus.getId(), STUDENTS_PER_BUS - 1);
+            nextId += STUDENTS_PER_BUS;
+        }
+    }
+}
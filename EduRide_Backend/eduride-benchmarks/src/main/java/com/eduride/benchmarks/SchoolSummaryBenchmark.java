@@ -0,0 +1,130 @@
+package com.eduride.benchmarks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.eduride.dto.SchoolSummaryDTO;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.repository.SchoolRepository;
+import com.eduride.repository.StudentRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Agency school list with student and bus counts, on 4 schools seeded with
+ * the given students and buses each.
+ *
+ * joinedDistinctCounts – old query: students and buses LEFT JOINed together, COUNT(DISTINCT)
+ *                        (students × buses rows per school before grouping)
+ * correlatedCounts     – SchoolRepository.findSchoolsByAgencyWithCounts (students + buses index lookups)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SchoolSummaryBenchmark {
+
+    private static final int SCHOOLS = 4;
+
+    private static final String LEGACY_QUERY = """
+            SELECT new com.eduride.dto.SchoolSummaryDTO(
+                s.id,
+                s.name,
+                COUNT(DISTINCT st.id),
+                COUNT(DISTINCT b.id)
+            )
+            FROM School s
+            LEFT JOIN Student st ON st.school = s
+            LEFT JOIN Bus b ON b.school = s
+            WHERE s.agency.id = :agencyId
+            GROUP BY s.id, s.name
+            """;
+
+    @Param({ "500", "2000" })
+    public int studentsPerSchool;
+
+    @Param({ "10", "40" })
+    public int busesPerSchool;
+
+    private ConfigurableApplicationContext context;
+    private SchoolRepository schoolRepository;
+    private EntityManagerFactory entityManagerFactory;
+    private Long agencyId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = EmbeddedBackend.start("schools" + studentsPerSchool + "x" + busesPerSchool);
+        schoolRepository = context.getBean(SchoolRepository.class);
+        entityManagerFactory = context.getBean(EntityManagerFactory.class);
+        seed();
+
+        // both queries must agree before their timings mean anything
+        List<SchoolSummaryDTO> expected = new ArrayList<>(joinedDistinctCounts());
+        expected.sort((a, b) -> a.getId().compareTo(b.getId()));
+        if (!expected.equals(correlatedCounts())) {
+            throw new IllegalStateException("School summaries differ: " + expected + " vs " + correlatedCounts());
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<SchoolSummaryDTO> joinedDistinctCounts() {
+        EntityManager entityManager = entityManagerFactory.createEntityManager();
+        try {
+            return entityManager.createQuery(LEGACY_QUERY, SchoolSummaryDTO.class)
+                    .setParameter("agencyId", agencyId)
+                    .getResultList();
+        } finally {
+            entityManager.close();
+        }
+    }
+
+    @Benchmark
+    public List<SchoolSummaryDTO> correlatedCounts() {
+        return schoolRepository.findSchoolsByAgencyWithCounts(agencyId);
+    }
+
+    // ─── SEED ───
+
+    private void seed() {
+        BenchmarkFixtures fixtures = new BenchmarkFixtures(context);
+        Agency agency = fixtures.agency();
+        agencyId = agency.getId();
+
+        for (School school : fixtures.schools(agency, SCHOOLS)) {
+            List<Bus> buses = fixtures.buses(agency, school, busesPerSchool, 60);
+
+            List<Student> students = new ArrayList<>(studentsPerSchool);
+            for (int i = 0; i < studentsPerSchool; i++) {
+                students.addAll(fixtures.newStudents(buses.get(i % buses.size()), 1));
+            }
+            context.getBean(StudentRepository.class).saveAll(students);
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.eduride.loadsim;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+/**
+ * One HdrHistogram per endpoint, in microseconds. Latency runs from when a
+ * request was due, not when it was sent, so a stalled backend shows up as the
+ * queueing a real client would see (no coordinated omission). Non-2xx
+ * responses and transport failures are counted by status, not recorded.
+ */
+final class EndpointLatencies {
+
+    // anything above a minute is off the chart anyway
+    private static final long HIGHEST_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, LongAdder>> errors = new ConcurrentHashMap<>();
+
+    void record(String endpoint, long dueNanos) {
+        long micros = Math.min((System.nanoTime() - dueNanos) / 1_000, HIGHEST_MICROS);
+        histograms.computeIfAbsent(endpoint, e -> new ConcurrentHistogram(HIGHEST_MICROS, 3))
+                .recordValue(Math.max(micros, 1));
+    }
+
+    /** {@code status}: HTTP status, or the exception's simple name when nothing came back. */
+    void error(String endpoint, String status) {
+        errors.computeIfAbsent(endpoint, e -> new ConcurrentHashMap<>())
+                .computeIfAbsent(status, s -> new LongAdder())
+                .increment();
+    }
+
+    // ─── REPORT ───
+
+    void printSummary(PrintStream out, double seconds) {
+        out.printf("%-42s %8s %7s %8s %8s %8s %8s %8s %8s  %s%n",
+                "Endpoint", "Count", "Req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "Max ms", "Mean ms", "Errors");
+
+        TreeMap<String, Histogram> sorted = new TreeMap<>(histograms);
+        errors.keySet().forEach(endpoint -> sorted.putIfAbsent(endpoint, new Histogram(HIGHEST_MICROS, 3)));
+
+        sorted.forEach((endpoint, histogram) -> out.printf("%-42s %8d %7.1f %8.2f %8.2f %8.2f %8.2f %8.2f %8.2f  %s%n",
+                endpoint,
+                histogram.getTotalCount(),
+                histogram.getTotalCount() / seconds,
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue()),
+                histogram.getMean() / 1_000,
+                errorSummary(endpoint)));
+    }
+
+    /**
+     * Full percentile distribution per endpoint, in milliseconds (HdrHistogram's .hgrm format).
+     * Files of an earlier run are removed first, so the directory only holds this one.
+     */
+    void writeDistributions(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        try (DirectoryStream<Path> previous = Files.newDirectoryStream(directory, "*.hgrm")) {
+            for (Path file : previous) {
+                Files.delete(file);
+            }
+        }
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            Path file = directory.resolve(fileName(entry.getKey()));
+            try (PrintStream out = new PrintStream(Files.newOutputStream(file))) {
+                out.println("# " + entry.getKey());
+                entry.getValue().outputPercentileDistribution(out, 1_000.0);
+            }
+        }
+    }
+
+    private String errorSummary(String endpoint) {
+        Map<String, LongAdder> byStatus = errors.get(endpoint);
+        if (byStatus == null) {
+            return "";
+        }
+        StringBuilder summary = new StringBuilder();
+        new TreeMap<>(byStatus).forEach((status, count) ->
+                summary.append(summary.isEmpty() ? "" : ", ").append(status).append(" x").append(count.sum()));
+        return summary.toString();
+    }
+
+    private static double millis(long micros) {
+        return micros / 1_000.0;
+    }
+
+    // "GET /api/helpers/students" -> GET_api_helpers_students.hgrm
+    private static String fileName(String endpoint) {
+        return endpoint.replaceAll("[^A-Za-z0-9]+", "_").replaceAll("^_|_$", "") + ".hgrm";
+    }
+}
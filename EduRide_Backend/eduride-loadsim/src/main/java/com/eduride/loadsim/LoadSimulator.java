@@ -0,0 +1,87 @@
+package com.eduride.loadsim;
+
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import com.eduride.Application;
+import com.eduride.attendance.AttendanceStateEngine;
+import com.eduride.security.JwtUtil;
+import com.eduride.service.PendingStatusSeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Morning-peak simulation, all in one JVM:
+ *
+ *   1. boots the backend on a free port against a private in-memory H2
+ *      database (MySQL mode, as the backend's test profile), attendance
+ *      engine on with its journal in a temp directory
+ *   2. seeds the synthetic world (WorldGenerator), then does what the night
+ *      before would have: PENDING rows for every rider, engine roster reloaded
+ *   3. replays the peak over HTTP (MorningPeakTraffic)
+ *   4. prints per-endpoint percentiles and writes each endpoint's full
+ *      HdrHistogram distribution to the output directory
+ *
+ * Settings: see SimulationConfig.
+ */
+public final class LoadSimulator {
+
+    private static final Logger log = LoggerFactory.getLogger(LoadSimulator.class);
+
+    private static final String PASSWORD = "loadsim-password-2025";
+
+    private LoadSimulator() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        SimulationConfig config = SimulationConfig.parse(args);
+        Path journal = Files.createTempDirectory("eduride-loadsim-journal");
+
+        try (ConfigurableApplicationContext context = start(journal)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+
+            // the backend's strength, so helper logins cost what they do in production
+            String passwordHash = new BCryptPasswordEncoder(12).encode(PASSWORD);
+            SyntheticWorld world = new WorldGenerator(context).generate(config, PASSWORD, passwordHash);
+
+            context.getBean(PendingStatusSeeder.class).seed(LocalDate.now());
+            context.getBean(AttendanceStateEngine.class).refresh();
+
+            EndpointLatencies latencies = new EndpointLatencies();
+            new MorningPeakTraffic(URI.create("http://127.0.0.1:" + port), config, world,
+                    context.getBean(JwtUtil.class), context.getBean(ObjectMapper.class), latencies).run();
+
+            System.out.println();
+            latencies.printSummary(System.out, config.duration().toMillis() / 1_000.0);
+            latencies.writeDistributions(config.output());
+            log.info("Latency distributions written to {}", config.output().toAbsolutePath());
+        }
+    }
+
+    private static ConfigurableApplicationContext start(Path journal) {
+        return new SpringApplicationBuilder(Application.class).run(
+                "--server.port=0",
+                "--spring.main.banner-mode=off",
+                "--spring.datasource.url=jdbc:h2:mem:loadsim;DB_CLOSE_DELAY=-1"
+                        + ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=DATE,VALUE,YEAR,MONTH",
+                "--spring.datasource.username=sa",
+                "--spring.datasource.password=",
+                "--spring.datasource.driver-class-name=org.h2.Driver",
+                "--spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+                "--spring.jpa.hibernate.ddl-auto=create-drop",
+                "--eduride.attendance.engine.enabled=true",
+                "--eduride.attendance.journal-dir=" + journal.toAbsolutePath(),
+                // seeded explicitly once the world exists
+                "--eduride.attendance.seed.enabled=false",
+                "--logging.level.root=WARN",
+                "--logging.level.com.eduride.loadsim=INFO");
+    }
+}
@@ -0,0 +1,248 @@
+package com.eduride.loadsim;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.locks.LockSupport;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.eduride.entity.Role;
+import com.eduride.loadsim.SyntheticWorld.HelperAccount;
+import com.eduride.loadsim.SyntheticWorld.SchoolAccount;
+import com.eduride.loadsim.SyntheticWorld.StudentAccount;
+import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Replays the morning peak against the running backend, one virtual thread
+ * per actor:
+ *
+ * helper  – logs in (spread over the login ramp, backing off on 503), fetches
+ *           the bus roster, then taps PICKED for every rider and DROPPED for
+ *           every rider, one tap per mark interval, re-fetching the roster
+ *           every few taps
+ * student – a share of the riders poll today's status
+ * school  – every school refreshes its dashboard summary
+ *
+ * Students and schools signed in on an earlier day, so they start with a
+ * token minted by JwtUtil; only helpers pay for BCrypt.
+ *
+ * Each actor works to a fixed schedule and a request's latency counts from
+ * the slot it was due in, so when a slow response holds an actor up, the
+ * requests queued behind it are charged the wait (see EndpointLatencies).
+ */
+final class MorningPeakTraffic {
+
+    private static final Logger log = LoggerFactory.getLogger(MorningPeakTraffic.class);
+
+    static final String LOGIN = "POST /api/auth/login";
+    static final String ROSTER = "GET /api/helpers/students";
+    static final String MARK = "POST /api/helpers/student-status";
+    static final String STUDENT_POLL = "GET /api/student-status/today/{id}";
+    static final String SCHOOL_DASHBOARD = "GET /api/schools/dashboard/summary";
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+    private final URI baseUri;
+    private final SimulationConfig config;
+    private final SyntheticWorld world;
+    private final JwtUtil jwtUtil;
+    private final ObjectMapper objectMapper;
+    private final EndpointLatencies latencies;
+    private final HttpClient http;
+    private final Random random = new Random(20250702L);
+
+    private long startNanos;
+    private long endNanos;
+
+    MorningPeakTraffic(URI baseUri, SimulationConfig config, SyntheticWorld world, JwtUtil jwtUtil,
+                       ObjectMapper objectMapper, EndpointLatencies latencies) {
+        this.baseUri = baseUri;
+        this.config = config;
+        this.world = world;
+        this.jwtUtil = jwtUtil;
+        this.objectMapper = objectMapper;
+        this.latencies = latencies;
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+    }
+
+    void run() {
+        List<StudentAccount> pollers = new ArrayList<>(world.riders());
+        Collections.shuffle(pollers, random);
+        pollers = pollers.subList(0, (int) Math.round(pollers.size() * config.pollingStudents()));
+
+        log.info("Morning peak for {}: {} helpers, {} polling students, {} school dashboards",
+                config.duration(), world.helpers().size(), pollers.size(), world.schools().size());
+
+        startNanos = System.nanoTime();
+        endNanos = startNanos + config.duration().toNanos();
+
+        try (ExecutorService actors = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<HelperAccount> helpers = world.helpers();
+            for (int i = 0; i < helpers.size(); i++) {
+                HelperAccount helper = helpers.get(i);
+                long loginAt = startNanos + config.loginRamp().toNanos() * i / helpers.size();
+                actors.submit(() -> helper(helper, loginAt));
+            }
+            for (SchoolAccount school : world.schools()) {
+                long firstAt = startNanos + offset(config.dashboardInterval());
+                actors.submit(() -> school(school, firstAt));
+            }
+            for (StudentAccount student : pollers) {
+                long firstAt = startNanos + offset(config.pollInterval());
+                actors.submit(() -> student(student, firstAt));
+            }
+        }
+    }
+
+    // ─── ACTORS ───
+
+    private void helper(HelperAccount helper, long due) {
+        String token = null;
+        while (token == null) {
+            if (!sleepUntil(due)) {
+                return;
+            }
+            HttpResponse<String> response = send(LOGIN, due, post("/api/auth/login", null,
+                    Map.of("email", helper.email(), "password", world.password())));
+            if (response == null) {
+                return;
+            }
+            if (response.statusCode() == 200) {
+                token = readToken(response.body());
+            } else if (response.statusCode() == 503) {
+                long retryAfter = response.headers().firstValueAsLong("Retry-After").orElse(1);
+                due = System.nanoTime() + Duration.ofSeconds(retryAfter).toNanos();
+            } else {
+                return;
+            }
+        }
+
+        send(ROSTER, System.nanoTime(), get("/api/helpers/students", token));
+
+        // taps are scheduled from when the roster is on screen
+        due = System.nanoTime();
+        long interval = config.markInterval().toNanos();
+        int marks = 0;
+        for (String status : List.of("PICKED", "DROPPED")) {
+            for (Long studentId : helper.riders()) {
+                due += interval;
+                if (!sleepUntil(due)) {
+                    return;
+                }
+                send(MARK, due, post("/api/helpers/student-status", token,
+                        Map.of("studentId", studentId, "pickupStatus", status)));
+
+                if (++marks % config.rosterEvery() == 0) {
+                    send(ROSTER, System.nanoTime(), get("/api/helpers/students", token));
+                }
+            }
+        }
+    }
+
+    private void student(StudentAccount student, long due) {
+        String token = jwtUtil.generateToken(new TenantContext(student.id(), student.email(), Role.STUDENT,
+                student.agencyId(), student.schoolId(), student.busId(), 0));
+        HttpRequest poll = get("/api/student-status/today/" + student.id(), token);
+
+        long interval = config.pollInterval().toNanos();
+        for (; sleepUntil(due); due += interval) {
+            send(STUDENT_POLL, due, poll);
+        }
+    }
+
+    private void school(SchoolAccount school, long due) {
+        String token = jwtUtil.generateToken(new TenantContext(school.id(), school.email(), Role.SCHOOL,
+                school.agencyId(), school.id(), null, 0));
+        HttpRequest refresh = get("/api/schools/dashboard/summary", token);
+
+        long interval = config.dashboardInterval().toNanos();
+        for (; sleepUntil(due); due += interval) {
+            send(SCHOOL_DASHBOARD, due, refresh);
+        }
+    }
+
+    // ─── HTTP ───
+
+    /** Null when no response came back; non-2xx responses are returned but counted as errors. */
+    private HttpResponse<String> send(String endpoint, long dueNanos, HttpRequest request) {
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 == 2) {
+                latencies.record(endpoint, dueNanos);
+            } else {
+                latencies.error(endpoint, Integer.toString(response.statusCode()));
+            }
+            return response;
+        } catch (IOException e) {
+            latencies.error(endpoint, e.getClass().getSimpleName());
+            return null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        }
+    }
+
+    private HttpRequest get(String path, String token) {
+        return request(path, token).GET().build();
+    }
+
+    private HttpRequest post(String path, String token, Map<String, ?> body) {
+        try {
+            return request(path, token)
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(body)))
+                    .build();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private HttpRequest.Builder request(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(baseUri.resolve(path)).timeout(REQUEST_TIMEOUT);
+        return token != null ? builder.header("Authorization", "Bearer " + token) : builder;
+    }
+
+    private String readToken(String body) {
+        try {
+            return objectMapper.readTree(body).path("token").asText();
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Unreadable login response: " + body, e);
+        }
+    }
+
+    // ─── SCHEDULE ───
+
+    /** Parks until {@code due}; false once the peak is over. */
+    private boolean sleepUntil(long due) {
+        if (due - endNanos >= 0) {
+            return false;
+        }
+        for (long wait; (wait = due - System.nanoTime()) > 0; ) {
+            LockSupport.parkNanos(wait);
+        }
+        return true;
+    }
+
+    // spreads the first request of periodic actors over one period
+    private synchronized long offset(Duration period) {
+        return (long) (random.nextDouble() * period.toNanos());
+    }
+}
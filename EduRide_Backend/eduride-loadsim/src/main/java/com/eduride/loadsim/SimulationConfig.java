@@ -0,0 +1,93 @@
+package com.eduride.loadsim;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.boot.convert.DurationStyle;
+
+/**
+ * World size and traffic mix of one run, from {@code key=value} arguments;
+ * anything not given keeps its default.
+ *
+ * World:
+ *   agencies=2 schools-per-agency=5 buses-per-school=8
+ *   bus-capacity=50 fill=0.9         – riders per bus = capacity × fill
+ *   inactive-passes=0.05             – share of students whose pass lapsed (not on any roster)
+ *
+ * Traffic (the 7:00–8:30 peak, compressed):
+ *   duration=90s
+ *   login-ramp=15s                   – helpers log in spread over this window
+ *   mark-interval=1s                 – one status tap per helper
+ *   roster-every=10                  – roster re-fetched after this many marks
+ *   polling-students=0.25 poll-interval=10s
+ *   dashboard-interval=5s            – per school
+ *
+ * output=target/loadsim              – where the .hgrm files go
+ */
+record SimulationConfig(
+        int agencies,
+        int schoolsPerAgency,
+        int busesPerSchool,
+        int busCapacity,
+        double fill,
+        double inactivePasses,
+        Duration duration,
+        Duration loginRamp,
+        Duration markInterval,
+        int rosterEvery,
+        double pollingStudents,
+        Duration pollInterval,
+        Duration dashboardInterval,
+        Path output) {
+
+    static SimulationConfig parse(String... args) {
+        Map<String, String> values = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq <= 0) {
+                throw new IllegalArgumentException("Expected key=value, got: " + arg);
+            }
+            values.put(arg.substring(0, eq), arg.substring(eq + 1));
+        }
+
+        SimulationConfig config = new SimulationConfig(
+                Integer.parseInt(take(values, "agencies", "2")),
+                Integer.parseInt(take(values, "schools-per-agency", "5")),
+                Integer.parseInt(take(values, "buses-per-school", "8")),
+                Integer.parseInt(take(values, "bus-capacity", "50")),
+                Double.parseDouble(take(values, "fill", "0.9")),
+                Double.parseDouble(take(values, "inactive-passes", "0.05")),
+                DurationStyle.detectAndParse(take(values, "duration", "90s")),
+                DurationStyle.detectAndParse(take(values, "login-ramp", "15s")),
+                DurationStyle.detectAndParse(take(values, "mark-interval", "1s")),
+                Integer.parseInt(take(values, "roster-every", "10")),
+                Double.parseDouble(take(values, "polling-students", "0.25")),
+                DurationStyle.detectAndParse(take(values, "poll-interval", "10s")),
+                DurationStyle.detectAndParse(take(values, "dashboard-interval", "5s")),
+                Path.of(take(values, "output", "target/loadsim")));
+
+        if (!values.isEmpty()) {
+            throw new IllegalArgumentException("Unknown settings: " + values.keySet());
+        }
+        return config;
+    }
+
+    int schools() {
+        return agencies * schoolsPerAgency;
+    }
+
+    int buses() {
+        return schools() * busesPerSchool;
+    }
+
+    int studentsPerBus() {
+        return (int) Math.round(busCapacity * fill);
+    }
+
+    private static String take(Map<String, String> values, String key, String fallback) {
+        String value = values.remove(key);
+        return value != null && !value.isBlank() ? value : fallback;
+    }
+}
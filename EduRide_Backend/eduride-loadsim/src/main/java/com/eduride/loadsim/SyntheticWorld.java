@@ -0,0 +1,25 @@
+package com.eduride.loadsim;
+
+import java.util.List;
+
+/**
+ * Accounts of the generated world the traffic needs: who logs in or holds a
+ * token, and which ids belong to them. Every account shares one password.
+ */
+record SyntheticWorld(
+        String password,
+        List<SchoolAccount> schools,
+        List<HelperAccount> helpers,
+        List<StudentAccount> riders,
+        long students) {
+
+    record SchoolAccount(Long id, String email, Long agencyId) {
+    }
+
+    /** {@code riders}: students with an active pass on the helper's bus. */
+    record HelperAccount(Long id, String email, Long busId, List<Long> riders) {
+    }
+
+    record StudentAccount(Long id, String email, Long agencyId, Long schoolId, Long busId) {
+    }
+}
@@ -0,0 +1,177 @@
+package com.eduride.loadsim;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.entity.User;
+import com.eduride.loadsim.SyntheticWorld.HelperAccount;
+import com.eduride.loadsim.SyntheticWorld.SchoolAccount;
+import com.eduride.loadsim.SyntheticWorld.StudentAccount;
+import com.eduride.repository.AgencyRepository;
+import com.eduride.repository.BusHelperRepository;
+import com.eduride.repository.BusRepository;
+import com.eduride.repository.DriverRepository;
+import com.eduride.repository.SchoolRepository;
+import com.eduride.repository.StudentRepository;
+
+/**
+ * Seeds agencies → schools → buses (driver and helper each) → students
+ * through the backend's repositories. One transaction per school, so users
+ * go out as JDBC batches (pooled table ids) and the persistence context
+ * stays at one school's worth of rows.
+ *
+ * Every account gets the same BCrypt hash, computed once: hashing a few
+ * thousand passwords at strength 12 would take longer than the run.
+ */
+final class WorldGenerator {
+
+    private static final Logger log = LoggerFactory.getLogger(WorldGenerator.class);
+
+    private final AgencyRepository agencyRepository;
+    private final SchoolRepository schoolRepository;
+    private final DriverRepository driverRepository;
+    private final BusRepository busRepository;
+    private final BusHelperRepository helperRepository;
+    private final StudentRepository studentRepository;
+    private final TransactionTemplate transactions;
+
+    // seeded, so two runs with the same config get the same world
+    private final Random random = new Random(20250701L);
+    private long phones;
+
+    WorldGenerator(ConfigurableApplicationContext context) {
+        this.agencyRepository = context.getBean(AgencyRepository.class);
+        this.schoolRepository = context.getBean(SchoolRepository.class);
+        this.driverRepository = context.getBean(DriverRepository.class);
+        this.busRepository = context.getBean(BusRepository.class);
+        this.helperRepository = context.getBean(BusHelperRepository.class);
+        this.studentRepository = context.getBean(StudentRepository.class);
+        this.transactions = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+    }
+
+    SyntheticWorld generate(SimulationConfig config, String password, String passwordHash) {
+        long started = System.nanoTime();
+
+        List<Agency> agencies = new ArrayList<>(config.agencies());
+        for (int a = 0; a < config.agencies(); a++) {
+            Agency agency = user(new Agency(), "Loadsim Agency " + a, "agency-" + a, Role.AGENCY, passwordHash);
+            agency.setAddress("Pune");
+            agencies.add(agency);
+        }
+        agencies = agencyRepository.saveAll(agencies);
+
+        List<SchoolAccount> schools = new ArrayList<>();
+        List<HelperAccount> helpers = new ArrayList<>();
+        List<StudentAccount> riders = new ArrayList<>();
+        long students = 0;
+
+        for (int a = 0; a < agencies.size(); a++) {
+            Agency agency = agencies.get(a);
+            for (int s = 0; s < config.schoolsPerAgency(); s++) {
+                String key = a + "-" + s;
+                School school = transactions.execute(status ->
+                        seedSchool(config, agency, key, passwordHash, helpers, riders));
+                schools.add(new SchoolAccount(school.getId(), school.getEmail(), agency.getId()));
+                students += (long) config.busesPerSchool() * config.studentsPerBus();
+            }
+            log.info("Seeded agency {} of {}", a + 1, agencies.size());
+        }
+
+        log.info("World: {} agencies, {} schools, {} buses, {} students ({} riders with an active pass) in {} ms",
+                agencies.size(), schools.size(), helpers.size(), students, riders.size(),
+                (System.nanoTime() - started) / 1_000_000);
+        return new SyntheticWorld(password, schools, helpers, riders, students);
+    }
+
+    private School seedSchool(SimulationConfig config, Agency agency, String key, String passwordHash,
+                              List<HelperAccount> helpers, List<StudentAccount> riders) {
+
+        School school = user(new School(), "Loadsim School " + key, "school-" + key, Role.SCHOOL, passwordHash);
+        school.setAddress("Pune");
+        school.setAgency(agency);
+        school = schoolRepository.save(school);
+
+        List<Driver> drivers = new ArrayList<>(config.busesPerSchool());
+        for (int b = 0; b < config.busesPerSchool(); b++) {
+            Driver driver = user(new Driver(), "Loadsim Driver " + key + "-" + b,
+                    "driver-" + key + "-" + b, Role.DRIVER, passwordHash);
+            driver.setLicenseNumber("LS-LIC-" + key + "-" + b);
+            driver.setAgency(agency);
+            drivers.add(driver);
+        }
+        drivers = driverRepository.saveAll(drivers);
+
+        List<Bus> buses = new ArrayList<>(config.busesPerSchool());
+        for (int b = 0; b < config.busesPerSchool(); b++) {
+            Bus bus = new Bus();
+            bus.setBusNumber("LS-" + key + "-" + b);
+            bus.setCapacity(config.busCapacity());
+            bus.setAgency(agency);
+            bus.setSchool(school);
+            bus.setDriver(drivers.get(b));
+            buses.add(bus);
+        }
+        buses = busRepository.saveAll(buses);
+
+        List<BusHelper> busHelpers = new ArrayList<>(buses.size());
+        List<Student> students = new ArrayList<>(buses.size() * config.studentsPerBus());
+        for (int b = 0; b < buses.size(); b++) {
+            BusHelper helper = user(new BusHelper(), "Loadsim Helper " + key + "-" + b,
+                    "helper-" + key + "-" + b, Role.HELPER, passwordHash);
+            helper.setSchool(school);
+            helper.setAssignedBus(buses.get(b));
+            busHelpers.add(helper);
+
+            for (int n = 0; n < config.studentsPerBus(); n++) {
+                Student student = user(new Student(), "Loadsim Student " + key + "-" + b + "-" + n,
+                        "student-" + key + "-" + b + "-" + n, Role.STUDENT, passwordHash);
+                student.setRollNo(b + "-" + n);
+                student.setClassName((1 + random.nextInt(12)) + "" + (char) ('A' + random.nextInt(4)));
+                student.setAddress("Pune");
+                student.setPassStatus(random.nextDouble() < config.inactivePasses() ? "INACTIVE" : "ACTIVE");
+                student.setSchool(school);
+                student.setAssignedBus(buses.get(b));
+                students.add(student);
+            }
+        }
+        busHelpers = helperRepository.saveAll(busHelpers);
+        students = studentRepository.saveAll(students);
+
+        for (BusHelper helper : busHelpers) {
+            Long busId = helper.getAssignedBus().getId();
+            List<Long> busRiders = new ArrayList<>();
+            for (Student student : students) {
+                if (student.getAssignedBus().getId().equals(busId) && "ACTIVE".equals(student.getPassStatus())) {
+                    busRiders.add(student.getId());
+                    riders.add(new StudentAccount(student.getId(), student.getEmail(),
+                            agency.getId(), school.getId(), busId));
+                }
+            }
+            helpers.add(new HelperAccount(helper.getId(), helper.getEmail(), busId, busRiders));
+        }
+        return school;
+    }
+
+    private <T extends User> T user(T user, String name, String handle, Role role, String passwordHash) {
+        user.setName(name);
+        user.setEmail(handle + "@loadsim.test");
+        user.setPhone(String.format("7%09d", phones++));
+        user.setPassword(passwordHash);
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,12 @@
+package com.eduride.attendance;
+
+/**
+ * Today's pickup tally for one bus or one school.
+ */
+public record AttendanceCounts(
+        int totalStudents,
+        int pending,
+        int picked,
+        int dropped
+) {
+}
@@ -0,0 +1,158 @@
+package com.eduride.attendance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, fsync'd log of attendance marks not yet flushed to the database.
+ *
+ * Marks go to the current segment; a flush rotates to a fresh segment and
+ * deletes the old ones only after the database write committed. Whatever
+ * segments exist at startup hold exactly the writes that still need replaying.
+ * Not thread-safe – {@link AttendanceStateEngine} serialises access.
+ */
+class AttendanceJournal implements AutoCloseable {
+
+    private static final String PREFIX = "attendance-";
+    private static final String SUFFIX = ".log";
+    // not a segment: never replayed, only appended to
+    static final String DEAD_LETTER = "dead-letter.log";
+
+    private final Path directory;
+    private long nextSequence;
+    private Path currentPath;
+    private FileChannel current;
+
+    AttendanceJournal(Path directory) {
+        this.directory = directory;
+        try {
+            Files.createDirectories(directory);
+            List<Path> existing = segments();
+            nextSequence = existing.isEmpty() ? 1 : sequenceOf(existing.get(existing.size() - 1)) + 1;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open attendance journal in " + directory, e);
+        }
+    }
+
+    /** Segments on disk, oldest first. */
+    List<Path> segments() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files
+                    .filter(path -> {
+                        String name = path.getFileName().toString();
+                        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+                    })
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    /** Marks of one segment in write order; a torn trailing line is skipped. */
+    List<AttendanceMark> read(Path segment) throws IOException {
+        List<AttendanceMark> marks = new ArrayList<>();
+        for (String line : Files.readAllLines(segment, StandardCharsets.UTF_8)) {
+            AttendanceMark mark = AttendanceMark.fromJournalLine(line);
+            if (mark != null) {
+                marks.add(mark);
+            }
+        }
+        return marks;
+    }
+
+    /** Appends the marks and forces them to disk before returning. */
+    void append(Collection<AttendanceMark> marks) {
+        StringBuilder lines = new StringBuilder();
+        for (AttendanceMark mark : marks) {
+            lines.append(mark.toJournalLine()).append('\n');
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(lines.toString().getBytes(StandardCharsets.UTF_8));
+        try {
+            if (current == null) {
+                open();
+            }
+            while (buffer.hasRemaining()) {
+                current.write(buffer);
+            }
+            current.force(false);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Attendance journal write failed", e);
+        }
+    }
+
+    /**
+     * Appends marks the database refused for good to the dead-letter file,
+     * in journal line format – moving lines back into a segment re-queues them.
+     */
+    void deadLetter(Collection<AttendanceMark> marks) {
+        StringBuilder lines = new StringBuilder();
+        for (AttendanceMark mark : marks) {
+            lines.append(mark.toJournalLine()).append('\n');
+        }
+        try {
+            Files.writeString(directory.resolve(DEAD_LETTER), lines, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND, StandardOpenOption.SYNC);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Attendance dead-letter write failed", e);
+        }
+    }
+
+    /**
+     * Closes the current segment so new marks go to a fresh one.
+     * Returns the closed segment, or null when nothing was written to it.
+     */
+    Path rotate() {
+        Path closed = currentPath;
+        closeCurrent();
+        return closed;
+    }
+
+    void delete(Collection<Path> segments) {
+        for (Path segment : segments) {
+            try {
+                Files.deleteIfExists(segment);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot delete attendance journal segment " + segment, e);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        closeCurrent();
+    }
+
+    private void open() throws IOException {
+        currentPath = directory.resolve(String.format("%s%019d%s", PREFIX, nextSequence++, SUFFIX));
+        current = FileChannel.open(currentPath,
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    private void closeCurrent() {
+        if (current == null) {
+            return;
+        }
+        try {
+            current.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot close attendance journal segment " + currentPath, e);
+        } finally {
+            current = null;
+            currentPath = null;
+        }
+    }
+
+    private static long sequenceOf(Path segment) {
+        String name = segment.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
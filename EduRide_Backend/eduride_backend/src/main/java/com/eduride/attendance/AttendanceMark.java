@@ -0,0 +1,36 @@
+package com.eduride.attendance;
+
+import java.time.LocalDate;
+
+/**
+ * One acknowledged pickup status write, as journalled and later flushed to student_status.
+ */
+public record AttendanceMark(
+        LocalDate date,
+        Long studentId,
+        String pickupStatus,
+        Long updatedBy
+) {
+
+    /** Journal line format: {@code date,studentId,pickupStatus,updatedBy}; a system write's updatedBy is {@code null} */
+    String toJournalLine() {
+        return date + "," + studentId + "," + pickupStatus + "," + updatedBy;
+    }
+
+    /** Parses a journal line, or returns null for a torn / unreadable line. */
+    static AttendanceMark fromJournalLine(String line) {
+        String[] parts = line.split(",");
+        if (parts.length != 4) {
+            return null;
+        }
+        try {
+            return new AttendanceMark(
+                    LocalDate.parse(parts[0]),
+                    Long.valueOf(parts[1]),
+                    parts[2],
+                    "null".equals(parts[3]) ? null : Long.valueOf(parts[3]));
+        } catch (RuntimeException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.eduride.attendance;
+
+import java.util.Arrays;
+
+/**
+ * Packs one student's pickup statuses for a calendar month into 12 bytes:
+ * 3 bits per day, day 1 in the lowest bits. Code 0 means no status row for
+ * that day; codes 4–7 are free for future statuses.
+ */
+public final class AttendanceMonthCodec {
+
+    public static final int BYTES = 12; // 31 days × 3 bits = 93 bits
+
+    private static final int BITS_PER_DAY = 3;
+    private static final int MASK = (1 << BITS_PER_DAY) - 1;
+    private static final String[] STATUSES = {null, "PENDING", "PICKED", "DROPPED"};
+
+    private AttendanceMonthCodec() {
+    }
+
+    /** True when the status has a code, i.e. the row can be archived without losing it. */
+    public static boolean isEncodable(String status) {
+        return code(status) > 0;
+    }
+
+    /** Encodes statuses indexed by day of month (index 0 = day 1); null entries are "no row". */
+    public static byte[] encode(String[] byDay) {
+        if (byDay.length > 31) {
+            throw new IllegalArgumentException("A month has at most 31 days");
+        }
+        byte[] bits = new byte[BYTES];
+        for (int day = 1; day <= byDay.length; day++) {
+            String status = byDay[day - 1];
+            if (status == null) {
+                continue;
+            }
+            int code = code(status);
+            if (code <= 0) {
+                throw new IllegalArgumentException("No archive code for status " + status);
+            }
+            int bit = (day - 1) * BITS_PER_DAY;
+            int packed = code << (bit & 7);
+            bits[bit >> 3] |= (byte) packed;
+            if ((packed >> 8) != 0) {
+                bits[(bit >> 3) + 1] |= (byte) (packed >> 8);
+            }
+        }
+        return bits;
+    }
+
+    /** Statuses indexed by day of month (index 0 = day 1), null where there was no row. */
+    public static String[] decode(byte[] bits) {
+        String[] byDay = new String[31];
+        for (int day = 1; day <= 31; day++) {
+            byDay[day - 1] = statusOn(bits, day);
+        }
+        return byDay;
+    }
+
+    /** The status on one day of the month, or null. */
+    public static String statusOn(byte[] bits, int dayOfMonth) {
+        int bit = (dayOfMonth - 1) * BITS_PER_DAY;
+        int index = bit >> 3;
+        int word = bits[index] & 0xff;
+        if (index + 1 < bits.length) {
+            word |= (bits[index + 1] & 0xff) << 8;
+        }
+        int code = (word >> (bit & 7)) & MASK;
+        return code < STATUSES.length ? STATUSES[code] : null;
+    }
+
+    private static int code(String status) {
+        return status == null ? -1 : Arrays.asList(STATUSES).indexOf(status);
+    }
+}
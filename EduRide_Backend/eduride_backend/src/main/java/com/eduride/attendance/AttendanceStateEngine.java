@@ -0,0 +1,562 @@
+package com.eduride.attendance;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.eduride.exception.ResourceNotFoundException;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Today's pickup state for every student, held in memory as one status byte
+ * per student grouped by bus, with running tallies per bus and per school.
+ *
+ * Writes are journalled (fsync'd) before they are applied and acknowledged,
+ * then flushed to student_status in batches by a background job. Dashboards
+ * read the tallies in constant time. On startup the state is rebuilt from the
+ * database and any journalled writes the last process had not flushed are
+ * replayed, so an acknowledged status survives a crash. The roster is reloaded
+ * periodically (bus moves, new students) and at midnight.
+ *
+ * A mark the database refuses for good (student deleted after the tap) is
+ * isolated from its batch and moved to the journal's dead-letter file, so it
+ * cannot hold back the marks behind it.
+ */
+@Component
+public class AttendanceStateEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceStateEngine.class);
+
+    /** Status codes are the index into this list. */
+    static final List<String> STATUSES = List.of("PENDING", "PICKED", "DROPPED");
+    private static final byte PENDING = 0;
+    private static final byte PICKED = 1;
+    private static final byte DROPPED = 2;
+
+    private static final Long NO_SCHOOL = 0L;
+
+    private final AttendanceStore store;
+    private final boolean enabled;
+    private final Path journalDirectory;
+    private final Clock clock;
+    private final Counter rejectedMarks;
+
+    // writeLock: journal appends, state mutation, pending; flushLock: one flush / reload at a time
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final ReentrantLock flushLock = new ReentrantLock();
+
+    private AttendanceJournal journal;
+    private Map<MarkKey, AttendanceMark> pending = new LinkedHashMap<>();
+    private final List<Path> unflushedSegments = new ArrayList<>();
+    private volatile DayState state;
+
+    @Autowired
+    public AttendanceStateEngine(
+            AttendanceStore store,
+            @Value("${eduride.attendance.engine.enabled:true}") boolean enabled,
+            @Value("${eduride.attendance.journal-dir:data/attendance-journal}") String journalDirectory,
+            MeterRegistry meterRegistry
+    ) {
+        this(store, enabled, Path.of(journalDirectory), Clock.systemDefaultZone(), meterRegistry);
+    }
+
+    AttendanceStateEngine(AttendanceStore store, boolean enabled, Path journalDirectory, Clock clock,
+                          MeterRegistry meterRegistry) {
+        this.store = store;
+        this.enabled = enabled;
+        this.journalDirectory = journalDirectory;
+        this.clock = clock;
+        this.rejectedMarks = Counter.builder("eduride.attendance.marks.rejected")
+                .description("Attendance marks the database refused, moved to the dead-letter file")
+                .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // ─── 🔁 LIFECYCLE ───
+
+    /** Rebuilds today's state from the database, then replays and flushes the journal. */
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        flushLock.lock();
+        try {
+            DayState fresh = build(today());
+            writeLock.lock();
+            try {
+                journal = new AttendanceJournal(journalDirectory);
+                List<Path> segments = journal.segments();
+                for (Path segment : segments) {
+                    for (AttendanceMark mark : journal.read(segment)) {
+                        pending.put(MarkKey.of(mark), mark);
+                    }
+                }
+                unflushedSegments.addAll(segments);
+                if (!pending.isEmpty()) {
+                    log.info("Replaying {} unflushed attendance marks from {}", pending.size(), journalDirectory);
+                }
+                replayPending(fresh);
+                state = fresh;
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot read attendance journal in " + journalDirectory, e);
+            } finally {
+                writeLock.unlock();
+            }
+            flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (!enabled || state == null) {
+            return;
+        }
+        flush();
+        writeLock.lock();
+        try {
+            journal.close();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // ─── ✍️ WRITES ───
+
+    /**
+     * Records today's status for each student. Returns once the marks are
+     * durable in the journal; the database is updated by the next flush.
+     */
+    public void record(Map<Long, String> statusByStudent, Long updatedBy) {
+        if (!enabled) {
+            throw new IllegalStateException("Attendance engine is disabled");
+        }
+        for (String status : statusByStudent.values()) {
+            if (codeOf(status) < 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "pickupStatus must be one of " + STATUSES);
+            }
+        }
+        rolloverIfNeeded();
+
+        writeLock.lock();
+        try {
+            DayState day = state;
+            List<Slot> slots = new ArrayList<>(statusByStudent.size());
+            List<AttendanceMark> marks = new ArrayList<>(statusByStudent.size());
+            for (Map.Entry<Long, String> entry : statusByStudent.entrySet()) {
+                Slot slot = slotFor(day, entry.getKey());
+                if (slot == null) {
+                    throw new ResourceNotFoundException("Student not found with id: " + entry.getKey());
+                }
+                slots.add(slot);
+                marks.add(new AttendanceMark(day.date, entry.getKey(), entry.getValue(), updatedBy));
+            }
+
+            // durable first – nothing is applied or acknowledged that a crash could lose
+            journal.append(marks);
+
+            for (int i = 0; i < marks.size(); i++) {
+                AttendanceMark mark = marks.get(i);
+                day.set(slots.get(i), codeOf(mark.pickupStatus()));
+                pending.put(MarkKey.of(mark), mark);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Takes a student's status for today off the state while {@code delete}
+     * removes the row. Pending marks are flushed first and new ones held back
+     * until it has run, so no journalled mark can bring the row back behind
+     * it; the student counts as PENDING again.
+     */
+    public void clear(Long studentId, Runnable delete) {
+        if (!enabled) {
+            throw new IllegalStateException("Attendance engine is disabled");
+        }
+        rolloverIfNeeded();
+
+        flushLock.lock();
+        try {
+            if (!flushLocked()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Attendance not yet persisted, retry the delete shortly");
+            }
+            writeLock.lock();
+            try {
+                delete.run();
+
+                // a tap that got in after the flush is newer than the delete and stays
+                DayState day = state;
+                Slot slot = day.slots.get(studentId);
+                if (slot != null && !pending.containsKey(new MarkKey(day.date, studentId))) {
+                    day.set(slot, PENDING);
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // ─── 📊 READS ───
+
+    /** Today's tally for a bus; empty when the engine is disabled. */
+    public Optional<AttendanceCounts> countsForBus(Long busId) {
+        DayState day = current();
+        if (day == null) {
+            return Optional.empty();
+        }
+        Group bus = busId != null ? day.buses.get(busId) : null;
+        return Optional.of(bus != null ? bus.tally.snapshot() : Tally.EMPTY);
+    }
+
+    /** Today's tally for a school (all its students, with or without a bus). */
+    public Optional<AttendanceCounts> countsForSchool(Long schoolId) {
+        DayState day = current();
+        if (day == null) {
+            return Optional.empty();
+        }
+        Tally school = schoolId != null ? day.schools.get(schoolId) : null;
+        return Optional.of(school != null ? school.snapshot() : Tally.EMPTY);
+    }
+
+    /** Today's status for one student, when the engine knows it. */
+    public Optional<String> statusOf(Long studentId) {
+        DayState day = current();
+        if (day == null) {
+            return Optional.empty();
+        }
+        Slot slot = day.slots.get(studentId);
+        return slot == null ? Optional.empty() : Optional.of(STATUSES.get(slot.group.codes[slot.index]));
+    }
+
+    /** Bus and school the engine has the student under, for routing status events. */
+    public Optional<RosterEntry> rosterOf(Long studentId) {
+        DayState day = current();
+        Slot slot = day != null ? day.slots.get(studentId) : null;
+        if (slot == null) {
+            return Optional.empty();
+        }
+        Long schoolId = NO_SCHOOL.equals(slot.school.schoolId) ? null : slot.school.schoolId;
+        return Optional.of(new RosterEntry(studentId, schoolId, slot.group.busId));
+    }
+
+    // ─── 💾 WRITE-BEHIND ───
+
+    @Scheduled(fixedDelayString = "${eduride.attendance.flush-interval-ms:500}")
+    public void flushPending() {
+        flush();
+    }
+
+    /**
+     * Writes every pending mark to the database in one batch.
+     * Returns false when the database could not be written; the marks stay
+     * pending and journalled. Marks it refused for good are dead-lettered.
+     */
+    public boolean flush() {
+        if (!enabled || state == null) {
+            return true;
+        }
+        flushLock.lock();
+        try {
+            return flushLocked();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    private boolean flushLocked() {
+        Map<MarkKey, AttendanceMark> batch;
+        writeLock.lock();
+        try {
+            if (pending.isEmpty()) {
+                journal.delete(unflushedSegments);
+                unflushedSegments.clear();
+                return true;
+            }
+            // later marks go to a new segment; everything up to here is in the batch
+            Path closed = journal.rotate();
+            if (closed != null) {
+                unflushedSegments.add(closed);
+            }
+            batch = pending;
+            pending = new LinkedHashMap<>();
+        } finally {
+            writeLock.unlock();
+        }
+
+        List<AttendanceMark> rejected = new ArrayList<>();
+        RuntimeException failure = null;
+        try {
+            writeAround(List.copyOf(batch.values()), rejected);
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+
+        if (!rejected.isEmpty()) {
+            // durable in the dead-letter file before the segments holding them go
+            journal.deadLetter(rejected);
+            rejectedMarks.increment(rejected.size());
+            rejected.forEach(mark -> batch.remove(MarkKey.of(mark)));
+        }
+
+        if (failure != null) {
+            log.warn("Attendance flush of {} marks failed, retrying on next run", batch.size(), failure);
+            writeLock.lock();
+            try {
+                // a newer mark for the same student and day wins over the failed one
+                batch.forEach(pending::putIfAbsent);
+            } finally {
+                writeLock.unlock();
+            }
+            return false;
+        }
+
+        journal.delete(unflushedSegments);
+        unflushedSegments.clear();
+        return true;
+    }
+
+    // a refused batch is halved until the rows the database rejects stand alone
+    private void writeAround(List<AttendanceMark> marks, List<AttendanceMark> rejected) {
+        try {
+            store.upsertAll(marks);
+        } catch (DataIntegrityViolationException e) {
+            if (marks.size() == 1) {
+                log.error("Attendance mark {} refused by the database, moved to {}: {}",
+                        marks.get(0), AttendanceJournal.DEAD_LETTER, e.getMostSpecificCause().getMessage());
+                rejected.add(marks.get(0));
+                return;
+            }
+            int half = marks.size() / 2;
+            writeAround(marks.subList(0, half), rejected);
+            writeAround(marks.subList(half, marks.size()), rejected);
+        }
+    }
+
+    // ─── 🌙 ROLLOVER / ROSTER REFRESH ───
+
+    @Scheduled(cron = "${eduride.attendance.rollover-cron:0 0 0 * * *}")
+    public void rolloverIfNeeded() {
+        DayState day = state;
+        if (enabled && day != null && !day.date.equals(today())) {
+            reload();
+        }
+    }
+
+    /** Picks up roster changes (bus moves, new students) and out-of-band status edits. */
+    @Scheduled(
+            fixedDelayString = "${eduride.attendance.roster-refresh-ms:600000}",
+            initialDelayString = "${eduride.attendance.roster-refresh-ms:600000}")
+    public void refresh() {
+        if (enabled && state != null) {
+            reload();
+        }
+    }
+
+    private void reload() {
+        flushLock.lock();
+        try {
+            LocalDate today = today();
+            if (state.date.equals(today) && !flushLocked()) {
+                return; // database behind the journal – keep the current state until a flush succeeds
+            }
+            DayState fresh = build(today);
+            writeLock.lock();
+            try {
+                // marks taken while the roster was loading are still pending – apply them on top
+                replayPending(fresh);
+                state = fresh;
+            } finally {
+                writeLock.unlock();
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    // ─── INTERNALS ───
+
+    private DayState current() {
+        if (!enabled || state == null) {
+            return null;
+        }
+        rolloverIfNeeded();
+        return state;
+    }
+
+    private LocalDate today() {
+        return LocalDate.now(clock);
+    }
+
+    private DayState build(LocalDate date) {
+        DayState day = new DayState(date);
+        for (RosterEntry entry : store.loadRoster()) {
+            day.add(entry);
+        }
+        for (StoredStatus stored : store.loadStatuses(date)) {
+            Slot slot = day.slots.get(stored.studentId());
+            byte code = codeOf(stored.pickupStatus());
+            if (slot != null && code > 0) {
+                day.set(slot, code);
+            }
+        }
+        return day;
+    }
+
+    private void replayPending(DayState day) {
+        for (AttendanceMark mark : pending.values()) {
+            if (!mark.date().equals(day.date)) {
+                continue; // an earlier day – only needs flushing
+            }
+            Slot slot = slotFor(day, mark.studentId());
+            byte code = codeOf(mark.pickupStatus());
+            if (slot != null && code >= 0) {
+                day.set(slot, code);
+            }
+        }
+    }
+
+    /** Student's slot, loading the student on first sight (added after the last roster load). */
+    private Slot slotFor(DayState day, Long studentId) {
+        Slot slot = day.slots.get(studentId);
+        if (slot == null) {
+            slot = store.findRosterEntry(studentId).map(day::add).orElse(null);
+        }
+        return slot;
+    }
+
+    private static byte codeOf(String status) {
+        return (byte) STATUSES.indexOf(status);
+    }
+
+    private record MarkKey(LocalDate date, Long studentId) {
+        static MarkKey of(AttendanceMark mark) {
+            return new MarkKey(mark.date(), mark.studentId());
+        }
+    }
+
+    private record Slot(Group group, int index, Tally school) {
+    }
+
+    /** Status counts plus total; read lock-free by dashboards. */
+    private static final class Tally {
+
+        static final AttendanceCounts EMPTY = new AttendanceCounts(0, 0, 0, 0);
+        private static final int TOTAL = 3;
+
+        final Long schoolId;
+        private final AtomicIntegerArray counts = new AtomicIntegerArray(4);
+
+        Tally(Long schoolId) {
+            this.schoolId = schoolId;
+        }
+
+        void add() {
+            counts.incrementAndGet(TOTAL);
+            counts.incrementAndGet(PENDING);
+        }
+
+        void move(byte from, byte to) {
+            counts.decrementAndGet(from);
+            counts.incrementAndGet(to);
+        }
+
+        AttendanceCounts snapshot() {
+            return new AttendanceCounts(
+                    counts.get(TOTAL), counts.get(PENDING), counts.get(PICKED), counts.get(DROPPED));
+        }
+    }
+
+    /** One bus (or a school's students without a bus): a status byte per student. */
+    private static final class Group {
+
+        final Long busId;
+        final Tally tally = new Tally(null);
+        volatile byte[] codes = new byte[16];
+        int size;
+
+        Group(Long busId) {
+            this.busId = busId;
+        }
+
+        int add() {
+            if (size == codes.length) {
+                codes = Arrays.copyOf(codes, size * 2);
+            }
+            tally.add();
+            return size++;
+        }
+    }
+
+    private static final class DayState {
+
+        final LocalDate date;
+        final Map<Long, Slot> slots = new ConcurrentHashMap<>();
+        final Map<Long, Group> buses = new ConcurrentHashMap<>();
+        final Map<Long, Group> withoutBus = new ConcurrentHashMap<>();
+        final Map<Long, Tally> schools = new ConcurrentHashMap<>();
+
+        DayState(LocalDate date) {
+            this.date = date;
+        }
+
+        Slot add(RosterEntry entry) {
+            Long schoolId = entry.schoolId() != null ? entry.schoolId() : NO_SCHOOL;
+            Group group = entry.busId() != null
+                    ? buses.computeIfAbsent(entry.busId(), Group::new)
+                    : withoutBus.computeIfAbsent(schoolId, id -> new Group(null));
+            Tally school = schools.computeIfAbsent(schoolId, Tally::new);
+            school.add();
+
+            Slot slot = new Slot(group, group.add(), school);
+            slots.put(entry.studentId(), slot);
+            return slot;
+        }
+
+        void set(Slot slot, byte code) {
+            byte[] codes = slot.group.codes;
+            byte previous = codes[slot.index];
+            if (previous == code) {
+                return;
+            }
+            codes[slot.index] = code;
+            slot.group.tally.move(previous, code);
+            slot.school.move(previous, code);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.eduride.attendance;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Database side of {@link AttendanceStateEngine}: loads the roster and the
+ * day's persisted statuses, and receives write-behind flushes.
+ */
+public interface AttendanceStore {
+
+    List<RosterEntry> loadRoster();
+
+    Optional<RosterEntry> findRosterEntry(Long studentId);
+
+    List<StoredStatus> loadStatuses(LocalDate date);
+
+    /**
+     * Persists every mark atomically; throws if nothing was written. A
+     * DataIntegrityViolationException means the database refuses a row for
+     * good (student or helper deleted since the tap), anything else is
+     * worth retrying.
+     */
+    void upsertAll(Collection<AttendanceMark> marks);
+}
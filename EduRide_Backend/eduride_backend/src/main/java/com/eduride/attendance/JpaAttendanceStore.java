@@ -0,0 +1,58 @@
+package com.eduride.attendance;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Component;
+
+import com.eduride.repository.StudentRepository;
+import com.eduride.repository.StudentStatusRepository;
+import com.eduride.repository.StudentStatusRepositoryCustom;
+import com.eduride.service.AttendanceCounterService;
+
+@Component
+public class JpaAttendanceStore implements AttendanceStore {
+
+    private final StudentRepository studentRepository;
+    private final StudentStatusRepository statusRepository;
+    private final AttendanceCounterService attendanceCounters;
+
+    public JpaAttendanceStore(
+            StudentRepository studentRepository,
+            StudentStatusRepository statusRepository,
+            AttendanceCounterService attendanceCounters
+    ) {
+        this.studentRepository = studentRepository;
+        this.statusRepository = statusRepository;
+        this.attendanceCounters = attendanceCounters;
+    }
+
+    @Override
+    public List<RosterEntry> loadRoster() {
+        return studentRepository.findAttendanceRoster();
+    }
+
+    @Override
+    public Optional<RosterEntry> findRosterEntry(Long studentId) {
+        return studentRepository.findAttendanceRosterEntry(studentId);
+    }
+
+    @Override
+    public List<StoredStatus> loadStatuses(LocalDate date) {
+        return statusRepository.findStoredStatuses(date);
+    }
+
+    @Override
+    public void upsertAll(Collection<AttendanceMark> marks) {
+        // one transaction: statuses plus their counter deltas
+        attendanceCounters.upsertAll(marks.stream()
+                .map(mark -> new StudentStatusRepositoryCustom.StatusUpsert(
+                        mark.studentId(),
+                        mark.date(),
+                        mark.pickupStatus(),
+                        mark.updatedBy()))
+                .toList());
+    }
+}
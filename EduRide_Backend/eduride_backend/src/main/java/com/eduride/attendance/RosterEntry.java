@@ -0,0 +1,11 @@
+package com.eduride.attendance;
+
+/**
+ * Where a student sits in the attendance state: their school and (optional) bus.
+ */
+public record RosterEntry(
+        Long studentId,
+        Long schoolId,
+        Long busId
+) {
+}
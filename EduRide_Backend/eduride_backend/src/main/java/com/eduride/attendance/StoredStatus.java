@@ -0,0 +1,10 @@
+package com.eduride.attendance;
+
+/**
+ * A student_status row already persisted for the day being loaded.
+ */
+public record StoredStatus(
+        Long studentId,
+        String pickupStatus
+) {
+}
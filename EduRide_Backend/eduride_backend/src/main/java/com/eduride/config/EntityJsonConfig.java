@@ -0,0 +1,30 @@
+package com.eduride.config;
+
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.fasterxml.jackson.datatype.hibernate6.Hibernate6Module;
+
+/**
+ * How entities returned by controllers serialize now that every association
+ * is lazy. What a response carries in full is decided by the repository
+ * method's entity graph (see the {@code @NamedEntityGraph}s on the entities);
+ * a reference outside it is written as {@code {"id": …}} and an unloaded
+ * collection as null, instead of being loaded after the transaction has
+ * ended (LazyInitializationException, open-in-view is off).
+ *
+ * Endpoints returning entities keep the entity's own references in their
+ * graph; only references one level further down (e.g. a student list's
+ * {@code assignedBus.driver}) come back as ids. Responses whose shape has to
+ * go deeper than that belong in a DTO.
+ */
+@Configuration
+public class EntityJsonConfig {
+
+    // Spring Boot registers Module beans with the application ObjectMapper
+    @Bean
+    public Hibernate6Module hibernateModule() {
+        return new Hibernate6Module()
+                .enable(Hibernate6Module.Feature.SERIALIZE_IDENTIFIER_FOR_LAZY_NOT_LOADED_OBJECTS);
+    }
+}
@@ -19,6 +19,7 @@ import org.springframework.web.server.ResponseStatusException;
 import com.eduride.dto.SchoolSummaryDTO;
 import com.eduride.dto.dashboard.AgencyDashboardSummaryDTO;
 import com.eduride.entity.Agency;
+import com.eduride.security.TenantContext;
 import com.eduride.service.AgencyService;
 import com.eduride.service.SchoolService;
 
@@ -88,34 +89,14 @@ public class AgencyController {
     @PreAuthorize("hasRole('AGENCY')")
     public List<SchoolSummaryDTO> getMySchools() {
 
-        String email = SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
-
-        Agency agency = service.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND,
-                        "Agency not found for email: " + email));
-
-        return schoolService.getSchoolsForAgency(agency.getId());
+        return schoolService.getSchoolsForAgency(TenantContext.current().agencyId());
     }
     
     @PutMapping("/schools/{schoolId}/release")
     @PreAuthorize("hasRole('AGENCY')")
     public void releaseSchool(@PathVariable Long schoolId) {
 
-        String email = SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
-
-        Agency agency = service.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND,
-                        "Agency not found"));
-
-        schoolService.releaseSchoolFromAgency(schoolId, agency.getId());
+        schoolService.releaseSchoolFromAgency(schoolId, TenantContext.current().agencyId());
     }
 
 
@@ -1,26 +1,35 @@
 package com.eduride.controller;
 
 import com.eduride.dto.LoginRequestDTO;
-import com.eduride.entity.*;
+import com.eduride.exception.PasswordHashingBusyException;
+import com.eduride.monitoring.HotPathMetrics;
+import com.eduride.security.EduRideUserDetails;
 import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashMap;
 import java.util.Map;
-import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
 
+    private static final Logger log = LoggerFactory.getLogger(AuthController.class);
+
     @Autowired
     private AuthenticationManager authenticationManager;
 
@@ -28,19 +37,7 @@ public class AuthController {
     private JwtUtil jwtUtil;
 
     @Autowired
-    private com.eduride.service.AgencyService agencyService;
-
-    @Autowired
-    private com.eduride.service.SchoolService schoolService;
-
-    @Autowired
-    private com.eduride.service.StudentService studentService;
-
-    @Autowired
-    private com.eduride.service.DriverService driverService;
-
-    @Autowired
-    private com.eduride.service.BusHelperService busHelperService;
+    private HotPathMetrics metrics;
 
     @PostMapping("/login")
     public ResponseEntity<?> login(@RequestBody LoginRequestDTO req) {
@@ -48,100 +45,53 @@ public class AuthController {
             return ResponseEntity.badRequest().body(Map.of("error", "Email and password are required"));
         }
 
-        System.out.println("DEBUG: Login attempt for email: " + req.getEmail());
+        log.debug("Login attempt for {}", req.getEmail());
 
+        // the whole login, BCrypt included (eduride.password.hashing times the hash alone)
+        Timer.Sample login = metrics.start();
         try {
             Authentication authentication = authenticationManager.authenticate(
                     new UsernamePasswordAuthenticationToken(req.getEmail(), req.getPassword())
             );
 
-            UserDetails userDetails = (UserDetails) authentication.getPrincipal();
-            String email = userDetails.getUsername();
-
-            // Get full authority (should be "ROLE_SCHOOL", "ROLE_AGENCY", etc.)
-            String fullAuthority = userDetails.getAuthorities().iterator().next().getAuthority();
-            System.out.println("DEBUG: Full authority from UserDetails: " + fullAuthority);
+            // Principal was built from one projection query during password
+            // verification – it already carries id, name and tenant ids
+            EduRideUserDetails principal = (EduRideUserDetails) authentication.getPrincipal();
+            String email = principal.getUsername();
 
-            // Generate token (pass fullAuthority with ROLE_ prefix)
-            String token = jwtUtil.generateToken(email, fullAuthority);
+            TenantContext tenant = principal.toTenant();
+            String token = jwtUtil.generateToken(tenant);
 
             Map<String, Object> response = new HashMap<>();
             response.put("token", token);
 
             // Clean role for frontend (without ROLE_, lowercase for consistency)
-            String cleanRole = fullAuthority.replace("ROLE_", "").toLowerCase();
-            response.put("role", cleanRole);
+            response.put("role", principal.getRole().name().toLowerCase());
             response.put("email", email);
+            response.put("name", principal.getName());
+            response.put("id", principal.getUserId());
 
-            // ─────────────────────────────────────────────────────────────
-            // Find user entity and add name + id
-            // ─────────────────────────────────────────────────────────────
-
-            // AGENCY
-            Optional<Agency> agencyOpt = agencyService.findByEmail(email);
-            if (agencyOpt.isPresent()) {
-                Agency agency = agencyOpt.get();
-                response.put("name", agency.getName() != null ? agency.getName() : "Agency User");
-                response.put("id", agency.getId());
-                System.out.println("DEBUG: Logged in as AGENCY - ID: " + agency.getId());
-                return ResponseEntity.ok(response);
-            }
-
-            // STUDENT
-            Optional<Student> studentOpt = studentService.findByEmail(email);
-            if (studentOpt.isPresent()) {
-                Student student = studentOpt.get();
-                response.put("name", student.getName() != null ? student.getName() : "Student");
-                response.put("id", student.getId());
-                System.out.println("DEBUG: Logged in as STUDENT - ID: " + student.getId());
-                return ResponseEntity.ok(response);
-            }
-
-            // DRIVER
-            Optional<Driver> driverOpt = driverService.findByEmail(email);
-            if (driverOpt.isPresent()) {
-                Driver driver = driverOpt.get();
-                response.put("name", driver.getName() != null ? driver.getName() : "Driver");
-                response.put("id", driver.getId());
-                System.out.println("DEBUG: Logged in as DRIVER - ID: " + driver.getId());
-                return ResponseEntity.ok(response);
-            }
-
-            // SCHOOL
-            Optional<School> schoolOpt = schoolService.findByEmail(email);
-            if (schoolOpt.isPresent()) {
-                School school = schoolOpt.get();
-                // Only 'name' exists (inherited from User) - remove schoolName reference
-                response.put("name", school.getName() != null ? school.getName() : "School");
-                response.put("id", school.getId());
-                System.out.println("DEBUG: Logged in as SCHOOL - ID: " + school.getId());
-                return ResponseEntity.ok(response);
-            }
-
-            // BUS HELPER
-            Optional<BusHelper> helperOpt = busHelperService.findByEmail(email);
-            if (helperOpt.isPresent()) {
-                BusHelper helper = helperOpt.get();
-                response.put("name", helper.getName() != null ? helper.getName() : "Bus Helper");
-                response.put("id", helper.getId());
-                System.out.println("DEBUG: Logged in as BUS HELPER - ID: " + helper.getId());
-                return ResponseEntity.ok(response);
-            }
-
-            // Fallback (should not reach here)
-            System.out.println("WARN: No entity found for email: " + email);
-            response.put("name", "Unknown User");
-            response.put("id", null);
+            metrics.stop(login, HotPathMetrics.LOGIN, HotPathMetrics.SUCCESS,
+                    tenant.role(), tenant.agencyId());
+            log.debug("Logged in as {} with id {}", principal.getRole(), principal.getUserId());
             return ResponseEntity.ok(response);
 
+        } catch (PasswordHashingBusyException e) {
+            metrics.stop(login, HotPathMetrics.LOGIN, "busy", null, null);
+            log.debug("Login rejected, hashing pool saturated: {}", req.getEmail());
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+                    .body(Map.of("error", "Server is busy, please retry shortly"));
         } catch (BadCredentialsException e) {
-            System.out.println("DEBUG: Invalid credentials for: " + req.getEmail());
+            metrics.stop(login, HotPathMetrics.LOGIN, "bad_credentials", null, null);
+            log.debug("Invalid credentials for {}", req.getEmail());
             return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
                     .body(Map.of("error", "Invalid email or password"));
         } catch (Exception e) {
-            System.out.println("ERROR: Login failed - " + e.getMessage());
+            metrics.stop(login, HotPathMetrics.LOGIN, HotPathMetrics.ERROR, null, null);
+            log.error("Login failed for {}", req.getEmail(), e);
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
                     .body(Map.of("error", "Login failed"));
         }
     }
-}
\ No newline at end of file
+}
@@ -1,16 +1,17 @@
 package com.eduride.controller;
 
 import com.eduride.dto.BusDTO;
-import com.eduride.entity.Agency;
 import com.eduride.entity.Bus;
-import com.eduride.entity.School;
+import com.eduride.entity.Role;
+import com.eduride.paging.KeysetSort;
+import com.eduride.paging.PageQuery;
+import com.eduride.security.TenantContext;
 import com.eduride.service.AgencyService;
 import com.eduride.service.BusService;
 import com.eduride.service.SchoolService;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 import com.eduride.service.BusService;
@@ -39,9 +40,13 @@ public class BusController {
 
     @GetMapping
     @PreAuthorize("permitAll()")
-    public List<Bus> getAll() {
-        System.out.println("BUS CONTROLLER DEBUG: getAll() CALLED - THIS IS PUBLIC");
-        return service.findAll();
+    public ResponseEntity<List<Bus>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort
+    ) {
+        return service.findAll(PageQuery.of(limit, cursor, sort, KeysetSort.ID_ASC, KeysetSort.ID_DESC))
+                .toResponse();
     }
 
     // === NEW METHOD: ASSIGN HELPER ===
@@ -85,19 +90,8 @@ public class BusController {
     @PreAuthorize("hasRole('AGENCY')")
     public List<BusDTO> getByAgency(@PathVariable Long agencyId) {
 
-        // ✅ Get logged-in agency
-        String currentEmail = SecurityContextHolder
-                .getContext()
-                .getAuthentication()
-                .getName();
-
-        Agency currentAgency = agencyService.findByEmail(currentEmail)
-                .orElseThrow(() ->
-                        new ResponseStatusException(HttpStatus.FORBIDDEN, "Agency not found")
-                );
-
         // ✅ Ensure agency can access ONLY its own buses
-        if (!currentAgency.getId().equals(agencyId)) {
+        if (!agencyId.equals(TenantContext.current().agencyId())) {
             throw new ResponseStatusException(
                     HttpStatus.FORBIDDEN,
                     "You can only view your own buses"
@@ -112,14 +106,10 @@ public class BusController {
     @GetMapping("/school/{schoolId}")
     @PreAuthorize("hasRole('AGENCY') or hasRole('SCHOOL')")
     public List<Bus> getBySchool(@PathVariable Long schoolId) {
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        String role = SecurityContextHolder.getContext().getAuthentication()
-                .getAuthorities().iterator().next().getAuthority();
-
-        if ("ROLE_SCHOOL".equals(role)) {
-            School currentSchool = schoolService.findByEmail(currentEmail)
-                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "School not found"));
-            if (!currentSchool.getId().equals(schoolId)) {
+        TenantContext tenant = TenantContext.current();
+
+        if (tenant.is(Role.SCHOOL)) {
+            if (!schoolId.equals(tenant.schoolId())) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only view buses assigned to your own school");
             }
         }
@@ -144,13 +134,7 @@ public class BusController {
     @GetMapping("/school/me")
     @PreAuthorize("hasRole('SCHOOL')")
     public List<BusDTO> getBusesForMySchool() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
-        School school = schoolService.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-
-        return service.getBusesBySchool(school.getId());
+        return service.getBusesBySchool(TenantContext.current().schoolId());
     }
 
 }
\ No newline at end of file
@@ -3,6 +3,7 @@ package com.eduride.controller;
 import java.util.List;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping; // ✅ ADDED
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -20,11 +22,15 @@ import com.eduride.dto.BusHelperEditDTO;
 import com.eduride.dto.BusHelperResponseDTO;
 
 import com.eduride.dto.HelperStudentStatusDTO;
+import com.eduride.dto.StatusBatchItem;
+import com.eduride.dto.StatusBatchResult;
 import com.eduride.dto.StatusRequest;
 import com.eduride.dto.dashboard.BusHelperDashboardSummaryDTO;
 import com.eduride.entity.BusHelper;
 import com.eduride.entity.Student;
-import com.eduride.entity.StudentStatus;
+import com.eduride.paging.KeysetSort;
+import com.eduride.paging.PageQuery;
+import com.eduride.security.TenantContext;
 import com.eduride.service.BusHelperService;
 import com.eduride.service.StudentService;
 import com.eduride.service.StudentStatusService;
@@ -66,8 +72,13 @@ public class BusHelperController {
 
     @GetMapping
     @PreAuthorize("hasRole('AGENCY') or hasRole('SCHOOL')")
-    public List<BusHelper> getAll() {
-        return service.findAll();
+    public ResponseEntity<List<BusHelper>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort
+    ) {
+        return service.findAll(PageQuery.of(limit, cursor, sort, KeysetSort.ID_ASC, KeysetSort.ID_DESC))
+                .toResponse();
     }
 
     // ✅ KEEP THIS
@@ -82,12 +93,9 @@ public class BusHelperController {
     @PreAuthorize("hasRole('AGENCY') or hasRole('SCHOOL')")
     public BusHelperEditDTO getHelperForEdit(@PathVariable Long id) {
 
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
         BusHelperEditDTO dto = service.getForEdit(id);
 
-        Long loggedSchoolId = service.getSchoolIdByEmail(email);
+        Long loggedSchoolId = TenantContext.current().schoolId();
         if (!dto.getSchoolId().equals(loggedSchoolId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
         }
@@ -102,11 +110,8 @@ public class BusHelperController {
             @PathVariable Long id,
             @RequestBody BusHelperEditDTO dto
     ) {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
         // 🔒 Get logged-in school id
-        Long loggedSchoolId = service.getSchoolIdByEmail(email);
+        Long loggedSchoolId = TenantContext.current().schoolId();
 
         // 🔒 Get existing helper's school id (DB truth)
         BusHelper existing = service.findById(id);
@@ -141,10 +146,7 @@ public class BusHelperController {
     @GetMapping("/dashboard/summary")
     @PreAuthorize("hasRole('HELPER')")
     public BusHelperDashboardSummaryDTO getBusHelperDashboardSummary() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
-        return service.getBusHelperDashboardSummary(email);
+        return service.getBusHelperDashboardSummary();
     }
 
 
@@ -154,40 +156,8 @@ public class BusHelperController {
     @PreAuthorize("hasRole('HELPER')")
     public List<HelperStudentStatusDTO> getMyStudentsWithStatus() {
 
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
-        return studentService.findStudentsByHelperEmail(email)
-                .stream()
-                .map(student -> {
-
-                    HelperStudentStatusDTO dto = new HelperStudentStatusDTO();
-                    dto.setId(student.getId());
-                    dto.setName(student.getName());
-                    dto.setRollNo(student.getRollNo());
-                    dto.setEmail(student.getEmail());
-                    dto.setClassName(student.getClassName());
-                    dto.setPhone(student.getPhone());
-                    dto.setBusNumber(
-                        student.getAssignedBus() != null
-                            ? student.getAssignedBus().getBusNumber()
-                            : null
-                    );
-
-                    // 🔹 Fetch TODAY status from DB
-                    StudentStatus todayStatus =
-                    	    studentStatusService.findTodayStatus(student.getId());
-
-                    	dto.setPickupStatus(
-                    	    todayStatus != null
-                    	        ? todayStatus.getPickupStatus()
-                    	        : "PENDING"
-                    	);
-
-
-                    return dto;
-                })
-                .toList();
+        // Bus id comes from the token; students + today's status in one query
+        return studentStatusService.getTodayRosterForBus(TenantContext.current().busId());
     }
 
 
@@ -196,12 +166,7 @@ public class BusHelperController {
     @PreAuthorize("hasRole('HELPER')")
     public void markStudentStatus(@RequestBody StatusRequest request) {
 
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
-        BusHelper helper = service.findByEmail(email)
-                .orElseThrow(() ->
-                    new RuntimeException("Bus Helper not found"));
+        BusHelper helper = service.getReference(TenantContext.current().userId());
 
         studentStatusService.upsertTodayStatus(
                 request.getStudentId(),
@@ -210,4 +175,18 @@ public class BusHelperController {
         );
     }
 
+    // One request for a whole bus: all rows upserted in a single JDBC batch
+    @PostMapping("/student-status/batch")
+    @PreAuthorize("hasRole('HELPER')")
+    public StatusBatchResult markStudentStatusBatch(@RequestBody List<StatusBatchItem> items) {
+
+        TenantContext tenant = TenantContext.current();
+
+        return studentStatusService.upsertTodayStatuses(
+                items,
+                tenant.userId(),
+                tenant.busId()
+        );
+    }
+
 }
@@ -3,9 +3,12 @@ package com.eduride.controller;
 import com.eduride.dto.DriverDTO;
 import com.eduride.dto.dashboard.DriverDashboardSummaryDTO;
 import com.eduride.entity.Driver;
+import com.eduride.paging.KeysetSort;
+import com.eduride.paging.PageQuery;
 import com.eduride.service.DriverService;
 
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
@@ -42,8 +45,13 @@ public class DriverController {
 
     @GetMapping
     @PreAuthorize("hasRole('AGENCY')")
-    public List<Driver> getAll() {
-        return service.findAll();
+    public ResponseEntity<List<Driver>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort
+    ) {
+        return service.findAll(PageQuery.of(limit, cursor, sort, KeysetSort.ID_ASC, KeysetSort.ID_DESC))
+                .toResponse();
     }
 
     @GetMapping("/{id}")
@@ -74,9 +82,7 @@ public class DriverController {
     @GetMapping("/dashboard/summary")
     @PreAuthorize("hasRole('DRIVER')")
     public DriverDashboardSummaryDTO getSummary() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-        return service.getSummary(email);
+        return service.getSummary();
     }
     
     @GetMapping("/agency/me")
@@ -88,7 +94,7 @@ public class DriverController {
 
     @GetMapping("/agency/{agencyId}/unassigned")
     @PreAuthorize("hasRole('AGENCY')")
-    public List<Driver> getUnassignedDrivers(@PathVariable Long agencyId) {
+    public List<DriverDTO> getUnassignedDrivers(@PathVariable Long agencyId) {
         return service.findUnassignedDriversByAgency(agencyId);
     }
 }
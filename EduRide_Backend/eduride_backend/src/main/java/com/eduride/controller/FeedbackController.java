@@ -2,10 +2,13 @@ package com.eduride.controller;
 
 import java.util.List;
 
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import com.eduride.entity.Feedback;
+import com.eduride.paging.KeysetSort;
+import com.eduride.paging.PageQuery;
 import com.eduride.service.FeedbackService;
 
 @RestController
@@ -26,8 +29,13 @@ public class FeedbackController {
     }
 
     @GetMapping
-    public List<Feedback> getAll() {
-        return service.findAll();
+    public ResponseEntity<List<Feedback>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort
+    ) {
+        return service.findAll(PageQuery.of(limit, cursor, sort, KeysetSort.ID_DESC, KeysetSort.ID_ASC))
+                .toResponse();
     }
 
     @GetMapping("/{id}")
@@ -20,8 +20,8 @@ import org.springframework.web.server.ResponseStatusException;
 
 import com.eduride.dto.SchoolProfileDTO;
 import com.eduride.dto.dashboard.SchoolDashboardSummaryDTO;
-import com.eduride.entity.Agency;
 import com.eduride.entity.School;
+import com.eduride.security.TenantContext;
 import com.eduride.service.AgencyService;
 import com.eduride.service.SchoolService;
 
@@ -64,7 +64,7 @@ public class SchoolController {
                 .getAuthentication()
                 .getName();
 
-        School school = service.findByEmail(email)
+        School school = service.findWithAgencyByEmail(email)
                 .orElseThrow(() ->
                         new ResponseStatusException(
                                 HttpStatus.NOT_FOUND,
@@ -148,12 +148,7 @@ public class SchoolController {
     @GetMapping("/agency/{agencyId}")
     @PreAuthorize("hasRole('AGENCY')")
     public List<School> getByAgency(@PathVariable Long agencyId) {
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        
-        Agency current = agencyService.findByEmail(currentEmail)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN, "Agency not found"));
-
-        if (!current.getId().equals(agencyId)) {
+        if (!agencyId.equals(TenantContext.current().agencyId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You can only view your own schools");
         }
 
@@ -166,9 +161,7 @@ public class SchoolController {
     @GetMapping("/dashboard/summary")
     @PreAuthorize("hasRole('SCHOOL')")
     public ResponseEntity<SchoolDashboardSummaryDTO> getDashboardSummary() {
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        
-        SchoolDashboardSummaryDTO summary = service.getSchoolDashboardSummary(currentEmail);
+        SchoolDashboardSummaryDTO summary = service.getSchoolDashboardSummary();
         
         return ResponseEntity.ok(summary);
     }
@@ -14,6 +14,7 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -21,6 +22,9 @@ import com.eduride.dto.StudentDTO;
 import com.eduride.dto.StudentSignupDTO;
 import com.eduride.entity.Student;
 import com.eduride.mapper.StudentMapper;
+import com.eduride.paging.KeysetSort;
+import com.eduride.paging.PageQuery;
+import com.eduride.security.TenantContext;
 import com.eduride.service.StudentService;
 
 import jakarta.validation.Valid;
@@ -69,19 +73,20 @@ public class StudentController {
 
     @GetMapping
     @PreAuthorize("hasRole('AGENCY') or hasRole('SCHOOL')")
-    public List<Student> getAll() {
-        return service.findAll();
+    public ResponseEntity<List<Student>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort
+    ) {
+        return service.findAll(PageQuery.of(limit, cursor, sort, KeysetSort.ID_ASC, KeysetSort.ID_DESC))
+                .toResponse();
     }
 
     // ONLY STUDENTS OF LOGGED-IN SCHOOL
     @GetMapping("/school/me")
     @PreAuthorize("hasRole('SCHOOL')")
     public List<StudentDTO> getStudentsOfLoggedInSchool() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
-
-        return service.findDTOsByLoggedInSchool(email);
+        return service.findDTOsBySchool(TenantContext.current().schoolId());
     }
 
     
@@ -1,11 +1,17 @@
 package com.eduride.controller;
 
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
 
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -14,16 +20,27 @@ import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.WebAsyncTask;
 import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import com.eduride.dto.HelperStudentStatusDTO;
 import com.eduride.dto.StudentStatusDTO;
-import com.eduride.entity.Student;
+import com.eduride.entity.Role;
 import com.eduride.entity.StudentStatus;
+import com.eduride.live.StatusEventBroadcaster;
+import com.eduride.paging.KeysetSort;
+import com.eduride.paging.PageQuery;
+import com.eduride.security.TenantContext;
+import com.eduride.service.AttendanceExportService;
+import com.eduride.service.BusService;
 import com.eduride.service.StudentService;
 import com.eduride.service.StudentStatusService;
 
+import jakarta.servlet.http.HttpServletResponse;
+
 @RestController
 @RequestMapping("/api/student-status")
 @CrossOrigin(origins = "http://localhost:5173")
@@ -31,10 +48,25 @@ public class StudentStatusController {
 
     private final StudentStatusService statusService;
     private final StudentService studentService;
-
-    public StudentStatusController(StudentStatusService statusService, StudentService studentService) {
+    private final BusService busService;
+    private final StatusEventBroadcaster statusEvents;
+    private final AttendanceExportService exportService;
+    private final Duration exportTimeout;
+
+    public StudentStatusController(
+            StudentStatusService statusService,
+            StudentService studentService,
+            BusService busService,
+            StatusEventBroadcaster statusEvents,
+            AttendanceExportService exportService,
+            @Value("${eduride.attendance.export.timeout:10m}") Duration exportTimeout
+    ) {
         this.statusService = statusService;
         this.studentService = studentService;
+        this.busService = busService;
+        this.statusEvents = statusEvents;
+        this.exportService = exportService;
+        this.exportTimeout = exportTimeout;
     }
 
     @PostMapping
@@ -45,8 +77,14 @@ public class StudentStatusController {
 
     @GetMapping
     @PreAuthorize("hasAnyRole('AGENCY','SCHOOL')")
-    public List<StudentStatus> getAll() {
-        return statusService.findAll();
+    public ResponseEntity<List<StudentStatus>> getAll(
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String sort
+    ) {
+        return statusService.findAll(PageQuery.of(limit, cursor, sort,
+                        KeysetSort.DATE_DESC, KeysetSort.DATE_ASC, KeysetSort.ID_ASC, KeysetSort.ID_DESC))
+                .toResponse();
     }
 
     @GetMapping("/{id}")
@@ -89,15 +127,8 @@ public class StudentStatusController {
     public ResponseEntity<StudentStatusDTO> getTodayStatus(
             @PathVariable Long studentId
     ) {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
-
-        Student student = studentService.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND));
-
         // 🔐 SECURITY CHECK: student can only access their own status
-        if (!student.getId().equals(studentId)) {
+        if (!studentId.equals(TenantContext.current().userId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
         }
 
@@ -119,19 +150,76 @@ public class StudentStatusController {
         return statusService.findTodayBySchoolDTO(schoolId);
     }
 
+    // 📤 Attendance history export – streamed, so a year of a large school stays in constant memory.
+    // Runs as an async task with its own timeout; other async requests keep the default one.
+    @GetMapping("/school/{schoolId}/export")
+    @PreAuthorize("hasAnyRole('SCHOOL','AGENCY')")
+    public WebAsyncTask<Void> exportBySchool(
+            @PathVariable Long schoolId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+            @RequestParam(defaultValue = "csv") String format,
+            HttpServletResponse response
+    ) {
+        AttendanceExportService.Format exportFormat = AttendanceExportService.Format.parse(format);
+        exportService.checkExport(schoolId, from, to);
+
+        String filename = "attendance-school-" + schoolId + "-" + from + "-" + to + "." + exportFormat.extension();
+        response.setContentType(exportFormat.mediaType().toString());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                ContentDisposition.attachment().filename(filename).build().toString());
+
+        return new WebAsyncTask<>(exportTimeout.toMillis(), () -> {
+            exportService.export(schoolId, from, to, exportFormat, response.getOutputStream());
+            return null;
+        });
+    }
+
+
+    // ─── 📡 LIVE STATUS STREAMS (SSE) – replace polling the endpoints above ───
+
+    @GetMapping(path = "/stream/student/{studentId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('STUDENT')")
+    public SseEmitter streamStudent(@PathVariable Long studentId) {
+        // 🔐 a student can only follow their own status
+        if (!studentId.equals(TenantContext.current().userId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return statusEvents.subscribeStudent(studentId);
+    }
+
+    @GetMapping(path = "/stream/bus/{busId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasAnyRole('HELPER','DRIVER','SCHOOL')")
+    public SseEmitter streamBus(@PathVariable Long busId) {
+        TenantContext tenant = TenantContext.current();
+
+        // 🔐 crew follow their own bus, a school any of its buses; students only
+        // ever see their own status (/stream/student/{id}), not the other riders'
+
+        boolean allowed = tenant.is(Role.SCHOOL)
+                ? busService.belongsToSchool(busId, tenant.schoolId())
+                : busId.equals(tenant.busId());
+        if (!allowed) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return statusEvents.subscribeBus(busId);
+    }
+
+    @GetMapping(path = "/stream/school/{schoolId}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @PreAuthorize("hasRole('SCHOOL')")
+    public SseEmitter streamSchool(@PathVariable Long schoolId) {
+        if (!schoolId.equals(TenantContext.current().schoolId())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return statusEvents.subscribeSchool(schoolId);
+    }
+
 
     private void checkStudentAccess(Long studentId) {
-        String currentEmail = SecurityContextHolder.getContext().getAuthentication().getName();
-        String role = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getAuthorities()
-                .iterator()
-                .next()
-                .getAuthority();
-
-        if ("ROLE_STUDENT".equals(role)) {
-            Student student = studentService.findById(studentId);
-            if (student == null || !currentEmail.equals(student.getEmail())) {
+        TenantContext tenant = TenantContext.current();
+
+        if (tenant.is(Role.STUDENT)) {
+            if (!studentId.equals(tenant.userId())) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN,
                         "You are not authorized to view this student's data");
             }
@@ -0,0 +1,21 @@
+package com.eduride.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One student's archived month, with the student columns the export writes.
+ */
+public record AttendanceArchiveRow(
+        LocalDate month,
+        Long studentId,
+        String rollNo,
+        String studentName,
+        String className,
+        String busNumber,
+        byte[] statuses
+) {
+
+    public AttendanceExportRow toExportRow(LocalDate date, String pickupStatus) {
+        return new AttendanceExportRow(date, studentId, rollNo, studentName, className, busNumber, pickupStatus);
+    }
+}
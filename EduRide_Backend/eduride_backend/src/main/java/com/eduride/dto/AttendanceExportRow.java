@@ -0,0 +1,18 @@
+package com.eduride.dto;
+
+import java.time.LocalDate;
+
+/**
+ * One student-day of attendance history, as written by the export endpoint.
+ * Projection only – never a managed entity, so streaming rows leaves nothing
+ * behind in the persistence context.
+ */
+public record AttendanceExportRow(
+        LocalDate date,
+        Long studentId,
+        String rollNo,
+        String studentName,
+        String className,
+        String busNumber,
+        String pickupStatus
+) {}
@@ -1,8 +1,12 @@
 package com.eduride.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 @Data
+@NoArgsConstructor
+@AllArgsConstructor // used by the JPQL constructor projection in StudentStatusRepository
 public class HelperStudentStatusDTO {
 	private Long studentId;
 
@@ -0,0 +1,12 @@
+package com.eduride.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+@Getter
+@Setter
+public class StatusBatchItem {
+    private Long studentId;
+    private String pickupStatus;   // PENDING / PICKED / DROPPED
+    private Long clientTimestamp;  // epoch millis on the helper's device
+}
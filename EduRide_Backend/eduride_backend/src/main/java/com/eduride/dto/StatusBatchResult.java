@@ -0,0 +1,10 @@
+package com.eduride.dto;
+
+/**
+ * received = items in the request, applied = rows upserted after
+ * collapsing repeated taps on the same student to the latest one.
+ */
+public record StatusBatchResult(
+        int received,
+        int applied
+) {}
@@ -0,0 +1,31 @@
+package com.eduride.dto;
+
+/**
+ * Everything login and JwtFilter need about a user, resolved in one
+ * native query across the JOINED users hierarchy
+ * (see UserRepository.findIdentityByEmail).
+ *
+ * agencyId / schoolId / busId are null when they do not apply to the role.
+ */
+public interface UserIdentityView {
+
+    Long getId();
+
+    String getEmail();
+
+    String getPassword();
+
+    String getName();
+
+    String getRole();
+
+    Boolean getActive();
+
+    Integer getTokenVersion();
+
+    Long getAgencyId();
+
+    Long getSchoolId();
+
+    Long getBusId();
+}
@@ -0,0 +1,22 @@
+package com.eduride.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Table;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+// Materialised per-school / per-bus daily status counts, maintained in the status upsert transaction
+@Table(name = "attendance_counter")
+@Getter
+@Setter
+public class AttendanceCounter {
+
+	@EmbeddedId
+	private AttendanceCounterId id;
+
+	@Column(nullable = false)
+	private long count;
+}
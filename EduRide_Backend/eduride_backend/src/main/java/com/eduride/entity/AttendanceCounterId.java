@@ -0,0 +1,48 @@
+package com.eduride.entity;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.util.Comparator;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Embeddable
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class AttendanceCounterId implements Serializable, Comparable<AttendanceCounterId> {
+
+	// Primary-key order – writers lock counter rows in this order, so they do not wait on each other in a cycle
+	private static final Comparator<AttendanceCounterId> KEY_ORDER = Comparator
+			.comparing((AttendanceCounterId id) -> id.getScope().name())
+			.thenComparing(AttendanceCounterId::getScopeId)
+			.thenComparing(AttendanceCounterId::getDate)
+			.thenComparing(AttendanceCounterId::getStatus);
+
+	@Enumerated(EnumType.STRING)
+	@Column(length = 16)
+	private CounterScope scope;
+
+	@Column(name = "scope_id")
+	private Long scopeId;
+
+	private LocalDate date;
+
+	@Column(length = 16)
+	private String status;
+
+	@Override
+	public int compareTo(AttendanceCounterId other) {
+		return KEY_ORDER.compare(this, other);
+	}
+}
@@ -2,6 +2,8 @@ package com.eduride.entity;
 
 import java.util.List;
 
+import org.hibernate.annotations.BatchSize;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
@@ -13,6 +15,8 @@ import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
 import jakarta.persistence.Table;
@@ -23,8 +27,23 @@ import lombok.Setter;
 @Table(name = "bus")
 @Getter
 @Setter
+@NamedEntityGraph(name = Bus.WITH_DETAILS, attributeNodes = {
+        @NamedAttributeNode("agency"),
+        @NamedAttributeNode("school"),
+        @NamedAttributeNode("driver"),
+        @NamedAttributeNode("busHelpers") })
+@NamedEntityGraph(name = Bus.WITH_REFERENCES, attributeNodes = {
+        @NamedAttributeNode("agency"),
+        @NamedAttributeNode("school"),
+        @NamedAttributeNode("driver") })
 public class Bus {
 
+    // ─── FETCH PLANS ───
+    // Everything a Bus response shows; the paged listing leaves the helpers
+    // collection out (a collection fetch join cannot be limited in SQL)
+    public static final String WITH_DETAILS = "Bus.withDetails";
+    public static final String WITH_REFERENCES = "Bus.withReferences";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -35,8 +54,7 @@ public class Bus {
     @Column(nullable = false)
     private int capacity;
 
-    // ✅ Needed for StudentList
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "agency_id", nullable = false)
     @JsonIgnoreProperties({ "password", "role" })
     private Agency agency;
@@ -65,8 +83,9 @@ public class Bus {
     private Driver driver;
 
 
-    // ✅ Needed for StudentList
-    @OneToMany(mappedBy = "assignedBus", fetch = FetchType.EAGER)
+    // loaded for a whole page of buses at a time when outside the fetch plan
+    @OneToMany(mappedBy = "assignedBus", fetch = FetchType.LAZY)
+    @BatchSize(size = 50)
     @JsonIgnoreProperties({ "assignedBus", "school" })
     private List<BusHelper> busHelpers;
 }
@@ -1,8 +1,11 @@
 package com.eduride.entity;
 
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -13,13 +16,21 @@ import lombok.Setter;
 @Getter
 @Setter
 @PrimaryKeyJoinColumn(name = "id") // ✅ Links Helper ID to User ID
+@NamedEntityGraph(name = BusHelper.WITH_BUS, attributeNodes = @NamedAttributeNode("assignedBus"))
+@NamedEntityGraph(name = BusHelper.WITH_SCHOOL_AND_BUS, attributeNodes = {
+        @NamedAttributeNode("school"),
+        @NamedAttributeNode("assignedBus") })
 public class BusHelper extends User { // ✅ Now extends User
 
-    @ManyToOne
+    // profile / dashboard / school roster only show the bus number
+    public static final String WITH_BUS = "BusHelper.withBus";
+    public static final String WITH_SCHOOL_AND_BUS = "BusHelper.withSchoolAndBus";
+
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "school_id", nullable = false)
     private School school;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_bus_id")
     private Bus assignedBus;
     
@@ -0,0 +1,6 @@
+package com.eduride.entity;
+
+public enum CounterScope {
+    BUS,
+    SCHOOL
+}
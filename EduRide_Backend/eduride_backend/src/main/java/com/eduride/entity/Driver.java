@@ -16,7 +16,7 @@ public class Driver extends User {
     private String licenseNumber;
 
     // Accepts agency on WRITE, hides it on READ
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "agency_id", nullable = false)
     @JsonProperty(access = JsonProperty.Access.WRITE_ONLY)
     private Agency agency;
@@ -0,0 +1,25 @@
+package com.eduride.entity;
+
+/**
+ * Pooled table id generation for the entities that are created in bulk.
+ *
+ * IDENTITY ids are only known after each row's INSERT, so Hibernate cannot
+ * batch those inserts. A pooled generator reserves {@link #ALLOCATION_SIZE}
+ * ids per round trip to {@link #TABLE} instead, and the inserts of a flush
+ * go out as JDBC batches (hibernate.jdbc.batch_size). A table rather than a
+ * native sequence because MySQL has none.
+ */
+public final class IdSequences {
+
+	public static final String TABLE = "id_sequences";
+	public static final String NAME_COLUMN = "sequence_name";
+	public static final String VALUE_COLUMN = "next_val";
+	public static final int ALLOCATION_SIZE = 50;
+
+	// one row per id space: sequence name → table whose ids it hands out
+	public static final String USERS = "users";
+	public static final String FEEDBACK = "feedback";
+
+	private IdSequences() {
+	}
+}
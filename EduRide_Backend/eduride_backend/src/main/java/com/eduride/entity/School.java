@@ -7,6 +7,8 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -18,12 +20,15 @@ import lombok.Setter;
 @Setter
 @PrimaryKeyJoinColumn(name = "id")
 @JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
+@NamedEntityGraph(name = School.WITH_AGENCY, attributeNodes = @NamedAttributeNode("agency"))
 public class School extends User {
 
+    public static final String WITH_AGENCY = "School.withAgency";
+
     @Column(nullable = false)
     private String address;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "agency_id", nullable = true)
     @JsonIgnoreProperties({ "schools", "hibernateLazyInitializer", "handler" })
     private Agency agency;
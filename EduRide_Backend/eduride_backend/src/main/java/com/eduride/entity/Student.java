@@ -4,8 +4,11 @@ import com.fasterxml.jackson.annotation.JsonIgnore;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.PrimaryKeyJoinColumn;
 import jakarta.persistence.Table;
 import lombok.Getter;
@@ -16,8 +19,14 @@ import lombok.Setter;
 @Getter
 @Setter
 @PrimaryKeyJoinColumn(name = "id") // ✅ Links Student ID to User ID
+@NamedEntityGraph(name = Student.WITH_SCHOOL_AND_BUS, attributeNodes = {
+        @NamedAttributeNode("school"),
+        @NamedAttributeNode("assignedBus") })
 public class Student extends User { // ✅ Now extends User (not BaseUserEntity)
 
+    // StudentMapper reads the school name and bus number
+    public static final String WITH_SCHOOL_AND_BUS = "Student.withSchoolAndBus";
+
     @Column(name = "class_name", nullable = false)
     private String className;
 
@@ -30,12 +39,12 @@ public class Student extends User { // ✅ Now extends User (not BaseUserEntity)
     @Column(name = "pass_status", nullable = false)
     private String passStatus;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "school_id", nullable = false)
     @JsonIgnore
     private School school;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "assigned_bus_id")
     private Bus assignedBus;
     
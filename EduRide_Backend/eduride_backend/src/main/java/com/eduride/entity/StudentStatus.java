@@ -4,22 +4,42 @@ import java.time.LocalDate;
 
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.NamedAttributeNode;
+import jakarta.persistence.NamedEntityGraph;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.Getter;
 import lombok.Setter;
 
 @Entity
-@Table(name="student_status")
+// One row per student per day – required by the ON DUPLICATE KEY upserts
+@Table(
+	name="student_status",
+	uniqueConstraints = @UniqueConstraint(name = "uk_student_status_student_date", columnNames = {"student_id", "date"})
+)
 @Getter
 @Setter
+@NamedEntityGraph(name = StudentStatus.WITH_STUDENT, attributeNodes = @NamedAttributeNode("student"))
+@NamedEntityGraph(name = StudentStatus.WITH_UPDATED_BY, attributeNodes = @NamedAttributeNode("updatedBy"))
+@NamedEntityGraph(name = StudentStatus.WITH_DETAILS, attributeNodes = {
+		@NamedAttributeNode("student"),
+		@NamedAttributeNode("updatedBy") })
 public class StudentStatus {
 
+	// ─── FETCH PLANS ───
+	// school's today list: the student; student's poll: who marked it; StudentStatus responses: both
+	public static final String WITH_STUDENT = "StudentStatus.withStudent";
+	public static final String WITH_UPDATED_BY = "StudentStatus.withUpdatedBy";
+	public static final String WITH_DETAILS = "StudentStatus.withDetails";
+
 	@Id
+	// Stays IDENTITY: rows are written by the JDBC upserts (already batched), which rely on AUTO_INCREMENT
 	@GeneratedValue(strategy = GenerationType.IDENTITY)
 	private Long id;
 	
@@ -28,12 +48,13 @@ public class StudentStatus {
 	@Column(name="pickup_status")
 	private String pickupStatus; // PENDING / PICKED / DROPPED
 	
-	@ManyToOne
+	@ManyToOne(fetch = FetchType.LAZY)
 	@JoinColumn(name="student_id")
 	private Student student;
 	
-	 @ManyToOne
-	 @JoinColumn(name = "updated_by", nullable = false)
+	// null on rows the system wrote (the nightly PENDING seed) – see StudentStatusSchemaMigration
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "updated_by")
 	private BusHelper updatedBy;
 	
 	
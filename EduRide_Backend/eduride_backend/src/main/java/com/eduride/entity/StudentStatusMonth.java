@@ -0,0 +1,42 @@
+package com.eduride.entity;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.Getter;
+import lombok.Setter;
+
+@Entity
+// Archived student_status rows: one row per student per closed month, statuses packed by AttendanceMonthCodec
+@Table(
+	name = "student_status_month",
+	uniqueConstraints = @UniqueConstraint(name = "uk_student_status_month_student_month", columnNames = {"student_id", "month"})
+)
+@Getter
+@Setter
+public class StudentStatusMonth {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@ManyToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "student_id", nullable = false)
+	private Student student;
+
+	// first day of the month
+	@Column(nullable = false)
+	private LocalDate month;
+
+	@Column(nullable = false, length = 12)
+	private byte[] statuses;
+}
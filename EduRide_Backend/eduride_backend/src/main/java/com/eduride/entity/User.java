@@ -12,7 +12,14 @@ import lombok.Setter;
 public class User {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "user_ids")
+    @TableGenerator(
+            name = "user_ids",
+            table = IdSequences.TABLE,
+            pkColumnName = IdSequences.NAME_COLUMN,
+            valueColumnName = IdSequences.VALUE_COLUMN,
+            pkColumnValue = IdSequences.USERS,
+            allocationSize = IdSequences.ALLOCATION_SIZE)
     private Long id;
 
     @Column(nullable = false, length = 100)
@@ -32,4 +39,9 @@ public class User {
     private Role role;
 
     private boolean active = true;
+
+    // Bumped whenever tenant claims (bus / school / agency) or credentials change;
+    // JWTs carrying an older version are rejected by JwtFilter
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
 }
\ No newline at end of file
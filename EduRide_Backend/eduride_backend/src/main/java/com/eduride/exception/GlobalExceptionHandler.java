@@ -17,5 +17,12 @@ public class GlobalExceptionHandler {
     public ResponseEntity<?> handleInvalid(InvalidCredentialsException e) {
 		return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(new ApiResponse(e.getMessage(), "Failed"));
     }
+
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<?> handleHashingBusy(PasswordHashingBusyException e) {
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+				.header(HttpHeaders.RETRY_AFTER, String.valueOf(e.getRetryAfter().toSeconds()))
+				.body(new ApiResponse(e.getMessage(), "Failed"));
+    }
   
 }
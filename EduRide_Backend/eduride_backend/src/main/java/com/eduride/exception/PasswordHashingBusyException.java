@@ -0,0 +1,21 @@
+package com.eduride.exception;
+
+import java.time.Duration;
+
+/**
+ * Thrown when the password-hashing pool is saturated; mapped to
+ * 503 Service Unavailable with a Retry-After header.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public PasswordHashingBusyException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,18 @@
+package com.eduride.live;
+
+import java.time.LocalDate;
+
+/**
+ * Payload of a live pickup / drop status update, sent to the student's,
+ * bus's and school's streams. {@code pickupStatus} is null when the day's
+ * status was deleted.
+ */
+public record PickupStatusEvent(
+        Long studentId,
+        Long busId,
+        Long schoolId,
+        String pickupStatus,
+        LocalDate date,
+        long updatedAt
+) {
+}
@@ -0,0 +1,317 @@
+package com.eduride.live;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Fans pickup status events out to Server-Sent Event subscribers of a
+ * student, a bus or a school.
+ *
+ * Each event is serialised to JSON once and the same string is queued for
+ * every subscriber. Every connection has a small bounded buffer: when a slow
+ * client falls behind, its oldest queued events are dropped, so one stuck
+ * connection can neither block the writer nor hold unbounded memory. Each
+ * buffer is drained on a virtual thread, so a client whose socket stopped
+ * accepting writes parks only its own drain; one stuck longer than the send
+ * timeout is dropped, and its request ended, at the next heartbeat. Idle
+ * connections only get a comment line every heartbeat interval.
+ */
+@Component
+public class StatusEventBroadcaster {
+
+    private static final Frame HEARTBEAT = new Frame(null, null);
+
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final long timeoutMillis;
+    private final long heartbeatNanos;
+    private final long sendTimeoutNanos;
+    private final ExecutorService dispatcher;
+
+    private final Map<String, Set<Subscriber>> topics = new ConcurrentHashMap<>();
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+    private final AtomicLong sequence = new AtomicLong();
+    private final Counter dropped;
+    private final Counter evicted;
+
+    public StatusEventBroadcaster(
+            ObjectMapper objectMapper,
+            MeterRegistry meterRegistry,
+            @Value("${eduride.live.buffer-size:32}") int bufferSize,
+            @Value("${eduride.live.timeout:30m}") Duration timeout,
+            @Value("${eduride.live.heartbeat-interval-ms:15000}") long heartbeatIntervalMillis,
+            @Value("${eduride.live.send-timeout:30s}") Duration sendTimeout
+    ) {
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeoutMillis = timeout.toMillis();
+        this.heartbeatNanos = TimeUnit.MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        this.sendTimeoutNanos = sendTimeout.toNanos();
+
+        // at most one drain running per subscriber, so at most one virtual thread per connection
+        this.dispatcher = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("sse-dispatch-", 0).factory());
+
+        this.dropped = Counter.builder("eduride.live.events.dropped")
+                .register(meterRegistry);
+        this.evicted = Counter.builder("eduride.live.subscribers.evicted")
+                .description("Subscribers dropped because a send stayed blocked past the send timeout")
+                .register(meterRegistry);
+        Gauge.builder("eduride.live.subscribers", subscriberCount, AtomicInteger::get)
+                .register(meterRegistry);
+    }
+
+    // ─── 📡 SUBSCRIBE ───
+
+    public SseEmitter subscribeStudent(Long studentId) {
+        return subscribe(studentTopic(studentId), new SseEmitter(timeoutMillis));
+    }
+
+    public SseEmitter subscribeBus(Long busId) {
+        return subscribe(busTopic(busId), new SseEmitter(timeoutMillis));
+    }
+
+    public SseEmitter subscribeSchool(Long schoolId) {
+        return subscribe(schoolTopic(schoolId), new SseEmitter(timeoutMillis));
+    }
+
+    <T extends SseEmitter> T subscribe(String topic, T emitter) {
+        Subscriber subscriber = new Subscriber(topic, emitter, bufferSize);
+        topics.compute(topic, (key, subscribers) -> {
+            Set<Subscriber> set = subscribers != null ? subscribers : ConcurrentHashMap.newKeySet();
+            set.add(subscriber);
+            return set;
+        });
+        subscriberCount.incrementAndGet();
+
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(error -> remove(subscriber));
+        return emitter;
+    }
+
+    // ─── 📤 PUBLISH ───
+
+    /**
+     * Publishes the events to their student, bus and school streams – after
+     * commit when called inside a transaction, so a rolled back write is never announced.
+     */
+    public void publish(List<PickupStatusEvent> events) {
+        if (events.isEmpty() || subscriberCount.get() == 0) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    fanOut(events);
+                }
+            });
+        } else {
+            fanOut(events);
+        }
+    }
+
+    private void fanOut(List<PickupStatusEvent> events) {
+        for (PickupStatusEvent event : events) {
+            Set<Subscriber> student = topics.get(studentTopic(event.studentId()));
+            Set<Subscriber> bus = event.busId() != null ? topics.get(busTopic(event.busId())) : null;
+            Set<Subscriber> school = event.schoolId() != null ? topics.get(schoolTopic(event.schoolId())) : null;
+            if (student == null && bus == null && school == null) {
+                continue;
+            }
+
+            // serialised once, shared by every subscriber
+            Frame frame = new Frame(Long.toString(sequence.incrementAndGet()), toJson(event));
+            offerAll(student, frame);
+            offerAll(bus, frame);
+            offerAll(school, frame);
+        }
+    }
+
+    private void offerAll(Collection<Subscriber> subscribers, Frame frame) {
+        if (subscribers == null) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            offer(subscriber, frame);
+        }
+    }
+
+    private void offer(Subscriber subscriber, Frame frame) {
+        if (subscriber.offer(frame, dropped)) {
+            dispatcher.execute(() -> drain(subscriber));
+        }
+    }
+
+    private void drain(Subscriber subscriber) {
+        Frame frame;
+        while ((frame = subscriber.next()) != null) {
+            if (subscriber.closed.get()) {
+                return; // evicted while a send was blocked
+            }
+            SseEmitter.SseEventBuilder event = frame == HEARTBEAT
+                    ? SseEmitter.event().comment("ping")
+                    : SseEmitter.event().id(frame.id()).name("status").data(frame.json(), MediaType.APPLICATION_JSON);
+            try {
+                subscriber.sendingSince = System.nanoTime();
+                subscriber.emitter.send(event);
+                subscriber.lastSentAt = System.nanoTime();
+                subscriber.sendingSince = 0;
+            } catch (IOException | IllegalStateException e) {
+                // client went away or the emitter already completed
+                remove(subscriber);
+                return;
+            }
+        }
+    }
+
+    // ─── 💓 HEARTBEAT ───
+
+    /** Pings idle subscribers and drops the ones whose send has been blocked past the send timeout. */
+    @Scheduled(fixedRateString = "${eduride.live.heartbeat-interval-ms:15000}")
+    public void heartbeat() {
+        long now = System.nanoTime();
+        long idleSince = now - heartbeatNanos;
+        for (Set<Subscriber> subscribers : topics.values()) {
+            for (Subscriber subscriber : subscribers) {
+                long sendingSince = subscriber.sendingSince;
+                if (sendingSince != 0 && now - sendingSince > sendTimeoutNanos) {
+                    // the blocked drain notices once its write returns or fails
+                    remove(subscriber);
+                    evicted.increment();
+                    // ends the async request; completing waits for the emitter's write
+                    // lock, which the blocked send holds, so not on the scheduler thread
+                    dispatcher.execute(() -> subscriber.emitter.completeWithError(
+                            new IOException("SSE send blocked past the send timeout")));
+                } else if (subscriber.lastSentAt - idleSince <= 0 && subscriber.isIdle()) {
+                    offer(subscriber, HEARTBEAT);
+                }
+            }
+        }
+    }
+
+    public int subscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        dispatcher.shutdownNow();
+        topics.values().forEach(subscribers -> subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    // ─── INTERNALS ───
+
+    private void remove(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+        topics.computeIfPresent(subscriber.topic, (key, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+        subscriberCount.decrementAndGet();
+    }
+
+    private String toJson(PickupStatusEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Cannot serialise status event", e);
+        }
+    }
+
+    static String studentTopic(Long studentId) {
+        return "student:" + studentId;
+    }
+
+    static String busTopic(Long busId) {
+        return "bus:" + busId;
+    }
+
+    static String schoolTopic(Long schoolId) {
+        return "school:" + schoolId;
+    }
+
+    /** Pre-serialised event (or the heartbeat marker). */
+    private record Frame(String id, String json) {
+    }
+
+    private static final class Subscriber {
+
+        final String topic;
+        final SseEmitter emitter;
+        final AtomicBoolean closed = new AtomicBoolean();
+        volatile long lastSentAt = System.nanoTime();
+        volatile long sendingSince;
+
+        private final ArrayDeque<Frame> buffer;
+        private final int capacity;
+        private boolean draining;
+
+        Subscriber(String topic, SseEmitter emitter, int capacity) {
+            this.topic = topic;
+            this.emitter = emitter;
+            this.capacity = capacity;
+            this.buffer = new ArrayDeque<>(Math.min(capacity, 16));
+        }
+
+        /** Queues the frame, dropping the oldest when full; true when a drain must be scheduled. */
+        synchronized boolean offer(Frame frame, Counter dropped) {
+            if (closed.get()) {
+                return false;
+            }
+            if (buffer.size() == capacity) {
+                buffer.pollFirst();
+                dropped.increment();
+            }
+            buffer.addLast(frame);
+            if (draining) {
+                return false;
+            }
+            draining = true;
+            return true;
+        }
+
+        synchronized Frame next() {
+            Frame frame = buffer.pollFirst();
+            if (frame == null) {
+                draining = false;
+            }
+            return frame;
+        }
+
+        synchronized boolean isIdle() {
+            return buffer.isEmpty() && !draining;
+        }
+    }
+}
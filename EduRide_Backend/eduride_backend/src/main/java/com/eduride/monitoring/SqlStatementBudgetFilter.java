@@ -0,0 +1,75 @@
+package com.eduride.monitoring;
+
+import java.io.IOException;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Counts the SQL statements of every HTTP request – the JwtFilter lookup
+ * included – into {@code eduride.sql.statements} per endpoint, and warns when
+ * one request runs more than the threshold: the usual sign of an N+1.
+ *
+ * Endpoints are tagged by their mapping pattern ({@code /api/buses/{id}}), not
+ * the raw URI, so the tag stays bounded.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class SqlStatementBudgetFilter extends OncePerRequestFilter {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementBudgetFilter.class);
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public SqlStatementBudgetFilter(
+            MeterRegistry meterRegistry,
+            @Value("${eduride.sql.request-warn-threshold:20}") int warnThreshold
+    ) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+
+        long before = SqlStatementCounter.executed();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            long statements = SqlStatementCounter.executed() - before;
+            String endpoint = endpoint(request);
+
+            DistributionSummary.builder("eduride.sql.statements")
+                    .description("SQL statements per HTTP request")
+                    .tag("method", request.getMethod())
+                    .tag("endpoint", endpoint)
+                    .register(meterRegistry)
+                    .record(statements);
+
+            if (statements > warnThreshold) {
+                log.warn("{} {} ran {} SQL statements (threshold {})",
+                        request.getMethod(), endpoint, statements, warnThreshold);
+            }
+        }
+    }
+
+    private static String endpoint(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern != null ? pattern.toString() : "unmapped";
+    }
+}
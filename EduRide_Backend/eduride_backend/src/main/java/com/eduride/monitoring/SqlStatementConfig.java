@@ -0,0 +1,40 @@
+package com.eduride.monitoring;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * Wraps the DataSource in a datasource-proxy that feeds
+ * {@link SqlStatementCounter} and, with {@code logging.level.com.eduride.sql=DEBUG},
+ * logs every statement with its parameters (instead of spring.jpa.show-sql,
+ * which only sees Hibernate and writes to stdout).
+ */
+@Configuration
+public class SqlStatementConfig {
+
+    public static final String SQL_LOGGER = "com.eduride.sql";
+
+    // static: post-processors are created before the beans they wrap
+    @Bean
+    static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof ProxyDataSource)) {
+                    return ProxyDataSourceBuilder.create(beanName, dataSource)
+                            .listener(new SqlStatementCounter())
+                            .logQueryBySlf4j(SLF4JLogLevel.DEBUG, SQL_LOGGER)
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+}
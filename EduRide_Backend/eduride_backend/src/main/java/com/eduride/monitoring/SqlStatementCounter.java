@@ -0,0 +1,35 @@
+package com.eduride.monitoring;
+
+import java.util.List;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * Counts the statements each thread sends through the proxied DataSource
+ * (see {@link SqlStatementConfig}).
+ *
+ * The count only ever grows; a request, transaction or test takes
+ * {@link #executed()} when it starts and subtracts it when it ends, so scopes
+ * nest without any bookkeeping here. A JDBC batch is one round trip and
+ * counts once, however many rows it carries.
+ */
+public final class SqlStatementCounter implements QueryExecutionListener {
+
+    private static final ThreadLocal<long[]> EXECUTED = ThreadLocal.withInitial(() -> new long[1]);
+
+    /** Statements executed on the current thread so far. */
+    public static long executed() {
+        return EXECUTED.get()[0];
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        EXECUTED.get()[0]++;
+    }
+}
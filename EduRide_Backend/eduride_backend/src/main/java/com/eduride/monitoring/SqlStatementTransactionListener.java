@@ -0,0 +1,66 @@
+package com.eduride.monitoring;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+/**
+ * Warns when one transaction runs more SQL statements than the threshold,
+ * naming the transactional method. Covers work outside HTTP requests too
+ * (scheduled jobs, the write-behind flush, the nightly seed).
+ *
+ * Spring Boot registers every {@link TransactionExecutionListener} bean with
+ * the transaction manager; it only reports outermost (new) transactions.
+ */
+@Component
+public class SqlStatementTransactionListener implements TransactionExecutionListener {
+
+    private static final Logger log = LoggerFactory.getLogger(SqlStatementTransactionListener.class);
+
+    // statement count at begin, per open transaction – REQUIRES_NEW opens one inside another
+    private static final ThreadLocal<Map<TransactionExecution, Long>> OPEN =
+            ThreadLocal.withInitial(IdentityHashMap::new);
+
+    private final int warnThreshold;
+
+    public SqlStatementTransactionListener(
+            @Value("${eduride.sql.transaction-warn-threshold:20}") int warnThreshold
+    ) {
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    public void afterBegin(TransactionExecution transaction, Throwable beginFailure) {
+        if (beginFailure == null) {
+            OPEN.get().put(transaction, SqlStatementCounter.executed());
+        }
+    }
+
+    @Override
+    public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+        finish(transaction);
+    }
+
+    @Override
+    public void afterRollback(TransactionExecution transaction, Throwable rollbackFailure) {
+        finish(transaction);
+    }
+
+    private void finish(TransactionExecution transaction) {
+        Long before = OPEN.get().remove(transaction);
+        if (before == null) {
+            return;
+        }
+        long statements = SqlStatementCounter.executed() - before;
+        if (statements > warnThreshold) {
+            log.warn("Transaction {} ran {} SQL statements (threshold {})",
+                    transaction.getTransactionName(), statements, warnThreshold);
+        }
+    }
+}
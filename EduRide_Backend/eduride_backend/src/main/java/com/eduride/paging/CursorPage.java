@@ -0,0 +1,25 @@
+package com.eduride.paging;
+
+import java.util.List;
+
+import org.springframework.http.ResponseEntity;
+
+/**
+ * One page of a keyset-paginated list and the opaque token for the next one
+ * (null on the last page).
+ *
+ * List endpoints keep returning a plain JSON array; the token travels in the
+ * {@value #NEXT_CURSOR_HEADER} response header and comes back as ?cursor=.
+ */
+public record CursorPage<T>(List<T> items, String nextCursor) {
+
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
+    public ResponseEntity<List<T>> toResponse() {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (nextCursor != null) {
+            response.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return response.body(items);
+    }
+}
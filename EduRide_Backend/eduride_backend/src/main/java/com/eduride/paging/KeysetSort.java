@@ -0,0 +1,61 @@
+package com.eduride.paging;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Function;
+
+import org.springframework.data.domain.Sort;
+
+/**
+ * Stable sort orders a list endpoint can offer. Each ends on the id, so the
+ * keyset (last row's sort values) always identifies a unique position.
+ *
+ * Request value is the property name, prefixed with '-' for descending.
+ */
+public enum KeysetSort {
+
+    ID_ASC("id", Sort.by(Sort.Direction.ASC, "id")),
+    ID_DESC("-id", Sort.by(Sort.Direction.DESC, "id")),
+    DATE_ASC("date", Sort.by(Sort.Direction.ASC, "date", "id")),
+    DATE_DESC("-date", Sort.by(Sort.Direction.DESC, "date", "id"));
+
+    private final String token;
+    private final Sort sort;
+
+    KeysetSort(String token, Sort sort) {
+        this.token = token;
+        this.sort = sort;
+    }
+
+    public String token() {
+        return token;
+    }
+
+    public Sort sort() {
+        return sort;
+    }
+
+    /** Keyset properties in sort order. */
+    List<String> properties() {
+        return sort.stream().map(Sort.Order::getProperty).toList();
+    }
+
+    /** Parses a keyset value written by {@link Object#toString()} back to its property type. */
+    static Object parseKey(String property, String value) {
+        Function<String, Object> parser = switch (property) {
+            case "id" -> Long::valueOf;
+            case "date" -> LocalDate::parse;
+            default -> throw new IllegalArgumentException("No keyset parser for " + property);
+        };
+        return parser.apply(value);
+    }
+
+    static KeysetSort fromToken(String token) {
+        for (KeysetSort sort : values()) {
+            if (sort.token.equals(token)) {
+                return sort;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,98 @@
+package com.eduride.paging;
+
+import java.nio.charset.StandardCharsets;
+import java.time.format.DateTimeParseException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+/**
+ * A validated page request: size capped at {@value #MAX_LIMIT}, sort limited
+ * to the endpoint's options, and the cursor decoded to a keyset position.
+ *
+ * Cursors are URL-safe Base64 of the sort and the last row's keyset values;
+ * clients should treat them as opaque. A cursor is only valid with the sort it
+ * was issued for.
+ */
+public record PageQuery(KeysetSort sort, ScrollPosition position, int limit) {
+
+    public static final int DEFAULT_LIMIT = 50;
+    public static final int MAX_LIMIT = 200;
+
+    private static final String SEPARATOR = "|";
+
+    /** Repository keyset query: {@code Window<T> findBy(ScrollPosition, Sort, Limit)}. */
+    @FunctionalInterface
+    public interface KeysetQuery<T> {
+        Window<T> find(ScrollPosition position, Sort sort, Limit limit);
+    }
+
+    /**
+     * @param limit   requested page size (null → default, clamped to 1..MAX_LIMIT)
+     * @param cursor  X-Next-Cursor of the previous page, or null for the first page
+     * @param sort    requested sort token, null → the first allowed sort
+     * @param allowed sorts this endpoint offers
+     */
+    public static PageQuery of(Integer limit, String cursor, String sort, KeysetSort... allowed) {
+        KeysetSort keysetSort = sort == null || sort.isBlank() ? allowed[0] : KeysetSort.fromToken(sort);
+        if (keysetSort == null || !Arrays.asList(allowed).contains(keysetSort)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported sort: " + sort + ", expected one of "
+                    + Arrays.stream(allowed).map(KeysetSort::token).collect(Collectors.joining(", ")));
+        }
+
+        int size = limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+        ScrollPosition position = cursor == null || cursor.isBlank()
+                ? ScrollPosition.keyset()
+                : decode(cursor, keysetSort);
+        return new PageQuery(keysetSort, position, size);
+    }
+
+    public <T> CursorPage<T> fetch(KeysetQuery<T> query) {
+        Window<T> window = query.find(position, sort.sort(), Limit.of(limit));
+        String next = window.hasNext() && !window.isEmpty()
+                ? encode(sort, (KeysetScrollPosition) window.positionAt(window.size() - 1))
+                : null;
+        return new CursorPage<>(window.getContent(), next);
+    }
+
+    // ─── CURSOR CODEC ───
+
+    static String encode(KeysetSort sort, KeysetScrollPosition position) {
+        StringBuilder token = new StringBuilder(sort.token());
+        for (String property : sort.properties()) {
+            token.append(SEPARATOR).append(position.getKeys().get(property));
+        }
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(token.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    static KeysetScrollPosition decode(String cursor, KeysetSort sort) {
+        try {
+            String token = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            List<String> parts = List.of(token.split("\\" + SEPARATOR, -1));
+            List<String> properties = sort.properties();
+            if (!parts.get(0).equals(sort.token()) || parts.size() != properties.size() + 1) {
+                throw new IllegalArgumentException("cursor was issued for another sort");
+            }
+
+            Map<String, Object> keys = new LinkedHashMap<>();
+            for (int i = 0; i < properties.size(); i++) {
+                keys.put(properties.get(i), KeysetSort.parseKey(properties.get(i), parts.get(i + 1)));
+            }
+            return ScrollPosition.forward(keys);
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
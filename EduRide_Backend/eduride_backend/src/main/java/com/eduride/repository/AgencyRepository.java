@@ -3,10 +3,26 @@ package com.eduride.repository;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.eduride.dto.dashboard.AgencyDashboardSummaryDTO;
 import com.eduride.entity.Agency;
 
 public interface AgencyRepository extends JpaRepository<Agency, Long> {
 
     Optional<Agency> findByEmail(String email);
+
+    // Whole dashboard in one round trip – empty when the agency does not exist
+    @Query("""
+        SELECT new com.eduride.dto.dashboard.AgencyDashboardSummaryDTO(
+            (SELECT COUNT(b) FROM Bus b WHERE b.agency.id = a.id),
+            (SELECT COUNT(d) FROM Driver d WHERE d.agency.id = a.id),
+            (SELECT COUNT(st) FROM Student st JOIN st.school sc WHERE sc.agency.id = a.id),
+            (SELECT COUNT(s) FROM School s WHERE s.agency.id = a.id)
+        )
+        FROM Agency a
+        WHERE a.id = :agencyId
+    """)
+    Optional<AgencyDashboardSummaryDTO> findDashboardSummary(@Param("agencyId") Long agencyId);
 }
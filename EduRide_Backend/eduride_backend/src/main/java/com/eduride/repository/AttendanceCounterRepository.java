@@ -0,0 +1,19 @@
+package com.eduride.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.eduride.entity.AttendanceCounter;
+import com.eduride.entity.AttendanceCounterId;
+import com.eduride.entity.CounterScope;
+
+public interface AttendanceCounterRepository
+        extends JpaRepository<AttendanceCounter, AttendanceCounterId>, AttendanceCounterRepositoryCustom {
+
+    // Primary-key prefix (scope, scope_id, date) – at most one row per status
+    List<AttendanceCounter> findByIdScopeAndIdScopeIdAndIdDate(CounterScope scope, Long scopeId, LocalDate date);
+
+    List<AttendanceCounter> findByIdDate(LocalDate date);
+}
@@ -0,0 +1,26 @@
+package com.eduride.repository;
+
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.SortedMap;
+
+import com.eduride.entity.AttendanceCounterId;
+
+/**
+ * JDBC-level counter maintenance for attendance_counter.
+ */
+public interface AttendanceCounterRepositoryCustom {
+
+    /**
+     * Adds each delta to its counter, creating missing rows. Rows are touched
+     * in key order so concurrent writers queue rather than cross; run it at
+     * READ COMMITTED, where the update of a missing row takes no gap lock.
+     */
+    void applyDeltas(SortedMap<AttendanceCounterId, Long> deltas);
+
+    /**
+     * Counts recomputed from student_status for the day, by school and by
+     * (current) bus.
+     */
+    Map<AttendanceCounterId, Long> recount(LocalDate date);
+}
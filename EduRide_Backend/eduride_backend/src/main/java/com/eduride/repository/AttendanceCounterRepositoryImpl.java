@@ -0,0 +1,87 @@
+package com.eduride.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SortedMap;
+
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduride.entity.AttendanceCounterId;
+import com.eduride.entity.CounterScope;
+
+/**
+ * Spring Data fragment backing {@link AttendanceCounterRepositoryCustom}.
+ * Runs on the surrounding transaction's connection.
+ */
+public class AttendanceCounterRepositoryImpl implements AttendanceCounterRepositoryCustom {
+
+    private static final String INCREMENT_SQL = """
+            UPDATE attendance_counter
+            SET count = count + ?
+            WHERE scope = ? AND scope_id = ? AND date = ? AND status = ?
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO attendance_counter (scope, scope_id, date, status, count)
+            VALUES (?, ?, ?, ?, ?)
+            """;
+
+    private static final String RECOUNT_SQL = """
+            SELECT 'SCHOOL' AS scope, s.school_id AS scope_id, ss.pickup_status AS status, COUNT(*) AS cnt
+            FROM student_status ss
+            JOIN student s ON s.id = ss.student_id
+            WHERE ss.date = ? AND ss.pickup_status IS NOT NULL
+            GROUP BY s.school_id, ss.pickup_status
+            UNION ALL
+            SELECT 'BUS', s.assigned_bus_id, ss.pickup_status, COUNT(*)
+            FROM student_status ss
+            JOIN student s ON s.id = ss.student_id
+            WHERE ss.date = ? AND ss.pickup_status IS NOT NULL AND s.assigned_bus_id IS NOT NULL
+            GROUP BY s.assigned_bus_id, ss.pickup_status
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public AttendanceCounterRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public void applyDeltas(SortedMap<AttendanceCounterId, Long> deltas) {
+        deltas.forEach((id, delta) -> {
+            if (increment(id, delta) > 0) {
+                return;
+            }
+            try {
+                jdbcTemplate.update(INSERT_SQL,
+                        id.getScope().name(), id.getScopeId(), Date.valueOf(id.getDate()), id.getStatus(), delta);
+            } catch (DuplicateKeyException e) {
+                // another writer created the row first – it exists now
+                increment(id, delta);
+            }
+        });
+    }
+
+    @Override
+    public Map<AttendanceCounterId, Long> recount(LocalDate date) {
+        Map<AttendanceCounterId, Long> counts = new HashMap<>();
+        Date day = Date.valueOf(date);
+        jdbcTemplate.query(RECOUNT_SQL, rs -> {
+            counts.put(new AttendanceCounterId(
+                    CounterScope.valueOf(rs.getString("scope")),
+                    rs.getLong("scope_id"),
+                    date,
+                    rs.getString("status")),
+                    rs.getLong("cnt"));
+        }, day, day);
+        return counts;
+    }
+
+    private int increment(AttendanceCounterId id, long delta) {
+        return jdbcTemplate.update(INCREMENT_SQL,
+                delta, id.getScope().name(), id.getScopeId(), Date.valueOf(id.getDate()), id.getStatus());
+    }
+}
@@ -3,16 +3,31 @@ package com.eduride.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.eduride.entity.BusHelper;
 
-public interface BusHelperRepository extends JpaRepository<BusHelper, Long> {
+public interface BusHelperRepository extends JpaRepository<BusHelper, Long>, KeysetRepository<BusHelper> {
 
+	@EntityGraph(BusHelper.WITH_BUS)
 	List<BusHelper> findBySchoolId(Long schoolId);
 
+	@EntityGraph(BusHelper.WITH_SCHOOL_AND_BUS)
 	List<BusHelper> findByAssignedBusId(Long busId);
 
+	@EntityGraph(BusHelper.WITH_BUS)
 	Optional<BusHelper> findByEmail(String email);
 
+	@EntityGraph(BusHelper.WITH_SCHOOL_AND_BUS)
+	Optional<BusHelper> findWithSchoolAndBusById(Long id);
+
+	@Override
+	@EntityGraph(BusHelper.WITH_SCHOOL_AND_BUS)
+	Window<BusHelper> findBy(ScrollPosition position, Sort sort, Limit limit);
+
 }
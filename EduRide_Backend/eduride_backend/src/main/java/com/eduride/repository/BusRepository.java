@@ -3,20 +3,44 @@ package com.eduride.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.eduride.dto.BusDTO;
 import com.eduride.entity.Bus;
 import com.eduride.entity.School;
 
-public interface BusRepository extends JpaRepository<Bus, Long> {
+public interface BusRepository extends JpaRepository<Bus, Long>, KeysetRepository<Bus> {
 
+    // school release revokes every driver's token
+    @EntityGraph(Bus.WITH_REFERENCES)
     List<Bus> findBySchoolId(Long schoolId);
 
     List<Bus> findByAgencyId(Long agencyId);
 
     Optional<Bus> findByDriverId(Long driverId);
 
+    // ─── 🚌 Bus ENTITY RESPONSES ───
+
+    @Override
+    @EntityGraph(Bus.WITH_REFERENCES)
+    Window<Bus> findBy(ScrollPosition position, Sort sort, Limit limit);
+
+    @EntityGraph(Bus.WITH_DETAILS)
+    Optional<Bus> findWithDetailsById(Long id);
+
+    @EntityGraph(Bus.WITH_DETAILS)
+    List<Bus> findWithDetailsBySchoolId(Long schoolId);
+
+    @EntityGraph(Bus.WITH_DETAILS)
+    Optional<Bus> findWithDetailsByDriverId(Long driverId);
+
     long countBySchoolId(Long schoolId);
 
     @Query("""
@@ -28,6 +52,36 @@ public interface BusRepository extends JpaRepository<Bus, Long> {
 
 	Optional<Bus> findByBusNumber(String busNumber);
 
+	// dashboard header – the bus id comes from the token
+	@Query("SELECT b.busNumber FROM Bus b WHERE b.id = :busId")
+	Optional<String> findBusNumberById(@Param("busId") Long busId);
+
 	long countByAgencyId(Long agencyId);
-    
+
+	boolean existsByIdAndSchoolId(Long id, Long schoolId);
+
+	// ─── 📋 BusDTO PROJECTIONS ───
+	// School, driver and first helper (lowest id) joined – one statement however many buses
+	String BUS_DTO_SELECT = """
+	        SELECT new com.eduride.dto.BusDTO(
+	            b.id, b.busNumber, b.capacity,
+	            s.id, s.name,
+	            d.id, d.name, d.phone,
+	            h.name, h.phone
+	        )
+	        FROM Bus b
+	        LEFT JOIN b.school s
+	        LEFT JOIN b.driver d
+	        LEFT JOIN BusHelper h ON h.assignedBus = b
+	            AND h.id = (SELECT MIN(h2.id) FROM BusHelper h2 WHERE h2.assignedBus = b)
+	        """;
+
+	@Query(BUS_DTO_SELECT + "WHERE b.agency.id = :agencyId ORDER BY b.id")
+	List<BusDTO> findBusDTOsByAgencyId(@Param("agencyId") Long agencyId);
+
+	@Query(BUS_DTO_SELECT + "WHERE s.id = :schoolId ORDER BY b.id")
+	List<BusDTO> findBusDTOsBySchoolId(@Param("schoolId") Long schoolId);
+
+	@Query(BUS_DTO_SELECT + "WHERE b.id = :busId")
+	Optional<BusDTO> findBusDTOById(@Param("busId") Long busId);
 }
@@ -1,26 +1,39 @@
 package com.eduride.repository;
 
+import com.eduride.dto.DriverDTO;
 import com.eduride.entity.Driver;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 import java.util.Optional;
 
-public interface DriverRepository extends JpaRepository<Driver, Long> {
+public interface DriverRepository extends JpaRepository<Driver, Long>, KeysetRepository<Driver> {
 
     List<Driver> findByAgencyId(Long agencyId);
 
     Optional<Driver> findByEmail(String email);
 
-    @Query("""
-        SELECT d FROM Driver d
+	long countByAgencyId(Long agencyId);
+
+    // ─── 📋 DRIVER ROSTER (driver → bus → school, one statement) ───
+    String DRIVER_DTO_SELECT = """
+        SELECT new com.eduride.dto.DriverDTO(
+            d.id, d.name, d.phone, d.licenseNumber,
+            b.id, b.busNumber,
+            s.id, s.name
+        )
+        FROM Driver d
+        LEFT JOIN Bus b ON b.driver = d
+        LEFT JOIN b.school s
         WHERE d.agency.id = :agencyId
-          AND d.id NOT IN (
-              SELECT b.driver.id FROM Bus b WHERE b.driver IS NOT NULL
-          )
-    """)
-    List<Driver> findUnassignedDriversByAgency(Long agencyId);
+        """;
 
-	long countByAgencyId(Long agencyId);
+    @Query(DRIVER_DTO_SELECT + "ORDER BY d.id")
+    List<DriverDTO> findDriverDTOsByAgencyId(@Param("agencyId") Long agencyId);
+
+    // Anti-join: drivers with no bus row pointing at them
+    @Query(DRIVER_DTO_SELECT + "AND b.id IS NULL ORDER BY d.id")
+    List<DriverDTO> findUnassignedDriverDTOsByAgencyId(@Param("agencyId") Long agencyId);
 }
@@ -6,7 +6,7 @@ import org.springframework.data.jpa.repository.JpaRepository;
 
 import com.eduride.entity.Feedback;
 
-public interface FeedbackRepository extends JpaRepository<Feedback, Long> {
+public interface FeedbackRepository extends JpaRepository<Feedback, Long>, KeysetRepository<Feedback> {
 
 	List<Feedback> findByDriver_Id(Long driverId);
 
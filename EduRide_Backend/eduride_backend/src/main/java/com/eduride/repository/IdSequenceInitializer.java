@@ -0,0 +1,67 @@
+package com.eduride.repository;
+
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.eduride.entity.IdSequences;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Moves every {@link IdSequences} row past the highest id already in its
+ * table before the first insert.
+ *
+ * Databases created before the switch from IDENTITY hold rows whose ids the
+ * generator has never handed out; a fresh generator row would start at 1 and
+ * collide with them. The pooled optimizer hands out the ALLOCATION_SIZE ids
+ * up to the stored value, so the row must be at least max(id) + ALLOCATION_SIZE.
+ * Never moves a row backwards.
+ */
+@Component
+public class IdSequenceInitializer {
+
+    private static final Logger log = LoggerFactory.getLogger(IdSequenceInitializer.class);
+
+    private static final Map<String, String> ID_TABLES = Map.of(
+            IdSequences.USERS, "users",
+            IdSequences.FEEDBACK, "feedback");
+
+    private static final String SELECT_SQL = "SELECT " + IdSequences.VALUE_COLUMN
+            + " FROM " + IdSequences.TABLE + " WHERE " + IdSequences.NAME_COLUMN + " = ?";
+
+    private static final String UPDATE_SQL = "UPDATE " + IdSequences.TABLE
+            + " SET " + IdSequences.VALUE_COLUMN + " = ? WHERE " + IdSequences.NAME_COLUMN + " = ?";
+
+    private static final String INSERT_SQL = "INSERT INTO " + IdSequences.TABLE
+            + " (" + IdSequences.NAME_COLUMN + ", " + IdSequences.VALUE_COLUMN + ") VALUES (?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // the EntityManagerFactory dependency makes sure schema update has created the table
+    public IdSequenceInitializer(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void alignAll() {
+        ID_TABLES.forEach(this::align);
+    }
+
+    private void align(String sequence, String table) {
+        Long maxId = jdbcTemplate.queryForObject("SELECT COALESCE(MAX(id), 0) FROM " + table, Long.class);
+        long floor = maxId + IdSequences.ALLOCATION_SIZE;
+
+        Long current = jdbcTemplate.query(SELECT_SQL, rs -> rs.next() ? rs.getLong(1) : null, sequence);
+        if (current == null) {
+            jdbcTemplate.update(INSERT_SQL, sequence, floor);
+        } else if (current < floor) {
+            jdbcTemplate.update(UPDATE_SQL, floor, sequence);
+            log.info("Moved id sequence '{}' from {} to {} past the existing ids of {}", sequence, current, floor, table);
+        }
+    }
+}
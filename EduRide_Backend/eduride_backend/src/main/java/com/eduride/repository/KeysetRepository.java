@@ -0,0 +1,17 @@
+package com.eduride.repository;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.repository.NoRepositoryBean;
+
+/**
+ * Keyset-scrolled listing of all rows, used by the paged list endpoints
+ * through {@link com.eduride.paging.PageQuery}.
+ */
+@NoRepositoryBean
+public interface KeysetRepository<T> {
+
+    Window<T> findBy(ScrollPosition position, Sort sort, Limit limit);
+}
@@ -3,6 +3,7 @@ package com.eduride.repository;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -12,24 +13,45 @@ import com.eduride.entity.School;
 
 public interface SchoolRepository extends JpaRepository<School, Long> {
 
+    // ─── 🏫 School ENTITY RESPONSES – the agency is shown in full ───
+
+    @Override
+    @EntityGraph(School.WITH_AGENCY)
+    List<School> findAll();
+
+    @EntityGraph(School.WITH_AGENCY)
+    Optional<School> findWithAgencyById(Long id);
+
+    @EntityGraph(School.WITH_AGENCY)
     List<School> findByAgencyId(Long agencyId);
 
     Optional<School> findByEmail(String email);
 
+    // profile shows the agency's name
+    @EntityGraph(School.WITH_AGENCY)
+    Optional<School> findWithAgencyByEmail(String email);
+
 	long countByAgencyId(Long agencyId);
+
+	@Query("SELECT s.agency.id FROM School s WHERE s.id = :schoolId")
+	Optional<Long> findAgencyIdById(@Param("schoolId") Long schoolId);
+
+	// dashboard header – the school id comes from the token
+	@Query("SELECT s.name FROM School s WHERE s.id = :schoolId")
+	Optional<String> findNameById(@Param("schoolId") Long schoolId);
 	
+	// Each count is a separate correlated lookup on the school FK index – joining
+	// students and buses together would multiply them before grouping
 	@Query("""
 	        SELECT new com.eduride.dto.SchoolSummaryDTO(
 	            s.id,
 	            s.name,
-	            COUNT(DISTINCT st.id),
-	            COUNT(DISTINCT b.id)
+	            (SELECT COUNT(st) FROM Student st WHERE st.school = s),
+	            (SELECT COUNT(b) FROM Bus b WHERE b.school = s)
 	        )
 	        FROM School s
-	        LEFT JOIN Student st ON st.school = s
-	        LEFT JOIN Bus b ON b.school = s
 	        WHERE s.agency.id = :agencyId
-	        GROUP BY s.id, s.name
+	        ORDER BY s.id
 	    """)
 	    List<SchoolSummaryDTO> findSchoolsByAgencyWithCounts(
 	        @Param("agencyId") Long agencyId
@@ -1,24 +1,41 @@
 package com.eduride.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 
+import com.eduride.attendance.RosterEntry;
 import com.eduride.entity.Student;
 
 import jakarta.validation.constraints.Email;
 import jakarta.validation.constraints.NotBlank;
 
-public interface StudentRepository extends JpaRepository<Student, Long> {
+public interface StudentRepository extends JpaRepository<Student, Long>, KeysetRepository<Student> {
 
+    @EntityGraph(Student.WITH_SCHOOL_AND_BUS)
     Optional<Student> findByEmail(String email);
 
+    @EntityGraph(Student.WITH_SCHOOL_AND_BUS)
+    Optional<Student> findWithSchoolAndBusById(Long id);
+
+    @EntityGraph(Student.WITH_SCHOOL_AND_BUS)
     List<Student> findBySchoolId(Long schoolId);
 
+    @EntityGraph(Student.WITH_SCHOOL_AND_BUS)
     List<Student> findByAssignedBusId(Long busId);
 
+    @Override
+    @EntityGraph(Student.WITH_SCHOOL_AND_BUS)
+    Window<Student> findBy(ScrollPosition position, Sort sort, Limit limit);
+
     long countBySchoolId(Long schoolId);
 
     long countByAssignedBusId(Long busId);
@@ -37,4 +54,50 @@ public interface StudentRepository extends JpaRepository<Student, Long> {
 		""")
 		long countByAgencyId(Long agencyId);
 
+	// Nightly PENDING seed: schools with at least one student it would seed
+	@Query("""
+		    SELECT DISTINCT s.school.id
+		    FROM Student s
+		    WHERE s.assignedBus IS NOT NULL
+		      AND s.passStatus = 'ACTIVE'
+		    ORDER BY s.school.id
+		""")
+	List<Long> findSchoolIdsWithActiveRiders();
+
+	// Which of the given students ride this bus – one query for a whole batch
+	@Query("""
+		    SELECT s.id
+		    FROM Student s
+		    WHERE s.assignedBus.id = :busId
+		      AND s.id IN :studentIds
+		""")
+	List<Long> findIdsOnBus(Long busId, Collection<Long> studentIds);
+
+	// Attendance engine roster: every student with their school and bus ids
+	@Query("""
+		    SELECT new com.eduride.attendance.RosterEntry(s.id, sc.id, b.id)
+		    FROM Student s
+		    LEFT JOIN s.school sc
+		    LEFT JOIN s.assignedBus b
+		""")
+	List<RosterEntry> findAttendanceRoster();
+
+	@Query("""
+		    SELECT new com.eduride.attendance.RosterEntry(s.id, sc.id, b.id)
+		    FROM Student s
+		    LEFT JOIN s.school sc
+		    LEFT JOIN s.assignedBus b
+		    WHERE s.id = :studentId
+		""")
+	Optional<RosterEntry> findAttendanceRosterEntry(Long studentId);
+
+	@Query("""
+		    SELECT new com.eduride.attendance.RosterEntry(s.id, sc.id, b.id)
+		    FROM Student s
+		    LEFT JOIN s.school sc
+		    LEFT JOIN s.assignedBus b
+		    WHERE s.id IN :studentIds
+		""")
+	List<RosterEntry> findAttendanceRosterEntries(Collection<Long> studentIds);
+
 }
@@ -0,0 +1,31 @@
+package com.eduride.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.eduride.dto.AttendanceArchiveRow;
+import com.eduride.entity.StudentStatusMonth;
+
+public interface StudentStatusMonthRepository
+        extends JpaRepository<StudentStatusMonth, Long>, StudentStatusMonthRepositoryCustom {
+
+    // At most twelve rows per student per year
+    List<StudentStatusMonth> findByStudentIdOrderByMonth(Long studentId);
+
+    // Attendance export: one archived month of a school, in student order for the merge with student_status
+    @Query("""
+            SELECT new com.eduride.dto.AttendanceArchiveRow(
+                m.month, s.id, s.rollNo, s.name, s.className, b.busNumber, m.statuses)
+            FROM StudentStatusMonth m
+            JOIN m.student s
+            LEFT JOIN s.assignedBus b
+            WHERE s.school.id = :schoolId
+              AND m.month = :month
+            ORDER BY s.id
+        """)
+    List<AttendanceArchiveRow> findSchoolMonth(@Param("schoolId") Long schoolId, @Param("month") LocalDate month);
+}
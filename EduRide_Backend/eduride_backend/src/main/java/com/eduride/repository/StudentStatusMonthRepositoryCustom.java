@@ -0,0 +1,27 @@
+package com.eduride.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * JDBC-level compaction of student_status rows into student_status_month.
+ */
+public interface StudentStatusMonthRepositoryCustom {
+
+    /** Rows moved into the archive, and rows left in student_status because their status has no code. */
+    record Compacted(int archived, int kept) {
+    }
+
+    /**
+     * Students with student_status rows in the month, after {@code afterStudentId}
+     * in id order – the compaction job's keyset over one month.
+     */
+    List<Long> findStudentsWithStatuses(LocalDate month, long afterStudentId, int limit);
+
+    /**
+     * Locks the students' rows for the month, merges them into their archive
+     * rows (student_status wins over an earlier archive) and deletes them.
+     */
+    Compacted compact(LocalDate month, Collection<Long> studentIds);
+}
@@ -0,0 +1,114 @@
+package com.eduride.repository;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.eduride.attendance.AttendanceMonthCodec;
+
+/**
+ * Spring Data fragment backing {@link StudentStatusMonthRepositoryCustom}.
+ * Runs on the surrounding transaction's connection, so the archive write and
+ * the delete from student_status commit together.
+ */
+public class StudentStatusMonthRepositoryImpl implements StudentStatusMonthRepositoryCustom {
+
+    private static final String STUDENTS_SQL = """
+            SELECT DISTINCT student_id
+            FROM student_status
+            WHERE date >= ? AND date < ? AND student_id > ?
+            ORDER BY student_id
+            LIMIT ?
+            """;
+
+    private static final String LOCK_STATUSES_SQL = """
+            SELECT id, student_id, date, pickup_status
+            FROM student_status
+            WHERE date >= ? AND date < ? AND student_id IN (%s)
+            FOR UPDATE
+            """;
+
+    private static final String LOCK_ARCHIVE_SQL = """
+            SELECT student_id, statuses
+            FROM student_status_month
+            WHERE month = ? AND student_id IN (%s)
+            FOR UPDATE
+            """;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_status_month (student_id, month, statuses)
+            VALUES (?, ?, ?)
+            ON DUPLICATE KEY UPDATE statuses = VALUES(statuses)
+            """;
+
+    private static final String DELETE_SQL = "DELETE FROM student_status WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public StudentStatusMonthRepositoryImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Long> findStudentsWithStatuses(LocalDate month, long afterStudentId, int limit) {
+        return jdbcTemplate.queryForList(STUDENTS_SQL, Long.class,
+                Date.valueOf(month), Date.valueOf(month.plusMonths(1)), afterStudentId, limit);
+    }
+
+    @Override
+    public Compacted compact(LocalDate month, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return new Compacted(0, 0);
+        }
+        String placeholders = String.join(",", Collections.nCopies(studentIds.size(), "?"));
+
+        // existing archive rows first: a month compacted before may have had late writes since
+        List<Object> archiveArgs = new ArrayList<>(studentIds.size() + 1);
+        archiveArgs.add(Date.valueOf(month));
+        archiveArgs.addAll(studentIds);
+        Map<Long, String[]> byStudent = new TreeMap<>();
+        jdbcTemplate.query(LOCK_ARCHIVE_SQL.formatted(placeholders),
+                (RowCallbackHandler) rs -> byStudent.put(rs.getLong(1), AttendanceMonthCodec.decode(rs.getBytes(2))),
+                archiveArgs.toArray());
+
+        List<Object> statusArgs = new ArrayList<>(studentIds.size() + 2);
+        statusArgs.add(Date.valueOf(month));
+        statusArgs.add(Date.valueOf(month.plusMonths(1)));
+        statusArgs.addAll(studentIds);
+        List<Long> archivedIds = new ArrayList<>();
+        int[] kept = {0};
+        jdbcTemplate.query(LOCK_STATUSES_SQL.formatted(placeholders), (RowCallbackHandler) rs -> {
+            String status = rs.getString(4);
+            if (!AttendanceMonthCodec.isEncodable(status)) {
+                kept[0]++; // stays in student_status, reads still see it
+                return;
+            }
+            int day = rs.getDate(3).toLocalDate().getDayOfMonth();
+            byStudent.computeIfAbsent(rs.getLong(2), id -> new String[31])[day - 1] = status;
+            archivedIds.add(rs.getLong(1));
+        }, statusArgs.toArray());
+
+        if (archivedIds.isEmpty()) {
+            return new Compacted(0, kept[0]);
+        }
+
+        List<Map.Entry<Long, String[]>> months = new ArrayList<>(byStudent.entrySet());
+        jdbcTemplate.batchUpdate(UPSERT_SQL, months, months.size(), (ps, entry) -> {
+            ps.setLong(1, entry.getKey());
+            ps.setDate(2, Date.valueOf(month));
+            ps.setBytes(3, AttendanceMonthCodec.encode(entry.getValue()));
+        });
+        jdbcTemplate.batchUpdate(DELETE_SQL, archivedIds, archivedIds.size(),
+                (ps, id) -> ps.setLong(1, id));
+
+        return new Compacted(archivedIds.size(), kept[0]);
+    }
+}
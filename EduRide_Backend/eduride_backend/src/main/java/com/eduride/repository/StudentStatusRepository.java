@@ -1,19 +1,40 @@
 package com.eduride.repository;
 
+import com.eduride.attendance.StoredStatus;
+import com.eduride.dto.HelperStudentStatusDTO;
 import com.eduride.entity.StudentStatus;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
-public interface StudentStatusRepository extends JpaRepository<StudentStatus, Long> {
+public interface StudentStatusRepository extends JpaRepository<StudentStatus, Long>, KeysetRepository<StudentStatus>, StudentStatusRepositoryCustom {
 
+    @EntityGraph(StudentStatus.WITH_DETAILS)
     List<StudentStatus> findByStudentId(Long studentId);
 
     // Recommended: find today's status efficiently
+    @EntityGraph(StudentStatus.WITH_UPDATED_BY)
     Optional<StudentStatus> findByStudentIdAndDate(Long studentId, LocalDate date);
+
+    @EntityGraph(StudentStatus.WITH_DETAILS)
+    Optional<StudentStatus> findWithDetailsByStudentIdAndDate(Long studentId, LocalDate date);
+
+    @EntityGraph(StudentStatus.WITH_DETAILS)
+    Optional<StudentStatus> findWithDetailsById(Long id);
+
+    @Override
+    @EntityGraph(StudentStatus.WITH_DETAILS)
+    Window<StudentStatus> findBy(ScrollPosition position, Sort sort, Limit limit);
     
     long countByStudent_School_IdAndDate(Long schoolId, LocalDate date);
 
@@ -23,6 +44,7 @@ public interface StudentStatusRepository extends JpaRepository<StudentStatus, Lo
 
 	long countByStudentSchoolIdAndDate(Long schoolId, LocalDate today);
 
+	@EntityGraph(StudentStatus.WITH_STUDENT)
 	List<StudentStatus> findByStudentSchoolIdAndDate(Long schoolId, LocalDate date);
 
 	int countByStudent_AssignedBus_IdAndDateAndPickupStatus(Long busId,LocalDate date,String pickupStatus);
@@ -35,7 +57,29 @@ public interface StudentStatusRepository extends JpaRepository<StudentStatus, Lo
 	          AND ss.pickupStatus = :status
 	    """)
 	    int countByBusAndStatus(Long busId, String status);
-	
-	
 
+	// Helper roster: every student on the bus with the day's status, in one query
+	@Query("""
+	        SELECT new com.eduride.dto.HelperStudentStatusDTO(
+	            s.id, s.id, s.name, s.rollNo, s.className, s.phone,
+	            b.busNumber, s.email, COALESCE(ss.pickupStatus, 'PENDING'))
+	        FROM Student s
+	        JOIN s.assignedBus b
+	        LEFT JOIN StudentStatus ss ON ss.student = s AND ss.date = :date
+	        WHERE b.id = :busId
+	        ORDER BY s.id
+	    """)
+	List<HelperStudentStatusDTO> findRosterByBusAndDate(Long busId, LocalDate date);
+
+	// Attendance engine rebuild: the day's persisted statuses only
+	@Query("""
+	        SELECT new com.eduride.attendance.StoredStatus(ss.student.id, ss.pickupStatus)
+	        FROM StudentStatus ss
+	        WHERE ss.date = :date
+	    """)
+	List<StoredStatus> findStoredStatuses(LocalDate date);
+
+	// Archive compaction: where the oldest month still in student_status starts
+	@Query("SELECT MIN(ss.date) FROM StudentStatus ss WHERE ss.date < :before")
+	Optional<LocalDate> findOldestDateBefore(@Param("before") LocalDate before);
 }
\ No newline at end of file
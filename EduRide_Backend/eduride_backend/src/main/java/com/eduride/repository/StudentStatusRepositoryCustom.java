@@ -0,0 +1,68 @@
+package com.eduride.repository;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.eduride.dto.AttendanceExportRow;
+
+/**
+ * JDBC-level paths for student_status that Spring Data cannot express: the
+ * write paths, and the export stream with a fetch size of its own.
+ */
+public interface StudentStatusRepositoryCustom {
+
+    record StatusUpsert(
+            Long studentId,
+            LocalDate date,
+            String pickupStatus,
+            Long updatedBy
+    ) {}
+
+    /** A student's school, current bus and status for the day (null when no row yet). */
+    record LockedStatus(
+            Long studentId,
+            Long schoolId,
+            Long busId,
+            String pickupStatus
+    ) {}
+
+    /**
+     * Insert-or-update every row in one JDBC batch, keyed on (student_id, date).
+     */
+    void upsertAll(List<StatusUpsert> rows);
+
+    /**
+     * Single-statement, race-free insert-or-update of one student's status for a day.
+     */
+    void upsert(StatusUpsert row);
+
+    /**
+     * Locks the students' rows and reads their current status for the day, so
+     * the caller can compute status transitions before it upserts. The caller's
+     * transaction must be READ COMMITTED for the read to be current.
+     */
+    List<LockedStatus> lockStatuses(LocalDate date, Collection<Long> studentIds);
+
+    /**
+     * Deletes the students' rows for the day; returns the rows deleted. Call it
+     * after {@link #lockStatuses} in the same transaction, like the upserts.
+     */
+    int deleteStatuses(LocalDate date, Collection<Long> studentIds);
+
+    /**
+     * PENDING rows to seed for the day: a school's riders (assigned bus, ACTIVE
+     * pass) after {@code afterStudentId} that have no row yet, in id order.
+     * Nobody wrote them, so their updatedBy is null.
+     */
+    List<StatusUpsert> findPendingToSeed(LocalDate date, Long schoolId, long afterStudentId, int limit);
+
+    /**
+     * Attendance export: a school's rows for [from, to] in (date, student) order,
+     * forward-only, streamed from the driver. The caller must consume and close
+     * the stream inside a read-only transaction, and run no other statement on
+     * the connection while it is open.
+     */
+    Stream<AttendanceExportRow> streamSchoolAttendance(Long schoolId, LocalDate from, LocalDate to);
+}
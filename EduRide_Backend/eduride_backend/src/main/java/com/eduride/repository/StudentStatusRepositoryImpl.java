@@ -0,0 +1,180 @@
+package com.eduride.repository;
+
+import java.sql.Date;
+import java.sql.Types;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import com.eduride.dto.AttendanceExportRow;
+
+/**
+ * Spring Data fragment backing {@link StudentStatusRepositoryCustom}.
+ * Runs on the JPA transaction's connection, so it commits or rolls back with it.
+ */
+public class StudentStatusRepositoryImpl implements StudentStatusRepositoryCustom {
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO student_status (student_id, date, pickup_status, updated_by)
+            VALUES (?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                pickup_status = VALUES(pickup_status),
+                updated_by = VALUES(updated_by)
+            """;
+
+    // The student row is the lock: it exists even before the day's status row does
+    private static final String LOCK_STUDENTS_SQL = """
+            SELECT id, school_id, assigned_bus_id
+            FROM student
+            WHERE id IN (%s)
+            ORDER BY id
+            FOR UPDATE
+            """;
+
+    // Plain read: the student locks already keep other writers off these rows, and at
+    // READ COMMITTED (AttendanceCounterService) it sees every write committed before them.
+    // A locking read would gap-lock the not-yet-inserted rows of the unique key.
+    private static final String CURRENT_STATUS_SQL = """
+            SELECT student_id, pickup_status
+            FROM student_status
+            WHERE date = ? AND student_id IN (%s)
+            """;
+
+    private static final String DELETE_STATUSES_SQL = """
+            DELETE FROM student_status
+            WHERE date = ? AND student_id IN (%s)
+            """;
+
+    // Anti-join on the (student_id, date) unique key
+    private static final String PENDING_TO_SEED_SQL = """
+            SELECT s.id
+            FROM student s
+            WHERE s.school_id = ? AND s.id > ?
+              AND s.assigned_bus_id IS NOT NULL
+              AND s.pass_status = 'ACTIVE'
+              AND NOT EXISTS (SELECT 1 FROM student_status ss WHERE ss.student_id = s.id AND ss.date = ?)
+            ORDER BY s.id
+            LIMIT ?
+            """;
+
+    private static final String SCHOOL_ATTENDANCE_SQL = """
+            SELECT ss.date, s.id, s.roll_no, u.name, s.class_name, b.bus_number, ss.pickup_status
+            FROM student_status ss
+            JOIN student s ON s.id = ss.student_id
+            JOIN users u ON u.id = s.id
+            LEFT JOIN bus b ON b.id = s.assigned_bus_id
+            WHERE s.school_id = ? AND ss.date BETWEEN ? AND ?
+            ORDER BY ss.date, s.id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate exportJdbcTemplate;
+
+    public StudentStatusRepositoryImpl(
+            JdbcTemplate jdbcTemplate,
+            @Value("${eduride.attendance.export.fetch-size:-2147483648}") int exportFetchSize
+    ) {
+        this.jdbcTemplate = jdbcTemplate;
+
+        // Only the export's statements get this fetch size; Integer.MIN_VALUE makes
+        // Connector/J stream the result row by row instead of buffering all of it
+        this.exportJdbcTemplate = new JdbcTemplate(jdbcTemplate.getDataSource());
+        this.exportJdbcTemplate.setFetchSize(exportFetchSize);
+    }
+
+    @Override
+    public void upsert(StatusUpsert row) {
+        // atomic on (student_id, date) – concurrent taps can never create a second row
+        jdbcTemplate.update(UPSERT_SQL,
+                row.studentId(),
+                Date.valueOf(row.date()),
+                row.pickupStatus(),
+                row.updatedBy());
+    }
+
+    @Override
+    public void upsertAll(List<StatusUpsert> rows) {
+        // with rewriteBatchedStatements=true the driver sends this as one multi-row statement
+        jdbcTemplate.batchUpdate(UPSERT_SQL, rows, rows.size(), (ps, row) -> {
+            ps.setLong(1, row.studentId());
+            ps.setDate(2, Date.valueOf(row.date()));
+            ps.setString(3, row.pickupStatus());
+            ps.setObject(4, row.updatedBy(), Types.BIGINT); // null for system writes
+        });
+    }
+
+    @Override
+    public List<LockedStatus> lockStatuses(LocalDate date, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return List.of();
+        }
+        String placeholders = String.join(",", Collections.nCopies(studentIds.size(), "?"));
+
+        List<LockedStatus> students = jdbcTemplate.query(LOCK_STUDENTS_SQL.formatted(placeholders),
+                (rs, rowNum) -> new LockedStatus(
+                        rs.getLong(1),
+                        rs.getObject(2, Long.class),
+                        rs.getObject(3, Long.class),
+                        null),
+                studentIds.toArray());
+
+        List<Object> args = new ArrayList<>(studentIds.size() + 1);
+        args.add(Date.valueOf(date));
+        args.addAll(studentIds);
+        Map<Long, String> statuses = new HashMap<>();
+        jdbcTemplate.query(CURRENT_STATUS_SQL.formatted(placeholders),
+                (RowCallbackHandler) rs -> statuses.put(rs.getLong(1), rs.getString(2)),
+                args.toArray());
+
+        return students.stream()
+                .map(student -> new LockedStatus(
+                        student.studentId(),
+                        student.schoolId(),
+                        student.busId(),
+                        statuses.get(student.studentId())))
+                .toList();
+    }
+
+    @Override
+    public int deleteStatuses(LocalDate date, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+        String placeholders = String.join(",", Collections.nCopies(studentIds.size(), "?"));
+
+        List<Object> args = new ArrayList<>(studentIds.size() + 1);
+        args.add(Date.valueOf(date));
+        args.addAll(studentIds);
+        return jdbcTemplate.update(DELETE_STATUSES_SQL.formatted(placeholders), args.toArray());
+    }
+
+    @Override
+    public List<StatusUpsert> findPendingToSeed(LocalDate date, Long schoolId, long afterStudentId, int limit) {
+        return jdbcTemplate.query(PENDING_TO_SEED_SQL,
+                (rs, rowNum) -> new StatusUpsert(rs.getLong(1), date, "PENDING", null),
+                schoolId, afterStudentId, Date.valueOf(date), limit);
+    }
+
+    @Override
+    public Stream<AttendanceExportRow> streamSchoolAttendance(Long schoolId, LocalDate from, LocalDate to) {
+        return exportJdbcTemplate.queryForStream(SCHOOL_ATTENDANCE_SQL,
+                (rs, rowNum) -> new AttendanceExportRow(
+                        rs.getDate(1).toLocalDate(),
+                        rs.getLong(2),
+                        rs.getString(3),
+                        rs.getString(4),
+                        rs.getString(5),
+                        rs.getString(6),
+                        rs.getString(7)),
+                schoolId, Date.valueOf(from), Date.valueOf(to));
+    }
+}
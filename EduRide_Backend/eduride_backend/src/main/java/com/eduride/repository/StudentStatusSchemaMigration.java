@@ -0,0 +1,54 @@
+package com.eduride.repository;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Drops NOT NULL from student_status.updated_by before the first write.
+ *
+ * Rows the system writes (the nightly PENDING seed) have no author, so the
+ * column is nullable. Schema update only adds columns and never relaxes an
+ * existing one; databases created while it was NOT NULL are altered here.
+ * The foreign key is left as it is.
+ */
+@Component
+public class StudentStatusSchemaMigration {
+
+    private static final Logger log = LoggerFactory.getLogger(StudentStatusSchemaMigration.class);
+
+    private static final String TABLE = "student_status";
+    private static final String COLUMN = "updated_by";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // the EntityManagerFactory dependency makes sure schema update has created the table
+    public StudentStatusSchemaMigration(JdbcTemplate jdbcTemplate, EntityManagerFactory entityManagerFactory) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @PostConstruct
+    public void migrate() {
+        if (isNotNull()) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " MODIFY COLUMN " + COLUMN + " BIGINT NULL");
+            log.info("Made {}.{} nullable for system-written rows", TABLE, COLUMN);
+        }
+    }
+
+    boolean isNotNull() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            DatabaseMetaData metaData = connection.getMetaData();
+            try (ResultSet column = metaData.getColumns(connection.getCatalog(), null, TABLE, COLUMN)) {
+                return column.next() && column.getInt("NULLABLE") == DatabaseMetaData.columnNoNulls;
+            }
+        }));
+    }
+}
@@ -1,12 +1,54 @@
 package com.eduride.repository;
 
+import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import com.eduride.dto.UserIdentityView;
 import com.eduride.entity.User;
 
 public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByEmail(String email);
+
+    // One round trip for role, credentials and tenant ids – the subtype tables
+    // are LEFT JOINed and only the row matching the user's role is non-null
+    @Query(value = """
+            SELECT u.id AS id, u.email AS email, u.password AS password, u.name AS name,
+                   u.role AS role, u.active AS active, u.token_version AS tokenVersion,
+                   COALESCE(a.id, d.agency_id, sc.agency_id, st_school.agency_id, h_school.agency_id) AS agencyId,
+                   COALESCE(sc.id, st.school_id, h.school_id, d_bus.school_id) AS schoolId,
+                   COALESCE(st.assigned_bus_id, h.assigned_bus_id, d_bus.id) AS busId
+            FROM users u
+            LEFT JOIN agency a ON a.id = u.id
+            LEFT JOIN school sc ON sc.id = u.id
+            LEFT JOIN driver d ON d.id = u.id
+            LEFT JOIN bus d_bus ON d_bus.driver_id = d.id
+            LEFT JOIN student st ON st.id = u.id
+            LEFT JOIN school st_school ON st_school.id = st.school_id
+            LEFT JOIN bus_helper h ON h.id = u.id
+            LEFT JOIN school h_school ON h_school.id = h.school_id
+            WHERE u.email = :email
+        """, nativeQuery = true)
+    Optional<UserIdentityView> findIdentityByEmail(@Param("email") String email);
+
+    @Modifying
+    @Query(value = """
+            UPDATE users
+            SET token_version = token_version + 1
+            WHERE id IN (SELECT st.id FROM student st WHERE st.school_id = :schoolId)
+               OR id IN (SELECT h.id FROM bus_helper h WHERE h.school_id = :schoolId)
+        """, nativeQuery = true)
+    int incrementTokenVersionForSchoolMembers(@Param("schoolId") Long schoolId);
+
+    @Query(value = """
+            SELECT u.email FROM users u
+            WHERE u.id IN (SELECT st.id FROM student st WHERE st.school_id = :schoolId)
+               OR u.id IN (SELECT h.id FROM bus_helper h WHERE h.school_id = :schoolId)
+        """, nativeQuery = true)
+    List<String> findSchoolMemberEmails(@Param("schoolId") Long schoolId);
 }
@@ -0,0 +1,70 @@
+package com.eduride.security;
+
+import java.util.Collection;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.userdetails.User;
+
+import com.eduride.entity.Role;
+
+/**
+ * Spring Security principal that also carries the user's identity and
+ * tenant ids, so login can issue a token and JwtFilter can reject tokens
+ * issued before a revocation without any further lookups.
+ */
+public class EduRideUserDetails extends User {
+
+    private final Long userId;
+    private final String name;
+    private final Role role;
+    private final Long agencyId;
+    private final Long schoolId;
+    private final Long busId;
+    private final int tokenVersion;
+
+    public EduRideUserDetails(
+            Long userId,
+            String email,
+            String password,
+            String name,
+            Role role,
+            boolean enabled,
+            Long agencyId,
+            Long schoolId,
+            Long busId,
+            int tokenVersion,
+            Collection<? extends GrantedAuthority> authorities
+    ) {
+        super(email, password, enabled, true, true, true, authorities);
+        this.userId = userId;
+        this.name = name;
+        this.role = role;
+        this.agencyId = agencyId;
+        this.schoolId = schoolId;
+        this.busId = busId;
+        this.tokenVersion = tokenVersion;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public Role getRole() {
+        return role;
+    }
+
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    /**
+     * Tenant scope to embed in a freshly issued token.
+     */
+    public TenantContext toTenant() {
+        return new TenantContext(userId, getUsername(), role, agencyId, schoolId, busId, tokenVersion);
+    }
+}
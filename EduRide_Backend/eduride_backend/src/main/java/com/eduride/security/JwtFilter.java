@@ -4,25 +4,38 @@ import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetails;
-import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import com.eduride.monitoring.HotPathMetrics;
 import com.eduride.service.CustomUserDetailsService;
+
+import io.micrometer.core.instrument.Timer;
+
 import java.io.IOException;
 
 @Component
 public class JwtFilter extends OncePerRequestFilter {
 
+    private static final Logger log = LoggerFactory.getLogger(JwtFilter.class);
+
     @Autowired
     private JwtUtil jwtUtil;
 
     @Autowired
     private CustomUserDetailsService userDetailsService;
 
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private HotPathMetrics metrics;
+
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
             throws ServletException, IOException {
@@ -37,21 +50,47 @@ public class JwtFilter extends OncePerRequestFilter {
         if (authHeader != null && authHeader.startsWith("Bearer ")) {
             String token = authHeader.substring(7);
             try {
-                if (jwtUtil.isTokenValid(token)) {
-                    String username = jwtUtil.extractUsername(token);
-                    UserDetails userDetails = userDetailsService.loadUserByUsername(username);
+                TenantContext tenant = verify(token);
+                UserDetails userDetails = principalCache.get(tenant.email(), userDetailsService::loadUserByUsername);
+
+                // Deactivated accounts and revoked (older-version) tokens keep a valid
+                // signature until expiry – reject them here
+                if (userDetails.isEnabled() && isCurrent(tenant, userDetails)) {
                     UsernamePasswordAuthenticationToken auth = new UsernamePasswordAuthenticationToken(
                             userDetails, null, userDetails.getAuthorities());
-                    auth.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+                    auth.setDetails(tenant);
                     SecurityContextHolder.getContext().setAuthentication(auth);
                 }
             } catch (Exception e) {
-                System.err.println("JWT Validation Error: " + e.getMessage());
+                log.debug("JWT validation error: {}", e.getMessage());
             }
         }
         chain.doFilter(request, response);
     }
 
+    // One verification per token – repeat requests hit VerifiedTokenCache
+    private TenantContext verify(String token) {
+        Timer.Sample sample = metrics.start();
+        TenantContext tenant = null;
+        try {
+            tenant = jwtUtil.verify(token);
+            return tenant;
+        } finally {
+            if (tenant == null) {
+                metrics.stop(sample, HotPathMetrics.JWT_VERIFICATION, "invalid", null, null);
+            } else {
+                metrics.stop(sample, HotPathMetrics.JWT_VERIFICATION, HotPathMetrics.SUCCESS,
+                        tenant.role(), tenant.agencyId());
+            }
+        }
+    }
+
+    private boolean isCurrent(TenantContext tenant, UserDetails userDetails) {
+        return userDetails instanceof EduRideUserDetails principal
+                && principal.getUserId().equals(tenant.userId())
+                && principal.getTokenVersion() == tenant.tokenVersion();
+    }
+
     private boolean isPublicPath(String path) {
         return path.startsWith("/api/auth/") ||
                path.endsWith("/signup") ||
@@ -1,11 +1,16 @@
 package com.eduride.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Component;
 
+import com.eduride.entity.Role;
+import com.eduride.security.VerifiedTokenCache.VerifiedToken;
+
 import javax.crypto.SecretKey;
 import java.util.Date;
 
@@ -17,15 +22,40 @@ public class JwtUtil {
     private static final String SECRET_KEY_STRING = "your-super-secure-secret-key-32-chars-minimum-eduride-2025-secure";
     private static final SecretKey SECRET_KEY = Keys.hmacShaKeyFor(SECRET_KEY_STRING.getBytes());
 
+    // Built once – the parser is immutable and thread-safe
+    private static final JwtParser PARSER = Jwts.parserBuilder()
+            .setSigningKey(SECRET_KEY)
+            .build();
+
     private static final long EXPIRATION_TIME = 1000 * 60 * 60 * 24; // 24 hours (better UX than 30 min)
 
+    // Tenant claims – kept short, they travel with every request
+    private static final String CLAIM_ROLE = "role";
+    private static final String CLAIM_USER_ID = "uid";
+    private static final String CLAIM_AGENCY_ID = "aid";
+    private static final String CLAIM_SCHOOL_ID = "sid";
+    private static final String CLAIM_BUS_ID = "bid";
+    private static final String CLAIM_VERSION = "ver";
+
+    private final VerifiedTokenCache verifiedTokens;
+
+    public JwtUtil(VerifiedTokenCache verifiedTokens) {
+        this.verifiedTokens = verifiedTokens;
+    }
+
     /**
-     * Generate JWT token with username and role (with ROLE_ prefix)
+     * Generate JWT token carrying the caller's tenant scope
+     * (role with ROLE_ prefix, user / agency / school / bus ids, token version)
      */
-    public String generateToken(String username, String roleWithPrefix) {
+    public String generateToken(TenantContext tenant) {
         return Jwts.builder()
-                .setSubject(username)
-                .claim("role", roleWithPrefix)  // Stored as "ROLE_SCHOOL", "ROLE_AGENCY", etc.
+                .setSubject(tenant.email())
+                .claim(CLAIM_ROLE, "ROLE_" + tenant.role().name())  // Stored as "ROLE_SCHOOL", "ROLE_AGENCY", etc.
+                .claim(CLAIM_USER_ID, tenant.userId())
+                .claim(CLAIM_AGENCY_ID, tenant.agencyId())
+                .claim(CLAIM_SCHOOL_ID, tenant.schoolId())
+                .claim(CLAIM_BUS_ID, tenant.busId())
+                .claim(CLAIM_VERSION, tenant.tokenVersion())
                 .setIssuedAt(new Date())
                 .setExpiration(new Date(System.currentTimeMillis() + EXPIRATION_TIME))
                 .signWith(SECRET_KEY, SignatureAlgorithm.HS256)
@@ -33,37 +63,39 @@ public class JwtUtil {
     }
 
     /**
-     * Extract username (subject) from token
+     * Verify a token (signature + expiration) and return its tenant scope.
+     * Already-verified tokens are served from VerifiedTokenCache, so a token
+     * is parsed at most once until it expires or is evicted.
+     *
+     * @throws JwtException if the token is invalid, expired or has no tenant claims
      */
-    public String extractUsername(String token) {
-        return extractAllClaims(token).getSubject();
+    public TenantContext verify(String token) {
+        return verifiedTokens.get(token, JwtUtil::parse);
     }
 
-    /**
-     * Extract role from token (returns "ROLE_XXX" or null)
-     */
-    public String extractRole(String token) {
-        return extractAllClaims(token).get("role", String.class);
-    }
+    private static VerifiedToken parse(String token) {
+        Claims claims = extractAllClaims(token);
 
-    /**
-     * Validate token (signature + expiration)
-     */
-    public boolean isTokenValid(String token) {
-        try {
-            extractAllClaims(token);
-            return true;
-        } catch (Exception e) {
-            System.out.println("DEBUG: JWT validation failed - " + e.getMessage());
-            return false;
+        Long userId = claims.get(CLAIM_USER_ID, Long.class);
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (userId == null || version == null || role == null) {
+            throw new JwtException("Token has no tenant claims");
         }
+
+        TenantContext tenant = new TenantContext(
+                userId,
+                claims.getSubject(),
+                Role.valueOf(role.replace("ROLE_", "")),
+                claims.get(CLAIM_AGENCY_ID, Long.class),
+                claims.get(CLAIM_SCHOOL_ID, Long.class),
+                claims.get(CLAIM_BUS_ID, Long.class),
+                version
+        );
+        return new VerifiedToken(tenant, claims.getExpiration().getTime());
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(SECRET_KEY)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+    private static Claims extractAllClaims(String token) {
+        return PARSER.parseClaimsJws(token).getBody();
     }
 }
\ No newline at end of file
@@ -1,6 +1,7 @@
 package com.eduride.security;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -13,11 +14,24 @@ import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.access.expression.WebExpressionAuthorizationManager;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.DispatcherTypeRequestMatcher;
+import org.springframework.security.web.util.matcher.OrRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
 
+import com.eduride.paging.CursorPage;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.DispatcherType;
+
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.List;
 
 @Configuration
@@ -52,7 +66,16 @@ public class SecurityConfig {
 
                 // 1️⃣ PREFLIGHT & SWAGGER
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // async re-dispatch of an already-authorised SSE stream or export download
+                .requestMatchers(asyncDispatchOf(
+                        "/api/student-status/stream/**",
+                        "/api/student-status/school/*/export"))
+                .permitAll()
                 .requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll()
+                .requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+                // Prometheus scrape: no token, but only from a scraper on this host
+                .requestMatchers(HttpMethod.GET, "/actuator/prometheus")
+                .access(new WebExpressionAuthorizationManager("hasIpAddress('127.0.0.1') or hasIpAddress('::1')"))
 
                 // 2️⃣ AUTH & SIGNUP
                 .requestMatchers("/api/auth/**").permitAll()
@@ -140,6 +163,10 @@ public class SecurityConfig {
              .requestMatchers(HttpMethod.POST, "/api/helpers/student-status")
              .hasRole("HELPER")
 
+             // Helper: mark a whole bus in one request
+             .requestMatchers(HttpMethod.POST, "/api/helpers/student-status/batch")
+             .hasRole("HELPER")
+
              // Edit helper (School / Agency)
              .requestMatchers(HttpMethod.GET, "/api/helpers/*/edit")
              .hasAnyRole("SCHOOL", "AGENCY")
@@ -210,6 +237,19 @@ public class SecurityConfig {
         return http.build();
     }
 
+    // The request already passed the rules above on its REQUEST dispatch;
+    // any other path that comes back on an ASYNC dispatch is checked again
+    private static RequestMatcher asyncDispatchOf(String... patterns) {
+        List<RequestMatcher> paths = new ArrayList<>();
+        for (String pattern : patterns) {
+            paths.add(PathPatternRequestMatcher.withDefaults().matcher(pattern));
+        }
+        return new AndRequestMatcher(
+                new DispatcherTypeRequestMatcher(DispatcherType.ASYNC),
+                new OrRequestMatcher(paths)
+        );
+    }
+
     // ─────────────────────────────────────────────
     // CORS CONFIG
     // ─────────────────────────────────────────────
@@ -219,6 +259,7 @@ public class SecurityConfig {
         config.setAllowedOrigins(List.of("http://localhost:5173"));
         config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "OPTIONS"));
         config.setAllowedHeaders(List.of("*"));
+        config.setExposedHeaders(List.of(CursorPage.NEXT_CURSOR_HEADER));
         config.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -229,9 +270,25 @@ public class SecurityConfig {
     // ─────────────────────────────────────────────
     // PASSWORD ENCODER
     // ─────────────────────────────────────────────
+    // BCrypt runs on a bounded pool so login / signup bursts cannot
+    // take over every request thread (see BoundedPasswordEncoder)
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder(12);
+    public PasswordEncoder passwordEncoder(
+            MeterRegistry meterRegistry,
+            @Value("${eduride.security.password-hashing.threads:0}") int threads,
+            @Value("${eduride.security.password-hashing.queue-capacity:32}") int queueCapacity,
+            @Value("${eduride.security.password-hashing.max-wait:2s}") Duration maxWait,
+            @Value("${eduride.security.password-hashing.retry-after:2s}") Duration retryAfter
+    ) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new BoundedPasswordEncoder(
+                new BCryptPasswordEncoder(12),
+                poolSize,
+                queueCapacity,
+                maxWait,
+                retryAfter,
+                meterRegistry
+        );
     }
 
     // ─────────────────────────────────────────────
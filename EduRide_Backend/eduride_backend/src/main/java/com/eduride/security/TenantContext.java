@@ -0,0 +1,42 @@
+package com.eduride.security;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.eduride.entity.Role;
+
+/**
+ * Tenant scope of the caller, carried in the JWT and rebuilt by JwtFilter
+ * for every request. Services read ids from here instead of re-resolving
+ * the logged-in user by email.
+ *
+ * agencyId / schoolId / busId are null when they do not apply to the role
+ * (e.g. an agency has no school, a school may not have an agency yet).
+ */
+public record TenantContext(
+        Long userId,
+        String email,
+        Role role,
+        Long agencyId,
+        Long schoolId,
+        Long busId,
+        int tokenVersion
+) {
+
+    /**
+     * Tenant of the current request. Only available behind JwtFilter.
+     */
+    public static TenantContext current() {
+        Authentication auth = SecurityContextHolder.getContext().getAuthentication();
+        if (auth != null && auth.getDetails() instanceof TenantContext tenant) {
+            return tenant;
+        }
+        throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "No authenticated tenant");
+    }
+
+    public boolean is(Role expected) {
+        return role == expected;
+    }
+}
@@ -0,0 +1,74 @@
+package com.eduride.security;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Bounded, TTL-evicting cache of authenticated principals keyed by email.
+ *
+ * JwtFilter resolves the principal for every authenticated request; without
+ * this cache each call hits the JOINED users hierarchy. Entries are evicted
+ * explicitly whenever a user's credentials, email or account state change.
+ *
+ * Inside a transaction an eviction is repeated after commit: a concurrent
+ * request may have re-cached the old principal before the change was visible.
+ */
+@Component
+public class UserPrincipalCache {
+
+    private final Cache<String, UserDetails> cache;
+
+    public UserPrincipalCache(
+            MeterRegistry meterRegistry,
+            @Value("${eduride.security.principal-cache.max-size:10000}") long maxSize,
+            @Value("${eduride.security.principal-cache.ttl:5m}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        // hit / miss / eviction counts under cache.* with cache=userPrincipals
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "userPrincipals");
+    }
+
+    public UserDetails get(String email, Function<String, UserDetails> loader) {
+        return cache.get(email, loader);
+    }
+
+    public void evict(String email) {
+        if (email != null) {
+            cache.invalidate(email);
+            afterCommit(() -> cache.invalidate(email));
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+        afterCommit(cache::invalidateAll);
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.eduride.service;
+
+import java.time.Duration;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.eduride.dto.dashboard.AgencyDashboardSummaryDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Short-lived cache of the agency dashboard summary keyed by agency id.
+ *
+ * Every agency user refreshing the dashboard would otherwise run the aggregate
+ * query again. Creating or deleting a bus, driver, school or student evicts the
+ * owning agency's entry, so the TTL only bounds staleness from writes that do
+ * not go through those services.
+ */
+@Component
+public class AgencyDashboardCache {
+
+    private final Cache<Long, AgencyDashboardSummaryDTO> cache;
+
+    public AgencyDashboardCache(
+            MeterRegistry meterRegistry,
+            @Value("${eduride.dashboard.agency-cache.max-size:10000}") long maxSize,
+            @Value("${eduride.dashboard.agency-cache.ttl:30s}") Duration ttl
+    ) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "agencyDashboard");
+    }
+
+    public AgencyDashboardSummaryDTO get(Long agencyId, Function<Long, AgencyDashboardSummaryDTO> loader) {
+        return cache.get(agencyId, loader);
+    }
+
+    /**
+     * Evicts now and, inside a transaction, again after commit – a dashboard
+     * read racing the write could otherwise cache the pre-commit counts.
+     */
+    public void evict(Long agencyId) {
+        if (agencyId == null) {
+            return;
+        }
+        cache.invalidate(agencyId);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(agencyId);
+                }
+            });
+        }
+    }
+
+    public void evictAll() {
+        cache.invalidateAll();
+    }
+}
@@ -4,13 +4,11 @@ import com.eduride.dto.dashboard.AgencyDashboardSummaryDTO;
 import com.eduride.entity.Agency;
 import com.eduride.entity.Role;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.monitoring.HotPathMetrics;
 import com.eduride.repository.AgencyRepository;
-import com.eduride.repository.BusRepository;
-import com.eduride.repository.DriverRepository;
-import com.eduride.repository.SchoolRepository;
-import com.eduride.repository.StudentRepository;
+import com.eduride.security.TenantContext;
+import com.eduride.security.UserPrincipalCache;
 
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
@@ -22,25 +20,25 @@ public class AgencyService {
 
     private final AgencyRepository repo;
     private final PasswordEncoder passwordEncoder;
-    private final BusRepository busRepository;
-    private final DriverRepository driverRepository;
-    private final StudentRepository studentRepository;
-    private final SchoolRepository schoolRepository;
+    private final UserPrincipalCache principalCache;
+    private final AgencyDashboardCache dashboardCache;
+    private final HotPathMetrics metrics;
+    private final TokenRevocationService tokenRevocationService;
 
     public AgencyService(
             AgencyRepository repo,
             PasswordEncoder passwordEncoder,
-            BusRepository busRepository,
-            DriverRepository driverRepository,
-            StudentRepository studentRepository,
-            SchoolRepository schoolRepository
+            UserPrincipalCache principalCache,
+            AgencyDashboardCache dashboardCache,
+            HotPathMetrics metrics,
+            TokenRevocationService tokenRevocationService
     ) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
-        this.busRepository = busRepository;
-        this.driverRepository = driverRepository;
-        this.studentRepository = studentRepository;
-        this.schoolRepository = schoolRepository;
+        this.principalCache = principalCache;
+        this.dashboardCache = dashboardCache;
+        this.metrics = metrics;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
     // ────────────────────────────────────────────────
@@ -63,6 +61,8 @@ public class AgencyService {
 
     public Agency update(Long id, Agency updated) {
         Agency existing = findById(id);
+        String previousEmail = existing.getEmail();
+
         existing.setName(updated.getName());
         existing.setPhone(updated.getPhone());
         existing.setEmail(updated.getEmail());
@@ -70,12 +70,19 @@ public class AgencyService {
 
         if (updated.getPassword() != null && !updated.getPassword().isBlank()) {
             existing.setPassword(passwordEncoder.encode(updated.getPassword()));
+            tokenRevocationService.revoke(existing); // signs out every session on the old password
         }
-        return repo.save(existing);
+        Agency saved = repo.save(existing);
+
+        principalCache.evict(previousEmail);
+        principalCache.evict(saved.getEmail());
+        return saved;
     }
 
     public void delete(Long id) {
+        repo.findById(id).ifPresent(agency -> principalCache.evict(agency.getEmail()));
         repo.deleteById(id);
+        dashboardCache.evict(id);
     }
 
     public Optional<Agency> findByEmail(String email) {
@@ -86,27 +93,19 @@ public class AgencyService {
     // NEW: Agency-wide dashboard summary
     // ────────────────────────────────────────────────
     public AgencyDashboardSummaryDTO getAgencyDashboardSummary() {
+        return metrics.time(HotPathMetrics.DASHBOARD_SUMMARY, this::buildDashboardSummary, "dashboard", "agency");
+    }
 
-        // 🔐 Get logged-in agency email
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
-
-        Agency agency = repo.findByEmail(email)
-                .orElseThrow(() -> new ResourceNotFoundException("Agency not found"));
-
-        Long agencyId = agency.getId();
+    private AgencyDashboardSummaryDTO buildDashboardSummary() {
 
-        long totalBuses = busRepository.countByAgencyId(agencyId);
-        long totalDrivers = driverRepository.countByAgencyId(agencyId);
-        long totalStudents = studentRepository.countByAgencyId(agencyId);
-        long totalSchools = schoolRepository.countByAgencyId(agencyId);
+        // 🔐 Logged-in agency id comes straight from the token
+        Long agencyId = TenantContext.current().agencyId();
+        if (agencyId == null) {
+            throw new ResourceNotFoundException("Agency not found");
+        }
 
-        return new AgencyDashboardSummaryDTO(
-                totalBuses,
-                totalDrivers,
-                totalStudents,
-                totalSchools
-        );
+        // 📊 All four counts in one query, cached briefly per agency
+        return dashboardCache.get(agencyId, id -> repo.findDashboardSummary(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Agency not found")));
     }
 }
\ No newline at end of file
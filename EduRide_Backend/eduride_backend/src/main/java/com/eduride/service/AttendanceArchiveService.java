@@ -0,0 +1,92 @@
+package com.eduride.service;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.List;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduride.repository.StudentStatusMonthRepository;
+import com.eduride.repository.StudentStatusMonthRepositoryCustom.Compacted;
+import com.eduride.repository.StudentStatusRepository;
+
+/**
+ * Moves closed months out of student_status into student_status_month.
+ *
+ * A student's month shrinks from up to 31 rows to one row of 12 bytes (see
+ * {@link com.eduride.attendance.AttendanceMonthCodec}). The per-day id and
+ * updated_by are not kept – history reads only need the status. Each chunk of
+ * students is archived and deleted in its own transaction, so the job never
+ * holds locks on a whole month; a late write to an archived month simply lands
+ * in student_status again, wins on read, and is merged by the next run.
+ */
+@Service
+public class AttendanceArchiveService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceArchiveService.class);
+
+    private static final int STUDENTS_PER_CHUNK = 500;
+
+    private final StudentStatusRepository statusRepository;
+    private final StudentStatusMonthRepository archiveRepository;
+    private final TransactionTemplate transactions;
+    private final int hotMonths;
+
+    public AttendanceArchiveService(
+            StudentStatusRepository statusRepository,
+            StudentStatusMonthRepository archiveRepository,
+            PlatformTransactionManager transactionManager,
+            @Value("${eduride.attendance.archive.hot-months:1}") int hotMonths
+    ) {
+        this.statusRepository = statusRepository;
+        this.archiveRepository = archiveRepository;
+        this.transactions = new TransactionTemplate(transactionManager);
+        this.hotMonths = hotMonths;
+    }
+
+    public record Compaction(LocalDate before, int months, int archived, int kept) {
+    }
+
+    /** Archives every month older than the current one and the {@code hot-months} before it. */
+    @Scheduled(cron = "${eduride.attendance.archive.cron:0 30 2 * * *}")
+    public Compaction compactClosedMonths() {
+        return compactBefore(YearMonth.now().minusMonths(hotMonths).atDay(1));
+    }
+
+    /** Archives the student_status rows of every month that starts before {@code before}'s month. */
+    public Compaction compactBefore(LocalDate before) {
+        LocalDate firstHotMonth = before.withDayOfMonth(1);
+        Optional<LocalDate> oldest = statusRepository.findOldestDateBefore(firstHotMonth);
+        if (oldest.isEmpty()) {
+            return new Compaction(firstHotMonth, 0, 0, 0);
+        }
+
+        int months = 0;
+        int archived = 0;
+        int kept = 0;
+        for (LocalDate month = oldest.get().withDayOfMonth(1); month.isBefore(firstHotMonth); month = month.plusMonths(1)) {
+            long after = 0;
+            List<Long> students;
+            while (!(students = archiveRepository.findStudentsWithStatuses(month, after, STUDENTS_PER_CHUNK)).isEmpty()) {
+                LocalDate chunkMonth = month;
+                List<Long> chunk = students;
+                Compacted compacted = transactions.execute(status -> archiveRepository.compact(chunkMonth, chunk));
+                archived += compacted.archived();
+                kept += compacted.kept();
+                after = students.get(students.size() - 1);
+            }
+            months++;
+        }
+
+        log.info("Archived {} student_status rows from {} month(s) before {} ({} without an archive code kept)",
+                archived, months, firstHotMonth, kept);
+        return new Compaction(firstHotMonth, months, archived, kept);
+    }
+}
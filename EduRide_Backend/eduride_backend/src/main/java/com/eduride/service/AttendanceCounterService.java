@@ -0,0 +1,238 @@
+package com.eduride.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.eduride.entity.AttendanceCounter;
+import com.eduride.entity.AttendanceCounterId;
+import com.eduride.entity.CounterScope;
+import com.eduride.monitoring.HotPathMetrics;
+import com.eduride.repository.AttendanceCounterRepository;
+import com.eduride.repository.StudentStatusRepository;
+import com.eduride.repository.StudentStatusRepositoryCustom.LockedStatus;
+import com.eduride.repository.StudentStatusRepositoryCustom.StatusUpsert;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Keeps attendance_counter in step with student_status.
+ *
+ * Every status write goes through {@link #upsertAll} (or {@link #insertMissing}
+ * for the nightly PENDING seed, {@link #deleteAll} for deletes): the students'
+ * rows are locked and their current status read, the statuses written, and
+ * the counter of the old status decremented / the new one incremented – all
+ * in one transaction. Dashboards then read a handful of rows by primary key
+ * instead of COUNTing student_status. What moves counts without a status
+ * write (bus moves) is repaired by {@link #reconcileToday}.
+ *
+ * The write transactions run at READ COMMITTED: reads after the student locks
+ * see the latest commits, and InnoDB takes no gap locks for the status read or
+ * for the counter update of a row that does not exist yet.
+ */
+@Service
+public class AttendanceCounterService {
+
+    private static final Logger log = LoggerFactory.getLogger(AttendanceCounterService.class);
+
+    private final StudentStatusRepository statusRepository;
+    private final AttendanceCounterRepository counterRepository;
+    private final HotPathMetrics metrics;
+    private final Counter drift;
+
+    public AttendanceCounterService(
+            StudentStatusRepository statusRepository,
+            AttendanceCounterRepository counterRepository,
+            HotPathMetrics metrics,
+            MeterRegistry meterRegistry
+    ) {
+        this.statusRepository = statusRepository;
+        this.counterRepository = counterRepository;
+        this.metrics = metrics;
+        this.drift = Counter.builder("eduride.attendance.counter.drift")
+                .description("Counter rows corrected by reconciliation")
+                .register(meterRegistry);
+    }
+
+    // ─── ✍️ WRITE PATH ───
+
+    /** Upserts the statuses and adjusts the school / bus counters for every transition. */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public void upsertAll(List<StatusUpsert> rows) {
+        metrics.time(HotPathMetrics.STATUS_WRITE, () -> write(rows, false), "mode", "upsert");
+    }
+
+    /**
+     * Inserts only the statuses of students without a row for that day and
+     * counts them; existing rows are left alone. Returns the rows inserted.
+     */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int insertMissing(List<StatusUpsert> rows) {
+        return metrics.time(HotPathMetrics.STATUS_WRITE, () -> write(rows, true), "mode", "insert_missing");
+    }
+
+    /** Deletes the students' statuses for the day and takes them off their counters. */
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public int deleteAll(LocalDate date, Collection<Long> studentIds) {
+        return metrics.time(HotPathMetrics.STATUS_WRITE, () -> delete(date, studentIds), "mode", "delete");
+    }
+
+    private int delete(LocalDate date, Collection<Long> studentIds) {
+        if (studentIds.isEmpty()) {
+            return 0;
+        }
+
+        SortedMap<AttendanceCounterId, Long> deltas = new TreeMap<>();
+        for (LockedStatus before : statusRepository.lockStatuses(date, studentIds)) {
+            addTransition(deltas, before, date, before.pickupStatus(), -1);
+        }
+
+        int deleted = statusRepository.deleteStatuses(date, studentIds);
+        counterRepository.applyDeltas(deltas);
+        return deleted;
+    }
+
+    private int write(List<StatusUpsert> rows, boolean onlyMissing) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+
+        List<StatusUpsert> writes = onlyMissing ? new ArrayList<>(rows.size()) : rows;
+
+        SortedMap<AttendanceCounterId, Long> deltas = new TreeMap<>();
+        Map<LocalDate, List<StatusUpsert>> byDate = rows.stream()
+                .collect(Collectors.groupingBy(StatusUpsert::date, LinkedHashMap::new, Collectors.toList()));
+
+        for (Map.Entry<LocalDate, List<StatusUpsert>> day : byDate.entrySet()) {
+            Set<Long> studentIds = new HashSet<>();
+            day.getValue().forEach(row -> studentIds.add(row.studentId()));
+
+            Map<Long, LockedStatus> current = statusRepository.lockStatuses(day.getKey(), studentIds).stream()
+                    .collect(Collectors.toMap(LockedStatus::studentId, Function.identity()));
+
+            // last row per student wins, exactly as the upserts below apply them
+            Map<Long, String> next = new LinkedHashMap<>();
+            day.getValue().forEach(row -> next.put(row.studentId(), row.pickupStatus()));
+
+            if (onlyMissing) {
+                // students with a row keep it; the student locks hold other writers off until commit
+                next.keySet().removeIf(studentId ->
+                        !current.containsKey(studentId) || current.get(studentId).pickupStatus() != null);
+                day.getValue().stream()
+                        .filter(row -> next.containsKey(row.studentId()))
+                        .forEach(writes::add);
+            }
+
+            next.forEach((studentId, status) -> {
+                LockedStatus before = current.get(studentId);
+                if (before == null || Objects.equals(before.pickupStatus(), status)) {
+                    return; // unknown student (the upsert rejects it) or no transition
+                }
+                addTransition(deltas, before, day.getKey(), before.pickupStatus(), -1);
+                addTransition(deltas, before, day.getKey(), status, +1);
+            });
+        }
+
+        if (writes.size() == 1) {
+            statusRepository.upsert(writes.get(0));
+        } else if (!writes.isEmpty()) {
+            statusRepository.upsertAll(writes);
+        }
+
+        deltas.values().removeIf(delta -> delta == 0);
+        counterRepository.applyDeltas(deltas);
+        return writes.size();
+    }
+
+    private static void addTransition(
+            SortedMap<AttendanceCounterId, Long> deltas,
+            LockedStatus student,
+            LocalDate date,
+            String status,
+            long delta) {
+
+        if (status == null) {
+            return;
+        }
+        deltas.merge(new AttendanceCounterId(CounterScope.SCHOOL, student.schoolId(), date, status), delta, Long::sum);
+        if (student.busId() != null) {
+            deltas.merge(new AttendanceCounterId(CounterScope.BUS, student.busId(), date, status), delta, Long::sum);
+        }
+    }
+
+    // ─── 📊 READ PATH ───
+
+    /** Status → count for one school or bus on one day (statuses without rows are absent). */
+    public Map<String, Long> countsFor(CounterScope scope, Long scopeId, LocalDate date) {
+        Map<String, Long> counts = new HashMap<>();
+        for (AttendanceCounter counter : counterRepository.findByIdScopeAndIdScopeIdAndIdDate(scope, scopeId, date)) {
+            counts.put(counter.getId().getStatus(), counter.getCount());
+        }
+        return counts;
+    }
+
+    // ─── 🧮 RECONCILIATION ───
+
+    public record Reconciliation(LocalDate date, int checked, int drifted) {
+    }
+
+    @Scheduled(
+            initialDelayString = "${eduride.attendance.counter-reconcile-initial-delay-ms:60000}",
+            fixedDelayString = "${eduride.attendance.counter-reconcile-ms:900000}")
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public Reconciliation reconcileToday() {
+        return reconcile(LocalDate.now());
+    }
+
+    /**
+     * Recomputes the day's counters from student_status and corrects the ones
+     * that drifted. Both reads come from the same repeatable-read snapshot, and
+     * corrections are applied as deltas, so writes committed meanwhile are kept.
+     */
+    @Transactional(isolation = Isolation.REPEATABLE_READ)
+    public Reconciliation reconcile(LocalDate date) {
+        Map<AttendanceCounterId, Long> actual = counterRepository.recount(date);
+        Map<AttendanceCounterId, Long> stored = new HashMap<>();
+        for (AttendanceCounter counter : counterRepository.findByIdDate(date)) {
+            stored.put(counter.getId(), counter.getCount());
+        }
+
+        Set<AttendanceCounterId> keys = new HashSet<>(actual.keySet());
+        keys.addAll(stored.keySet());
+
+        SortedMap<AttendanceCounterId, Long> corrections = new TreeMap<>();
+        for (AttendanceCounterId key : keys) {
+            long difference = actual.getOrDefault(key, 0L) - stored.getOrDefault(key, 0L);
+            if (difference != 0) {
+                corrections.put(key, difference);
+            }
+        }
+
+        if (!corrections.isEmpty()) {
+            log.warn("Attendance counters drifted for {}: {} of {} rows corrected, e.g. {}",
+                    date, corrections.size(), keys.size(), corrections.entrySet().iterator().next());
+            counterRepository.applyDeltas(corrections);
+            drift.increment(corrections.size());
+        }
+        return new Reconciliation(date, keys.size(), corrections.size());
+    }
+}
@@ -0,0 +1,321 @@
+package com.eduride.service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.eduride.attendance.AttendanceMonthCodec;
+import com.eduride.dto.AttendanceArchiveRow;
+import com.eduride.dto.AttendanceExportRow;
+import com.eduride.entity.Role;
+import com.eduride.repository.SchoolRepository;
+import com.eduride.repository.StudentStatusMonthRepository;
+import com.eduride.repository.StudentStatusRepository;
+import com.eduride.security.TenantContext;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+
+/**
+ * Attendance history export for a school and a date range.
+ *
+ * Rows come from a forward-only query stream and go straight to the response
+ * through a fixed-size buffer, so memory stays flat whether the range is a
+ * week or a whole year. Archived months are merged in one month at a time.
+ */
+@Service
+public class AttendanceExportService {
+
+    // push a chunk to the client every so often instead of only when the buffer fills
+    private static final int FLUSH_EVERY_ROWS = 5_000;
+
+    public enum Format {
+        CSV(new MediaType("text", "csv", StandardCharsets.UTF_8), "csv"),
+        NDJSON(new MediaType("application", "x-ndjson", StandardCharsets.UTF_8), "ndjson");
+
+        private final MediaType mediaType;
+        private final String extension;
+
+        Format(MediaType mediaType, String extension) {
+            this.mediaType = mediaType;
+            this.extension = extension;
+        }
+
+        public MediaType mediaType() {
+            return mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public static Format parse(String value) {
+            for (Format format : values()) {
+                if (format.name().equalsIgnoreCase(value)) {
+                    return format;
+                }
+            }
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Unsupported export format: " + value);
+        }
+    }
+
+    private final StudentStatusRepository statusRepository;
+    private final StudentStatusMonthRepository archiveRepository;
+    private final SchoolRepository schoolRepository;
+    private final ObjectMapper objectMapper;
+
+    public AttendanceExportService(
+            StudentStatusRepository statusRepository,
+            StudentStatusMonthRepository archiveRepository,
+            SchoolRepository schoolRepository,
+            ObjectMapper objectMapper
+    ) {
+        this.statusRepository = statusRepository;
+        this.archiveRepository = archiveRepository;
+        this.schoolRepository = schoolRepository;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Checks, on the request thread, that the caller may export this school –
+     * the school itself, or the agency it belongs to – and that the range is valid.
+     */
+    public void checkExport(Long schoolId, LocalDate from, LocalDate to) {
+        TenantContext tenant = TenantContext.current();
+
+        boolean allowed = tenant.is(Role.SCHOOL)
+                ? schoolId.equals(tenant.schoolId())
+                : tenant.is(Role.AGENCY) && schoolRepository.findAgencyIdById(schoolId)
+                        .map(agencyId -> agencyId.equals(tenant.agencyId()))
+                        .orElse(false);
+        if (!allowed) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        if (from.isAfter(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "'from' must not be after 'to'");
+        }
+    }
+
+    /** Writes the school's attendance for [from, to] to the stream; returns the row count. */
+    @Transactional(readOnly = true)
+    public long export(Long schoolId, LocalDate from, LocalDate to, Format format, OutputStream out) throws IOException {
+        Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+
+        try (SchoolHistory rows = new SchoolHistory(schoolId, from, to)) {
+            long count = format == Format.CSV
+                    ? writeCsv(rows, writer)
+                    : writeNdjson(rows, writer);
+            writer.flush();
+            return count;
+        }
+    }
+
+    // ─── HOT + ARCHIVED ROWS ───
+
+    /**
+     * The range one month at a time: that month's student_status stream, merged
+     * with its archived rows (at most one small row per student) when there are any.
+     */
+    private final class SchoolHistory implements Iterator<AttendanceExportRow>, AutoCloseable {
+
+        private final Long schoolId;
+        private final LocalDate from;
+        private final LocalDate to;
+        private LocalDate nextMonth;
+        private Stream<AttendanceExportRow> open;
+        private Iterator<AttendanceExportRow> current = Collections.emptyIterator();
+
+        SchoolHistory(Long schoolId, LocalDate from, LocalDate to) {
+            this.schoolId = schoolId;
+            this.from = from;
+            this.to = to;
+            this.nextMonth = from.withDayOfMonth(1);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!current.hasNext()) {
+                close();
+                if (nextMonth.isAfter(to)) {
+                    return false;
+                }
+                current = openMonth(nextMonth);
+                nextMonth = nextMonth.plusMonths(1);
+            }
+            return true;
+        }
+
+        @Override
+        public AttendanceExportRow next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return current.next();
+        }
+
+        private Iterator<AttendanceExportRow> openMonth(LocalDate month) {
+            LocalDate start = month.isBefore(from) ? from : month;
+            LocalDate lastDay = month.withDayOfMonth(month.lengthOfMonth());
+            LocalDate end = lastDay.isAfter(to) ? to : lastDay;
+
+            // archive first: the stream below keeps its result set open until the month is written
+            List<AttendanceArchiveRow> archived = archiveRepository.findSchoolMonth(schoolId, month);
+            open = statusRepository.streamSchoolAttendance(schoolId, start, end);
+            return archived.isEmpty()
+                    ? open.iterator()
+                    : new MonthMerge(open.iterator(), archived, start, end);
+        }
+
+        @Override
+        public void close() {
+            if (open != null) {
+                open.close();
+                open = null;
+            }
+        }
+    }
+
+    /**
+     * Merges one month's student_status rows (date, student order) with its
+     * archived rows (student order) day by day; student_status wins for a day
+     * present in both.
+     */
+    private static final class MonthMerge implements Iterator<AttendanceExportRow> {
+
+        private final Iterator<AttendanceExportRow> hot;
+        private final List<AttendanceArchiveRow> archived;
+        private final LocalDate end;
+        private LocalDate day;
+        private int index;
+        private AttendanceExportRow nextHot;
+        private AttendanceExportRow next;
+
+        MonthMerge(Iterator<AttendanceExportRow> hot, List<AttendanceArchiveRow> archived, LocalDate start, LocalDate end) {
+            this.hot = hot;
+            this.archived = archived;
+            this.end = end;
+            this.day = start;
+            this.nextHot = hot.hasNext() ? hot.next() : null;
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public AttendanceExportRow next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            AttendanceExportRow row = next;
+            advance();
+            return row;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && !day.isAfter(end)) {
+                String archivedStatus = skipToArchivedStatus();
+                boolean hotToday = nextHot != null && nextHot.date().equals(day);
+
+                if (archivedStatus == null && !hotToday) {
+                    day = day.plusDays(1);
+                    index = 0;
+                } else if (archivedStatus == null || hotToday && nextHot.studentId() <= archived.get(index).studentId()) {
+                    if (archivedStatus != null && nextHot.studentId().equals(archived.get(index).studentId())) {
+                        index++;
+                    }
+                    next = nextHot;
+                    nextHot = hot.hasNext() ? hot.next() : null;
+                } else {
+                    next = archived.get(index++).toExportRow(day, archivedStatus);
+                }
+            }
+        }
+
+        /** Moves {@code index} to the next archived student with a status on {@code day}; null when none left. */
+        private String skipToArchivedStatus() {
+            for (; index < archived.size(); index++) {
+                String status = AttendanceMonthCodec.statusOn(archived.get(index).statuses(), day.getDayOfMonth());
+                if (status != null) {
+                    return status;
+                }
+            }
+            return null;
+        }
+    }
+
+    // ─── FORMATS ───
+
+    private static long writeCsv(Iterator<AttendanceExportRow> rows, Writer writer) throws IOException {
+        writer.write("date,student_id,roll_no,student_name,class_name,bus_number,pickup_status\n");
+        long count = 0;
+        while (rows.hasNext()) {
+            AttendanceExportRow row = rows.next();
+            writer.write(row.date().toString());
+            writer.write(',');
+            writer.write(row.studentId().toString());
+            writer.write(',');
+            writer.write(csv(row.rollNo()));
+            writer.write(',');
+            writer.write(csv(row.studentName()));
+            writer.write(',');
+            writer.write(csv(row.className()));
+            writer.write(',');
+            writer.write(csv(row.busNumber()));
+            writer.write(',');
+            writer.write(csv(row.pickupStatus()));
+            writer.write('\n');
+            if (++count % FLUSH_EVERY_ROWS == 0) {
+                writer.flush();
+            }
+        }
+        return count;
+    }
+
+    private long writeNdjson(Iterator<AttendanceExportRow> rows, Writer writer) throws IOException {
+        long count = 0;
+        try (SequenceWriter json = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(writer)) {
+            while (rows.hasNext()) {
+                json.write(rows.next());
+                if (++count % FLUSH_EVERY_ROWS == 0) {
+                    json.flush();
+                }
+            }
+        }
+        if (count > 0) {
+            writer.write('\n');
+        }
+        return count;
+    }
+
+    /** RFC 4180 quoting, only when the value needs it. */
+    static String csv(String value) {
+        String text = Objects.toString(value, "");
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
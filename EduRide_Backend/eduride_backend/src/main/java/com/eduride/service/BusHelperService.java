@@ -1,22 +1,34 @@
 package com.eduride.service;
 
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import com.eduride.attendance.AttendanceCounts;
+import com.eduride.attendance.AttendanceStateEngine;
 import com.eduride.dto.BusHelperEditDTO;
 import com.eduride.dto.BusHelperResponseDTO;
 import com.eduride.dto.dashboard.BusHelperDashboardSummaryDTO;
 import com.eduride.entity.BusHelper;
+import com.eduride.entity.CounterScope;
 import com.eduride.entity.Role;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.monitoring.HotPathMetrics;
+import com.eduride.paging.CursorPage;
+import com.eduride.paging.PageQuery;
 import com.eduride.repository.BusHelperRepository;
 import com.eduride.repository.BusRepository;
 import com.eduride.repository.SchoolRepository;
 import com.eduride.repository.StudentRepository;
 import com.eduride.repository.StudentStatusRepository;
+import com.eduride.security.TenantContext;
+import com.eduride.security.UserPrincipalCache;
 
 @Service
 public class BusHelperService {
@@ -27,6 +39,11 @@ public class BusHelperService {
     private final BusRepository busRepository;
     private final SchoolRepository schoolRepository;
     private final StudentStatusRepository studentStatusRepository;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AttendanceStateEngine attendanceEngine;
+    private final AttendanceCounterService attendanceCounters;
+    private final HotPathMetrics metrics;
     
     public BusHelperService(
             BusHelperRepository repo,
@@ -34,7 +51,12 @@ public class BusHelperService {
             StudentRepository studentRepository,
             BusRepository busRepository, 
             SchoolRepository schoolRepository, 
-            StudentStatusRepository studentStatusRepository
+            StudentStatusRepository studentStatusRepository,
+            UserPrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService,
+            AttendanceStateEngine attendanceEngine,
+            AttendanceCounterService attendanceCounters,
+            HotPathMetrics metrics
     ) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
@@ -42,6 +64,11 @@ public class BusHelperService {
         this.busRepository = busRepository;
 		this.schoolRepository = schoolRepository;
 		this.studentStatusRepository = studentStatusRepository;
+		this.principalCache = principalCache;
+		this.tokenRevocationService = tokenRevocationService;
+		this.attendanceEngine = attendanceEngine;
+		this.attendanceCounters = attendanceCounters;
+		this.metrics = metrics;
     }
 
     public BusHelper create(BusHelper helper) {
@@ -52,12 +79,12 @@ public class BusHelperService {
         return repo.save(helper);
     }
 
-    public List<BusHelper> findAll() {
-        return repo.findAll();
+    public CursorPage<BusHelper> findAll(PageQuery page) {
+        return page.fetch(repo::findBy);
     }
 
     public BusHelper findById(Long id) {
-        return repo.findById(id)
+        return repo.findWithSchoolAndBusById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("BusHelper not found with id: " + id));
     }
@@ -82,12 +109,17 @@ public class BusHelperService {
     }
     
     
+    @Transactional
     public void updateHelper(Long id, BusHelperEditDTO dto) {
 
         BusHelper helper = repo.findById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("BusHelper not found"));
 
+        Long previousBusId = helper.getAssignedBus() != null
+                ? helper.getAssignedBus().getId()
+                : null;
+
         helper.setName(dto.getName());
         helper.setPhone(dto.getPhone());
 
@@ -101,23 +133,26 @@ public class BusHelperService {
             helper.setAssignedBus(null);
         }
 
+        // 🔐 Helper's token carries the assigned bus id
+        if (!Objects.equals(previousBusId, dto.getAssignedBusId())) {
+            tokenRevocationService.revoke(helper);
+        }
+
         repo.save(helper);
-    }
 
+        // the cached principal carries the name
+        principalCache.evict(helper.getEmail());
+    }
 
-    public Long getSchoolIdByEmail(String email) {
-        return schoolRepository.findByEmail(email)
-                .orElseThrow(() ->
-                    new ResourceNotFoundException("School not found for email: " + email)
-                )
-                .getId();
+    // Managed reference for FK use (e.g. StudentStatus.updatedBy) – no SELECT
+    public BusHelper getReference(Long id) {
+        return repo.getReferenceById(id);
     }
 
     
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("BusHelper not found with id: " + id);
-        }
+        BusHelper helper = findById(id);
+        principalCache.evict(helper.getEmail());
         repo.deleteById(id);
     }
 
@@ -151,14 +186,18 @@ public class BusHelperService {
         return repo.findByEmail(email);
     }
 
-    public BusHelperDashboardSummaryDTO getBusHelperDashboardSummary(String email) {
+    public BusHelperDashboardSummaryDTO getBusHelperDashboardSummary() {
+        return metrics.time(HotPathMetrics.DASHBOARD_SUMMARY,
+                () -> buildDashboardSummary(TenantContext.current().busId()), "dashboard", "helper");
+    }
+
+    private BusHelperDashboardSummaryDTO buildDashboardSummary(Long busId) {
 
-        BusHelper helper = findByEmail(email)
-            .orElseThrow(() ->
-                new ResourceNotFoundException("Bus Helper not found"));
+        // 🔹 The token carries the helper's bus – only its number is read
+        String busNumber = busId == null ? null : busRepository.findBusNumberById(busId).orElse(null);
 
         // 🟡 Helper not assigned to any bus
-        if (helper.getAssignedBus() == null) {
+        if (busNumber == null) {
             return new BusHelperDashboardSummaryDTO(
                 "Not Assigned",
                 "N/A",
@@ -166,23 +205,32 @@ public class BusHelperService {
             );
         }
 
-        Long busId = helper.getAssignedBus().getId();
-
-        // 🔹 Total students assigned to bus
-        int totalStudents =
-            studentRepository.findByAssignedBusId(busId).size();
-
-        // 🔹 Status counts (STRING based)
-        int picked =
-            studentStatusRepository.countByBusAndStatus(busId, "PICKED");
-
-        int dropped =
-            studentStatusRepository.countByBusAndStatus(busId, "DROPPED");
-
-        int pending = totalStudents - picked - dropped;
+        int totalStudents;
+        int picked;
+        int dropped;
+        int pending;
+
+        Optional<AttendanceCounts> counts = attendanceEngine.countsForBus(busId);
+        if (counts.isPresent()) {
+            // 🔹 In-memory tally – no COUNT queries
+            totalStudents = counts.get().totalStudents();
+            picked = counts.get().picked();
+            dropped = counts.get().dropped();
+            pending = counts.get().pending();
+        } else {
+            // 🔹 Total students assigned to bus
+            totalStudents = (int) studentRepository.countByAssignedBusId(busId);
+
+            // 🔹 Status counts – materialised counters, primary-key lookup
+            Map<String, Long> statusCounts =
+                attendanceCounters.countsFor(CounterScope.BUS, busId, LocalDate.now());
+            picked = statusCounts.getOrDefault("PICKED", 0L).intValue();
+            dropped = statusCounts.getOrDefault("DROPPED", 0L).intValue();
+            pending = totalStudents - picked - dropped;
+        }
 
         return new BusHelperDashboardSummaryDTO(
-            helper.getAssignedBus().getBusNumber(),
+            busNumber,
             "Home → School",
             totalStudents,
             picked,
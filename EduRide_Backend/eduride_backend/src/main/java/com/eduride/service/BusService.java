@@ -3,14 +3,18 @@ package com.eduride.service;
 import com.eduride.dto.BusDTO;
 import com.eduride.entity.*;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.paging.CursorPage;
+import com.eduride.paging.PageQuery;
 import com.eduride.repository.*;
+import com.eduride.security.TenantContext;
+import org.hibernate.Hibernate;
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @Transactional
@@ -22,14 +26,17 @@ public class BusService {
     private final SchoolRepository schoolRepository;
     private final BusHelperRepository helperRepository;
     private final StudentRepository studentRepository;
+    private final TokenRevocationService tokenRevocationService;
+    private final AgencyDashboardCache dashboardCache;
     public BusService(
             BusRepository busRepository,
             AgencyRepository agencyRepository,
             DriverRepository driverRepository,
             SchoolRepository schoolRepository,
             BusHelperRepository helperRepository, 
-            StudentRepository studentRepository
-            
+            StudentRepository studentRepository,
+            TokenRevocationService tokenRevocationService,
+            AgencyDashboardCache dashboardCache
     ) {
         this.busRepository = busRepository;
         this.agencyRepository = agencyRepository;
@@ -37,6 +44,8 @@ public class BusService {
         this.schoolRepository = schoolRepository;
         this.helperRepository = helperRepository;
 		this.studentRepository = studentRepository;
+		this.tokenRevocationService = tokenRevocationService;
+		this.dashboardCache = dashboardCache;
     }
 
     // ─────────────────────────────────────────────
@@ -58,6 +67,10 @@ public class BusService {
         assignSchool(bus, agency);
         assignDriver(bus, agency, null);
 
+        // 🔐 Driver's token carries the bus id
+        tokenRevocationService.revoke(bus.getDriver());
+
+        dashboardCache.evict(agency.getId());
         return busRepository.save(bus);
     }
 
@@ -69,6 +82,9 @@ public class BusService {
         Bus existing = findById(id);
         Agency agency = getLoggedInAgency();
 
+        Driver previousDriver = existing.getDriver();
+        Long previousSchoolId = existing.getSchool() != null ? existing.getSchool().getId() : null;
+
         existing.setBusNumber(updated.getBusNumber());
         existing.setCapacity(updated.getCapacity());
 
@@ -100,6 +116,16 @@ public class BusService {
         assignSchool(existing, agency);
         assignDriver(existing, agency, existing.getId());
 
+        // 🔐 Driver tokens carry bus + school – revoke when either changes
+        Long newSchoolId = existing.getSchool() != null ? existing.getSchool().getId() : null;
+        if (previousDriver != existing.getDriver()
+                || !Objects.equals(previousSchoolId, newSchoolId)) {
+            tokenRevocationService.revoke(previousDriver);
+            if (existing.getDriver() != previousDriver) {
+                tokenRevocationService.revoke(existing.getDriver());
+            }
+        }
+
         return busRepository.save(existing);
     }
 
@@ -107,18 +133,13 @@ public class BusService {
     // HELPER METHODS
     // ─────────────────────────────────────────────
     private Agency getLoggedInAgency() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getName();
-
-        Agency agency = agencyRepository.findByEmail(email)
-                .orElseThrow(() ->
-                        new ResponseStatusException(HttpStatus.FORBIDDEN, "Agency not found"));
+        // Active-account check already happened in JwtFilter; only the id is needed here
+        TenantContext tenant = TenantContext.current();
 
-        if (!agency.isActive()) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Agency inactive");
+        if (!tenant.is(Role.AGENCY) || tenant.agencyId() == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Agency not found");
         }
-        return agency;
+        return agencyRepository.getReferenceById(tenant.agencyId());
     }
 
     private void assignSchool(Bus bus, Agency agency) {
@@ -173,16 +194,21 @@ public class BusService {
     // OTHER METHODS
     // ─────────────────────────────────────────────
     public Bus assignHelper(Long busId, Long helperId) {
-        Bus bus = findById(busId);
+        Bus bus = busRepository.findWithDetailsById(busId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bus not found"));
         BusHelper helper = helperRepository.findById(helperId)
                 .orElseThrow(() -> new ResourceNotFoundException("Helper not found"));
         helper.setAssignedBus(bus);
+        tokenRevocationService.revoke(helper);
         helperRepository.save(helper);
         return bus;
     }
 
-    public List<Bus> findAll() {
-        return busRepository.findAll();
+    public CursorPage<Bus> findAll(PageQuery page) {
+        CursorPage<Bus> buses = page.fetch(busRepository::findBy);
+        // helpers of the page come in batches (@BatchSize), not one query per bus
+        buses.items().forEach(bus -> Hibernate.initialize(bus.getBusHelpers()));
+        return buses;
     }
 
     public Bus findById(Long id) {
@@ -195,11 +221,15 @@ public class BusService {
     }
 
     public List<Bus> findBySchool(Long schoolId) {
-        return busRepository.findBySchoolId(schoolId);
+        return busRepository.findWithDetailsBySchoolId(schoolId);
+    }
+
+    public boolean belongsToSchool(Long busId, Long schoolId) {
+        return schoolId != null && busRepository.existsByIdAndSchoolId(busId, schoolId);
     }
 
     public Bus getBusByDriver(Long driverId) {
-        return busRepository.findByDriverId(driverId).orElse(null);
+        return busRepository.findWithDetailsByDriverId(driverId).orElse(null);
     }
 
     public void unassignDriver(Long busId) {
@@ -215,6 +245,7 @@ public class BusService {
             );
         }
 
+        tokenRevocationService.revoke(bus.getDriver());
         bus.setDriver(null);
         busRepository.save(bus);
     }
@@ -229,15 +260,18 @@ public class BusService {
         List<BusHelper> helpers = helperRepository.findByAssignedBusId(bus.getId());
         for (BusHelper helper : helpers) {
             helper.setAssignedBus(null);
+            tokenRevocationService.revoke(helper);
         }
 
         // 🔹 2. Unassign students
         List<Student> students = studentRepository.findByAssignedBusId(bus.getId());
         for (Student student : students) {
             student.setAssignedBus(null);
+            tokenRevocationService.revoke(student);
         }
 
         // 🔹 3. Unassign driver
+        tokenRevocationService.revoke(bus.getDriver());
         bus.setDriver(null);
 
         // 🔹 4. Unassign school (optional but safe)
@@ -245,6 +279,7 @@ public class BusService {
 
         // 🔹 5. Now delete bus safely
         busRepository.delete(bus);
+        dashboardCache.evict(bus.getAgency().getId());
     }
 
 
@@ -255,68 +290,16 @@ public class BusService {
     }
 
     public List<BusDTO> getBusesBySchool(Long schoolId) {
-        return busRepository.findBySchoolId(schoolId)
-                .stream()
-                .map(this::toDTO)
-                .toList();
-    }
-
-    private BusDTO toDTO(Bus bus) {
-
-        Long schoolId = null;
-        String schoolName = null;
-        if (bus.getSchool() != null) {
-            schoolId = bus.getSchool().getId();
-            schoolName = bus.getSchool().getName();
-        }
-
-        Long driverId = null;
-        String driverName = null;
-        String driverPhone = null;
-        if (bus.getDriver() != null) {
-            driverId = bus.getDriver().getId();
-            driverName = bus.getDriver().getName();
-            driverPhone = bus.getDriver().getPhone();
-        }
-
-        String helperName = null;
-        String helperPhone = null;
-
-        BusHelper helper = helperRepository
-                .findByAssignedBusId(bus.getId())
-                .stream()
-                .findFirst()
-                .orElse(null);
-
-        if (helper != null) {
-            helperName = helper.getName();
-            helperPhone = helper.getPhone();
-        }
-
-        return new BusDTO(
-                bus.getId(),
-                bus.getBusNumber(),
-                bus.getCapacity(),
-                schoolId,
-                schoolName,
-                driverId,
-                driverName,
-                driverPhone,
-                helperName,
-                helperPhone
-        );
+        return busRepository.findBusDTOsBySchoolId(schoolId);
     }
 
     public List<BusDTO> findByAgencyDTO(Long agencyId) {
-        return busRepository.findByAgencyId(agencyId)
-                .stream()
-                .map(this::toDTO)
-                .toList();
+        return busRepository.findBusDTOsByAgencyId(agencyId);
     }
 
     // ✅ SINGLE BUS DTO (FOR EDIT PAGE)
     public BusDTO getBusDTOById(Long busId) {
-        Bus bus = findById(busId);
-        return toDTO(bus);
+        return busRepository.findBusDTOById(busId)
+                .orElseThrow(() -> new ResourceNotFoundException("Bus not found"));
     }
 }
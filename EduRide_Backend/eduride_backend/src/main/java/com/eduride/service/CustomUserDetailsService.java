@@ -1,7 +1,15 @@
 package com.eduride.service;
 
-import com.eduride.entity.User;
+import com.eduride.dto.UserIdentityView;
+import com.eduride.entity.Role;
+import com.eduride.monitoring.HotPathMetrics;
 import com.eduride.repository.UserRepository;
+import com.eduride.security.EduRideUserDetails;
+
+import io.micrometer.core.instrument.Timer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -10,22 +18,32 @@ import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
 
+    private static final Logger log = LoggerFactory.getLogger(CustomUserDetailsService.class);
+
     private final UserRepository userRepository;
+    private final HotPathMetrics metrics;
 
     @Autowired
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository, HotPathMetrics metrics) {
         this.userRepository = userRepository;
+        this.metrics = metrics;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        User user = userRepository.findByEmail(email)
-                .orElseThrow(() -> new UsernameNotFoundException(
-                        "User not found with email: " + email));
+        // Single projection query – also resolves the tenant ids used for the JWT
+        Timer.Sample lookup = metrics.start();
+        Optional<UserIdentityView> found = userRepository.findIdentityByEmail(email);
+        if (found.isEmpty()) {
+            metrics.stop(lookup, HotPathMetrics.USER_LOOKUP, "not_found", null, null);
+            throw new UsernameNotFoundException("User not found with email: " + email);
+        }
+        UserIdentityView user = found.get();
 
         // Ensure role exists (safety check)
         if (user.getRole() == null) {
@@ -33,22 +51,27 @@ public class CustomUserDetailsService implements UserDetailsService {
         }
 
         // Convert role enum to Spring Security authority with "ROLE_" prefix
-        String roleWithPrefix = "ROLE_" + user.getRole().name();
+        Role role = Role.valueOf(user.getRole());
+        String roleWithPrefix = "ROLE_" + role.name();
 
-        // Debug log (remove in production or use proper logging)
-        System.out.println("DEBUG: Loading user: " + email + " → Role: " + roleWithPrefix);
+        metrics.stop(lookup, HotPathMetrics.USER_LOOKUP, HotPathMetrics.SUCCESS, role, user.getAgencyId());
+        log.debug("Loaded user {} with role {}", email, roleWithPrefix);
 
         List<SimpleGrantedAuthority> authorities = List.of(
                 new SimpleGrantedAuthority(roleWithPrefix)
         );
 
-        return new org.springframework.security.core.userdetails.User(
+        return new EduRideUserDetails(
+                user.getId(),
                 user.getEmail(),
                 user.getPassword(),
-                user.isActive(),           // accountEnabled
-                true,                      // accountNonExpired
-                true,                      // credentialsNonExpired
-                true,                      // accountNonLocked
+                user.getName(),
+                role,
+                Boolean.TRUE.equals(user.getActive()),   // accountEnabled
+                user.getAgencyId(),
+                user.getSchoolId(),
+                user.getBusId(),
+                user.getTokenVersion(),
                 authorities
         );
     }
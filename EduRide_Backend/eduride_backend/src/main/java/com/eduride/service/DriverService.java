@@ -2,26 +2,32 @@ package com.eduride.service;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import org.springframework.http.HttpStatus;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ResponseStatusException;
 
+import com.eduride.attendance.AttendanceCounts;
+import com.eduride.attendance.AttendanceStateEngine;
 import com.eduride.dto.DriverDTO;
 import com.eduride.dto.dashboard.DriverDashboardSummaryDTO;
-import com.eduride.entity.Agency;
-import com.eduride.entity.Bus;
+import com.eduride.entity.CounterScope;
 import com.eduride.entity.Driver;
 import com.eduride.entity.Role;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.monitoring.HotPathMetrics;
+import com.eduride.paging.CursorPage;
+import com.eduride.paging.PageQuery;
 import com.eduride.repository.AgencyRepository;
 import com.eduride.repository.BusRepository;
 import com.eduride.repository.DriverRepository;
 import com.eduride.repository.StudentRepository;
 import com.eduride.repository.StudentStatusRepository;
+import com.eduride.security.TenantContext;
+import com.eduride.security.UserPrincipalCache;
 
 @Service
 public class DriverService {
@@ -32,6 +38,12 @@ public class DriverService {
     private final StudentRepository studentRepository;
     private final StudentStatusRepository statusRepo;
     private final AgencyRepository agencyRepository;
+    private final UserPrincipalCache principalCache;
+    private final AttendanceStateEngine attendanceEngine;
+    private final AttendanceCounterService attendanceCounters;
+    private final AgencyDashboardCache dashboardCache;
+    private final HotPathMetrics metrics;
+    private final TokenRevocationService tokenRevocationService;
 
     public DriverService(
             DriverRepository repo,
@@ -39,7 +51,13 @@ public class DriverService {
             BusRepository busRepository,
             StudentRepository studentRepository,
             StudentStatusRepository statusRepo, 
-            AgencyRepository agencyRepository
+            AgencyRepository agencyRepository,
+            UserPrincipalCache principalCache,
+            AttendanceStateEngine attendanceEngine,
+            AttendanceCounterService attendanceCounters,
+            AgencyDashboardCache dashboardCache,
+            HotPathMetrics metrics,
+            TokenRevocationService tokenRevocationService
     ) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
@@ -47,6 +65,12 @@ public class DriverService {
         this.studentRepository = studentRepository;
         this.statusRepo = statusRepo;
 		this.agencyRepository = agencyRepository;
+		this.principalCache = principalCache;
+		this.attendanceEngine = attendanceEngine;
+		this.attendanceCounters = attendanceCounters;
+		this.dashboardCache = dashboardCache;
+		this.metrics = metrics;
+		this.tokenRevocationService = tokenRevocationService;
     }
 
     // ────────────────────────────────────────────────
@@ -55,11 +79,13 @@ public class DriverService {
     public Driver create(Driver driver) {
         driver.setRole(Role.DRIVER);
         driver.setPassword(passwordEncoder.encode(driver.getPassword()));
-        return repo.save(driver);
+        Driver saved = repo.save(driver);
+        dashboardCache.evict(saved.getAgency().getId());
+        return saved;
     }
 
-    public List<Driver> findAll() {
-        return repo.findAll();
+    public CursorPage<Driver> findAll(PageQuery page) {
+        return page.fetch(repo::findBy);
     }
 
     public Driver findById(Long id) {
@@ -69,6 +95,7 @@ public class DriverService {
 
     public Driver update(Long id, Driver updated) {
         Driver existing = findById(id);
+        String previousEmail = existing.getEmail();
 
         existing.setName(updated.getName());
         existing.setPhone(updated.getPhone());
@@ -77,14 +104,23 @@ public class DriverService {
 
         // ✅ Preserve existing agency
         if (updated.getAgency() != null) {
+            // 🔐 Driver's token carries the agency id
+            if (existing.getAgency() == null || !existing.getAgency().getId().equals(updated.getAgency().getId())) {
+                tokenRevocationService.revoke(existing);
+            }
             existing.setAgency(updated.getAgency());
         }
 
         if (updated.getPassword() != null && !updated.getPassword().isBlank()) {
             existing.setPassword(passwordEncoder.encode(updated.getPassword()));
+            tokenRevocationService.revoke(existing); // signs out every session on the old password
         }
 
-        return repo.save(existing);
+        Driver saved = repo.save(existing);
+
+        principalCache.evict(previousEmail);
+        principalCache.evict(saved.getEmail());
+        return saved;
     }
 
 
@@ -109,6 +145,8 @@ public class DriverService {
         }
 
         repo.delete(driver);
+        principalCache.evict(driver.getEmail());
+        dashboardCache.evict(driver.getAgency().getId());
     }
 
 
@@ -123,85 +161,65 @@ public class DriverService {
     
     public List<DriverDTO> getDriversByAgency(Long agencyId) {
 
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
-
-        Agency agency = agencyRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.FORBIDDEN, "Agency not found"));
+        TenantContext tenant = TenantContext.current();
 
-        if (!agency.getId().equals(agencyId)) {
+        if (!tenant.is(Role.AGENCY) || !agencyId.equals(tenant.agencyId())) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN);
         }
 
-        return repo.findByAgencyId(agencyId)
-                .stream()
-                .map(driver -> {
-
-                    Bus bus = busRepository
-                            .findByDriverIdWithSchool(driver.getId())
-                            .orElse(null);
-
-                    return new DriverDTO(
-                            driver.getId(),
-                            driver.getName(),
-                            driver.getPhone(),
-                            driver.getLicenseNumber(),
-                            bus != null ? bus.getId() : null,
-                            bus != null ? bus.getBusNumber() : null,
-                            bus != null && bus.getSchool() != null ? bus.getSchool().getId() : null,
-                            bus != null && bus.getSchool() != null ? bus.getSchool().getName() : null
-                    );
-                })
-                .toList();
+        return repo.findDriverDTOsByAgencyId(agencyId);
     }
 
     public List<DriverDTO> getDriversForLoggedInAgency() {
-        String email = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
+        TenantContext tenant = TenantContext.current();
 
-        Agency agency = agencyRepository.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.FORBIDDEN));
-
-        return getDriversByAgency(agency.getId());
+        if (!tenant.is(Role.AGENCY) || tenant.agencyId() == null) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN);
+        }
+        return getDriversByAgency(tenant.agencyId());
     }
     // ────────────────────────────────────────────────
     // NEW: Driver-specific dashboard summary
     // ────────────────────────────────────────────────
  // DriverService.java
 
-    public DriverDashboardSummaryDTO getSummary(String email) {
+    public DriverDashboardSummaryDTO getSummary() {
+        return metrics.time(HotPathMetrics.DASHBOARD_SUMMARY,
+                () -> buildSummary(TenantContext.current().busId()), "dashboard", "driver");
+    }
 
-        Driver driver = repo.findByEmail(email)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND,
-                        "Driver not found"
-                ));
+    private DriverDashboardSummaryDTO buildSummary(Long busId) {
 
-        Bus bus = busRepository.findByDriverId(driver.getId())
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.CONFLICT,
-                        "No bus assigned to this driver"
-                ));
+        // 🔹 The token carries the driver's bus – only its number is read
+        String busNumber = busId == null ? null : busRepository.findBusNumberById(busId).orElse(null);
+        if (busNumber == null) {
+            throw new ResponseStatusException(
+                    HttpStatus.CONFLICT,
+                    "No bus assigned to this driver"
+            );
+        }
 
-        Long busId = bus.getId();
         LocalDate today = LocalDate.now();
 
-        int totalStudents =
-                (int) studentRepository.countByAssignedBusId(busId);
-
-        int pickedHomeToSchool =
-                statusRepo.countByStudent_AssignedBus_IdAndDateAndPickupStatus(
-                        busId, today, "PICKED"
-                );
-
-        int droppedSchoolToHome =
-                statusRepo.countByStudent_AssignedBus_IdAndDateAndPickupStatus(
-                        busId, today, "DROPPED"
-                );
+        int totalStudents;
+        int pickedHomeToSchool;
+        int droppedSchoolToHome;
+
+        Optional<AttendanceCounts> counts = attendanceEngine.countsForBus(busId);
+        if (counts.isPresent()) {
+            totalStudents = counts.get().totalStudents();
+            pickedHomeToSchool = counts.get().picked();
+            droppedSchoolToHome = counts.get().dropped();
+        } else {
+            totalStudents = (int) studentRepository.countByAssignedBusId(busId);
+            Map<String, Long> statusCounts =
+                    attendanceCounters.countsFor(CounterScope.BUS, busId, today);
+            pickedHomeToSchool = statusCounts.getOrDefault("PICKED", 0L).intValue();
+            droppedSchoolToHome = statusCounts.getOrDefault("DROPPED", 0L).intValue();
+        }
 
         return new DriverDashboardSummaryDTO(
-                bus.getBusNumber(),
+                busNumber,
                 totalStudents,
                 pickedHomeToSchool,
                 droppedSchoolToHome
@@ -210,7 +228,7 @@ public class DriverService {
 
 
     
-    public List<Driver> findUnassignedDriversByAgency(Long agencyId) {
-        return repo.findUnassignedDriversByAgency(agencyId);
+    public List<DriverDTO> findUnassignedDriversByAgency(Long agencyId) {
+        return repo.findUnassignedDriverDTOsByAgencyId(agencyId);
     }
 }
\ No newline at end of file
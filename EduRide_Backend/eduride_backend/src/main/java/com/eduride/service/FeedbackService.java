@@ -9,6 +9,8 @@ import org.springframework.stereotype.Service;
 
 import com.eduride.entity.*;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.paging.CursorPage;
+import com.eduride.paging.PageQuery;
 import com.eduride.repository.*;
 
 @Service
@@ -73,8 +75,8 @@ public class FeedbackService {
         repo.save(feedback);
     }
 
-    public List<Feedback> findAll() {
-        return repo.findAll();
+    public CursorPage<Feedback> findAll(PageQuery page) {
+        return page.fetch(repo::findBy);
     }
 
     public Feedback findById(Long id) {
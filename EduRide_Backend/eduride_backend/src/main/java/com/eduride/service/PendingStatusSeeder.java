@@ -0,0 +1,164 @@
+package com.eduride.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.eduride.repository.StudentRepository;
+import com.eduride.repository.StudentStatusRepository;
+import com.eduride.repository.StudentStatusRepositoryCustom.StatusUpsert;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Inserts the day's PENDING row for every rider (assigned bus, ACTIVE pass)
+ * shortly after midnight, so the day's taps update rows that already exist.
+ *
+ * Schools are seeded in parallel, each in chunks of students that commit on
+ * their own through {@link AttendanceCounterService#insertMissing}, which
+ * keeps the counters right and never touches a row that already exists. A run
+ * that hits its time limit, or dies with the process, leaves only complete
+ * chunks behind – the next scheduled run finds just the rows still missing.
+ * Students seen for the first time later in the day still get their row from
+ * the first tap's upsert.
+ *
+ * The scheduled trigger only hands the run to the seeder's own thread, so an
+ * hours-long seed never holds a scheduler thread (write-behind flush, SSE
+ * heartbeat, ...); a trigger that finds the previous run still going skips.
+ */
+@Service
+public class PendingStatusSeeder {
+
+    private static final Logger log = LoggerFactory.getLogger(PendingStatusSeeder.class);
+
+    private static final int STUDENTS_PER_CHUNK = 1_000;
+
+    private final StudentRepository studentRepository;
+    private final StudentStatusRepository statusRepository;
+    private final AttendanceCounterService attendanceCounters;
+    private final boolean enabled;
+    private final Duration timeLimit;
+    private final ExecutorService runner;
+    private final ExecutorService workers;
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    private volatile LocalDate completedFor;
+
+    public PendingStatusSeeder(
+            StudentRepository studentRepository,
+            StudentStatusRepository statusRepository,
+            AttendanceCounterService attendanceCounters,
+            @Value("${eduride.attendance.seed.enabled:true}") boolean enabled,
+            @Value("${eduride.attendance.seed.threads:4}") int threads,
+            @Value("${eduride.attendance.seed.time-limit:4h}") Duration timeLimit
+    ) {
+        this.studentRepository = studentRepository;
+        this.statusRepository = statusRepository;
+        this.attendanceCounters = attendanceCounters;
+        this.enabled = enabled;
+        this.timeLimit = timeLimit;
+
+        this.runner = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pending-seed-run");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadIndex = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "pending-seed-" + threadIndex.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public record SeedRun(LocalDate date, int schools, int schoolsCompleted, long inserted) {
+
+        public boolean complete() {
+            return schoolsCompleted == schools;
+        }
+    }
+
+    /** First run after midnight; the later ones finish what a restart or the time limit left over. */
+    @Scheduled(cron = "${eduride.attendance.seed.cron:0 5/30 0-4 * * *}")
+    public void seedToday() {
+        LocalDate today = LocalDate.now();
+        if (!enabled || today.equals(completedFor) || !running.compareAndSet(false, true)) {
+            return;
+        }
+        runner.execute(() -> {
+            try {
+                seed(today);
+            } catch (RuntimeException e) {
+                log.warn("PENDING seed for {} failed, the next run retries it", today, e);
+            } finally {
+                running.set(false);
+            }
+        });
+    }
+
+    public SeedRun seed(LocalDate date) {
+        List<Long> schoolIds = studentRepository.findSchoolIdsWithActiveRiders();
+        long deadline = System.nanoTime() + timeLimit.toNanos();
+        AtomicLong inserted = new AtomicLong();
+
+        List<Callable<Boolean>> tasks = schoolIds.stream()
+                .map(schoolId -> (Callable<Boolean>) () -> seedSchool(date, schoolId, deadline, inserted))
+                .toList();
+
+        int completed = 0;
+        try {
+            for (Future<Boolean> school : workers.invokeAll(tasks)) {
+                try {
+                    if (school.get()) {
+                        completed++;
+                    }
+                } catch (ExecutionException e) {
+                    log.warn("PENDING seed for {} failed for one school, the next run retries it", date, e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        SeedRun run = new SeedRun(date, schoolIds.size(), completed, inserted.get());
+        if (run.complete()) {
+            completedFor = date;
+        }
+        log.info("PENDING seed for {}: {} rows inserted, {} of {} schools complete",
+                date, run.inserted(), completed, schoolIds.size());
+        return run;
+    }
+
+    private boolean seedSchool(LocalDate date, Long schoolId, long deadline, AtomicLong inserted) {
+        long after = 0;
+        while (System.nanoTime() - deadline < 0) {
+            List<StatusUpsert> rows = statusRepository.findPendingToSeed(date, schoolId, after, STUDENTS_PER_CHUNK);
+            if (rows.isEmpty()) {
+                return true;
+            }
+            inserted.addAndGet(attendanceCounters.insertMissing(rows));
+            after = rows.get(rows.size() - 1).studentId();
+        }
+        return false;
+    }
+
+    @PreDestroy
+    public void close() {
+        runner.shutdownNow();
+        workers.shutdownNow();
+    }
+}
@@ -7,18 +7,24 @@ import java.util.Optional;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import com.eduride.attendance.AttendanceCounts;
+import com.eduride.attendance.AttendanceStateEngine;
 import com.eduride.dto.SchoolSummaryDTO;
 import com.eduride.dto.dashboard.SchoolDashboardSummaryDTO;
 import com.eduride.entity.Agency;
 import com.eduride.entity.Bus;
+import com.eduride.entity.CounterScope;
 import com.eduride.entity.Role;
 import com.eduride.entity.School;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.monitoring.HotPathMetrics;
 import com.eduride.repository.AgencyRepository;
 import com.eduride.repository.BusRepository;
 import com.eduride.repository.SchoolRepository;
 import com.eduride.repository.StudentRepository;
 import com.eduride.repository.StudentStatusRepository;
+import com.eduride.security.TenantContext;
+import com.eduride.security.UserPrincipalCache;
 
 import jakarta.transaction.Transactional;
 
@@ -31,7 +37,12 @@ public class SchoolService {
     private final BusRepository busRepository;
     private final StudentStatusRepository studentStatusRepository;
     private final AgencyRepository agencyRepository;
-
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AttendanceStateEngine attendanceEngine;
+    private final AttendanceCounterService attendanceCounters;
+    private final AgencyDashboardCache dashboardCache;
+    private final HotPathMetrics metrics;
 
     public SchoolService(
             SchoolRepository repo,
@@ -39,7 +50,13 @@ public class SchoolService {
             StudentRepository studentRepository,
             BusRepository busRepository,
             StudentStatusRepository studentStatusRepository, 
-            AgencyRepository agencyRepository
+            AgencyRepository agencyRepository,
+            UserPrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService,
+            AttendanceStateEngine attendanceEngine,
+            AttendanceCounterService attendanceCounters,
+            AgencyDashboardCache dashboardCache,
+            HotPathMetrics metrics
     ) {
         this.repo = repo;
         this.passwordEncoder = passwordEncoder;
@@ -47,12 +64,22 @@ public class SchoolService {
         this.busRepository = busRepository;
         this.studentStatusRepository = studentStatusRepository;
 		this.agencyRepository = agencyRepository;
+		this.principalCache = principalCache;
+		this.tokenRevocationService = tokenRevocationService;
+		this.attendanceEngine = attendanceEngine;
+		this.attendanceCounters = attendanceCounters;
+		this.dashboardCache = dashboardCache;
+		this.metrics = metrics;
     }
 
     public School create(School school) {
         school.setRole(Role.SCHOOL);
         school.setPassword(passwordEncoder.encode(school.getPassword()));
-        return repo.save(school);
+        School saved = repo.save(school);
+        if (saved.getAgency() != null) {
+            dashboardCache.evict(saved.getAgency().getId());
+        }
+        return saved;
     }
 
     public List<School> findAll() {
@@ -60,7 +87,7 @@ public class SchoolService {
     }
 
     public School findById(Long id) {
-        return repo.findById(id)
+        return repo.findWithAgencyById(id)
                 .orElseThrow(() -> new ResourceNotFoundException("School not found with id: " + id));
     }
 
@@ -68,8 +95,14 @@ public class SchoolService {
         return repo.findByEmail(email);
     }
 
+    public Optional<School> findWithAgencyByEmail(String email) {
+        return repo.findWithAgencyByEmail(email);
+    }
+
+    @Transactional
     public School update(Long id, School updated) {
         School existing = findById(id);
+        String previousEmail = existing.getEmail();
 
         // ✅ Allow basic profile updates
         existing.setName(updated.getName());
@@ -88,22 +121,36 @@ public class SchoolService {
                             new ResourceNotFoundException("Agency not found with id: " + agencyId));
 
             existing.setAgency(agency);
+
+            // 🔐 School, student and helper tokens carry the agency id
+            tokenRevocationService.revoke(existing);
+            tokenRevocationService.revokeSchoolMembers(existing.getId());
+
+            // 📊 The school and its students now count towards this agency
+            dashboardCache.evict(agency.getId());
         }
 
         // ✅ Password update (optional)
         if (updated.getPassword() != null && !updated.getPassword().isBlank()) {
             existing.setPassword(passwordEncoder.encode(updated.getPassword()));
+            tokenRevocationService.revoke(existing); // signs out every session on the old password
         }
 
-        return repo.save(existing);
+        School saved = repo.save(existing);
+
+        principalCache.evict(previousEmail);
+        principalCache.evict(saved.getEmail());
+        return saved;
     }
 
 
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("School not found with id: " + id);
-        }
+        School school = findById(id);
+        principalCache.evict(school.getEmail());
         repo.deleteById(id);
+        if (school.getAgency() != null) {
+            dashboardCache.evict(school.getAgency().getId());
+        }
     }
 
     
@@ -115,20 +162,34 @@ public class SchoolService {
     }
     
 
-    public SchoolDashboardSummaryDTO getSchoolDashboardSummary(String currentEmail) {
-        School school = findByEmail(currentEmail)
+    public SchoolDashboardSummaryDTO getSchoolDashboardSummary() {
+        return metrics.time(HotPathMetrics.DASHBOARD_SUMMARY,
+                () -> buildDashboardSummary(TenantContext.current().schoolId()), "dashboard", "school");
+    }
+
+    private SchoolDashboardSummaryDTO buildDashboardSummary(Long schoolId) {
+        // 🔹 The token carries the school id – only its name is read
+        String schoolName = repo.findNameById(schoolId)
                 .orElseThrow(() -> new ResourceNotFoundException("Authenticated school not found"));
 
-        Long schoolId = school.getId();
         LocalDate today = LocalDate.now();
 
-        long totalStudents = studentRepository.countBySchoolId(schoolId);
         long totalBuses = busRepository.countBySchoolId(schoolId);
 
-        long presentCount =
-                studentStatusRepository.countByStudent_School_IdAndDateAndPickupStatus(
-                        schoolId, today, "PICKED"
-                );
+        long totalStudents;
+        long presentCount;
+        Optional<AttendanceCounts> counts = attendanceEngine.countsForSchool(schoolId);
+        if (counts.isPresent()) {
+            // 🔹 In-memory tally – no COUNT queries
+            totalStudents = counts.get().totalStudents();
+            presentCount = counts.get().picked();
+        } else {
+            // 🔹 Materialised counters – primary-key lookup instead of a COUNT join
+            totalStudents = studentRepository.countBySchoolId(schoolId);
+            presentCount = attendanceCounters
+                    .countsFor(CounterScope.SCHOOL, schoolId, today)
+                    .getOrDefault("PICKED", 0L);
+        }
 
         long absentCount = totalStudents - presentCount;
         if (absentCount < 0) absentCount = 0;
@@ -137,7 +198,7 @@ public class SchoolService {
                 totalStudents > 0 ? (presentCount * 100.0) / totalStudents : 0.0;
 
         return new SchoolDashboardSummaryDTO(
-                school.getName(),
+                schoolName,
                 totalStudents,
                 totalBuses,
                 presentCount,
@@ -168,12 +229,16 @@ public class SchoolService {
         List<Bus> buses = busRepository.findBySchoolId(schoolId);
         for (Bus bus : buses) {
             bus.setSchool(null);
+            tokenRevocationService.revoke(bus.getDriver()); // driver token carries the school id
         }
         busRepository.saveAll(buses);
 
         // Release school
         school.setAgency(null);
+        tokenRevocationService.revoke(school);
+        tokenRevocationService.revokeSchoolMembers(schoolId);
         repo.save(school);
+        dashboardCache.evict(agencyId);
     }
 
 
@@ -4,13 +4,18 @@ import com.eduride.entity.Role;
 import com.eduride.entity.School;
 import com.eduride.entity.Student;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.paging.CursorPage;
+import com.eduride.paging.PageQuery;
 import com.eduride.repository.BusRepository;
 import com.eduride.repository.SchoolRepository;
 import com.eduride.repository.StudentRepository;
+import com.eduride.security.TenantContext;
+import com.eduride.security.UserPrincipalCache;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.eduride.dto.StudentDTO;
@@ -19,6 +24,7 @@ import com.eduride.mapper.StudentMapper;
 
 
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 @Service
@@ -28,33 +34,44 @@ public class StudentService {
     private final SchoolRepository schoolRepository;
     private final PasswordEncoder passwordEncoder;
     private final BusRepository busRepository;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
+    private final AgencyDashboardCache dashboardCache;
 
     public StudentService(
             StudentRepository repo,
             SchoolRepository schoolRepository,
-            PasswordEncoder passwordEncoder, BusRepository busRepository
+            PasswordEncoder passwordEncoder, BusRepository busRepository,
+            UserPrincipalCache principalCache,
+            TokenRevocationService tokenRevocationService,
+            AgencyDashboardCache dashboardCache
     ) {
         this.repo = repo;
         this.schoolRepository = schoolRepository;
         this.passwordEncoder = passwordEncoder;
 		this.busRepository = busRepository;
+		this.principalCache = principalCache;
+		this.tokenRevocationService = tokenRevocationService;
+		this.dashboardCache = dashboardCache;
     }
 
     // CREATE
     public Student create(Student student) {
         student.setRole(Role.STUDENT);
         student.setPassword(passwordEncoder.encode(student.getPassword()));
-        return repo.save(student);
+        Student saved = repo.save(student);
+        evictAgencyDashboard(saved);
+        return saved;
     }
 
     // READ ALL
-    public List<Student> findAll() {
-        return repo.findAll();
+    public CursorPage<Student> findAll(PageQuery page) {
+        return page.fetch(repo::findBy);
     }
 
     // READ BY ID
     public Student findById(Long id) {
-        return repo.findById(id)
+        return repo.findWithSchoolAndBusById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Student not found with id: " + id));
     }
@@ -117,7 +134,9 @@ public class StudentService {
             );
         }
 
-        return repo.save(student);
+        Student saved = repo.save(student);
+        evictAgencyDashboard(saved);
+        return saved;
     }
 
     
@@ -169,29 +188,22 @@ public class StudentService {
     
     
 
+    @Transactional
     public StudentDTO update(Long id, Student updated) {
 
         Student existing = findById(id);
 
-        String currentEmail = SecurityContextHolder.getContext()
-                .getAuthentication().getName();
+        TenantContext tenant = TenantContext.current();
 
-        String role = SecurityContextHolder.getContext()
-                .getAuthentication()
-                .getAuthorities()
-                .iterator()
-                .next()
-                .getAuthority();
-
-        if ("ROLE_STUDENT".equals(role)) {
-            if (!existing.getEmail().equals(currentEmail)) {
+        if (tenant.is(Role.STUDENT)) {
+            if (!existing.getId().equals(tenant.userId())) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN);
             }
         }
 
-        if ("ROLE_SCHOOL".equals(role)) {
+        if (tenant.is(Role.SCHOOL)) {
             if (existing.getSchool() == null ||
-                !existing.getSchool().getEmail().equals(currentEmail)) {
+                !existing.getSchool().getId().equals(tenant.schoolId())) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN);
             }
         }
@@ -202,22 +214,26 @@ public class StudentService {
         existing.setPhone(updated.getPhone());
         existing.setAddress(updated.getAddress());
         existing.setPassStatus(updated.getPassStatus());
+
+        // 🔐 Student's token carries the assigned bus id
+        Long previousBusId = existing.getAssignedBus() != null ? existing.getAssignedBus().getId() : null;
+        Long newBusId = updated.getAssignedBus() != null ? updated.getAssignedBus().getId() : null;
+        if (!Objects.equals(previousBusId, newBusId)) {
+            tokenRevocationService.revoke(existing);
+        }
         existing.setAssignedBus(updated.getAssignedBus());
 
         Student saved = repo.save(existing);
 
+        // the cached principal carries the name
+        principalCache.evict(saved.getEmail());
+
         return StudentMapper.toDTO(saved);
     }
 
     
-    public List<StudentDTO> findDTOsByLoggedInSchool(String schoolEmail) {
-        School school = schoolRepository.findByEmail(schoolEmail)
-                .orElseThrow(() -> new ResponseStatusException(
-                        HttpStatus.NOT_FOUND,
-                        "School not found"
-                ));
-
-        return repo.findBySchoolId(school.getId())
+    public List<StudentDTO> findDTOsBySchool(Long schoolId) {
+        return repo.findBySchoolId(schoolId)
                    .stream()
                    .map(StudentMapper::toDTO)
                    .toList();
@@ -232,10 +248,20 @@ public class StudentService {
 
     // DELETE
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException("Student not found");
-        }
+        Student student = repo.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Student not found"));
+        principalCache.evict(student.getEmail());
         repo.deleteById(id);
+        evictAgencyDashboard(student);
+    }
+
+    // 📊 Students count towards their school's agency
+    private void evictAgencyDashboard(Student student) {
+        if (student.getSchool() == null || student.getSchool().getId() == null) {
+            return;
+        }
+        schoolRepository.findAgencyIdById(student.getSchool().getId())
+                .ifPresent(dashboardCache::evict);
     }
 
     public List<Student> findBySchool(Long schoolId) {
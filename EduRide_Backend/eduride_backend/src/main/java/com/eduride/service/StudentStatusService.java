@@ -1,79 +1,218 @@
 package com.eduride.service;
 
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
 
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Isolation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import com.eduride.attendance.AttendanceMonthCodec;
+import com.eduride.attendance.AttendanceStateEngine;
+import com.eduride.attendance.RosterEntry;
 import com.eduride.dto.HelperStudentStatusDTO;
+import com.eduride.dto.StatusBatchItem;
+import com.eduride.dto.StatusBatchResult;
 import com.eduride.dto.StudentStatusDTO;
 import com.eduride.entity.BusHelper;
 import com.eduride.entity.Student;
 import com.eduride.entity.StudentStatus;
+import com.eduride.entity.StudentStatusMonth;
 import com.eduride.exception.ResourceNotFoundException;
+import com.eduride.live.PickupStatusEvent;
+import com.eduride.live.StatusEventBroadcaster;
+import com.eduride.paging.CursorPage;
+import com.eduride.paging.PageQuery;
+import com.eduride.repository.StudentRepository;
+import com.eduride.repository.StudentStatusMonthRepository;
 import com.eduride.repository.StudentStatusRepository;
-
-import jakarta.transaction.Transactional;
+import com.eduride.repository.StudentStatusRepositoryCustom;
 
 @Service
 public class StudentStatusService {
 
-    private final StudentStatusRepository repo;
+    private static final Set<String> PICKUP_STATUSES = Set.of("PENDING", "PICKED", "DROPPED");
+    private static final int MAX_BATCH_SIZE = 500;
 
-    public StudentStatusService(StudentStatusRepository repo) {
+    private final StudentStatusRepository repo;
+    private final StudentRepository studentRepository;
+    private final AttendanceStateEngine attendanceEngine;
+    private final StatusEventBroadcaster statusEvents;
+    private final AttendanceCounterService attendanceCounters;
+    private final StudentStatusMonthRepository archiveRepository;
+
+    public StudentStatusService(
+            StudentStatusRepository repo,
+            StudentRepository studentRepository,
+            AttendanceStateEngine attendanceEngine,
+            StatusEventBroadcaster statusEvents,
+            AttendanceCounterService attendanceCounters,
+            StudentStatusMonthRepository archiveRepository
+    ) {
         this.repo = repo;
+        this.studentRepository = studentRepository;
+        this.attendanceEngine = attendanceEngine;
+        this.statusEvents = statusEvents;
+        this.attendanceCounters = attendanceCounters;
+        this.archiveRepository = archiveRepository;
     }
 
     // ─── CREATE ───
+    // Same atomic upsert as the helper path – a second create for the same
+    // student and day updates the existing row instead of duplicating it.
+    // No surrounding transaction: the write commits in its own (READ COMMITTED) one
     public StudentStatus create(StudentStatus status) {
         if (status.getDate() == null) {
             status.setDate(LocalDate.now());
         }
-        return repo.save(status);
+        if (status.getStudent() == null || status.getStudent().getId() == null
+                || status.getUpdatedBy() == null || status.getUpdatedBy().getId() == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "student and updatedBy are required");
+        }
+
+        Long studentId = status.getStudent().getId();
+        write(studentId, status.getDate(), status.getPickupStatus(), status.getUpdatedBy().getId());
+        if (status.getDate().equals(LocalDate.now()) && status.getPickupStatus() != null) {
+            publishToday(Map.of(studentId, status.getPickupStatus()));
+        }
+
+        return repo.findWithDetailsByStudentIdAndDate(studentId, status.getDate())
+                .orElseThrow(() -> new ResourceNotFoundException("Student status not found"));
     }
 
     // ─── READ ALL ───
-    public List<StudentStatus> findAll() {
-        return repo.findAll();
+    public CursorPage<StudentStatus> findAll(PageQuery page) {
+        return page.fetch(repo::findBy);
     }
 
     // ─── READ ONE ───
     public StudentStatus findById(Long id) {
-        return repo.findById(id)
+        return repo.findWithDetailsById(id)
                 .orElseThrow(() ->
                         new ResourceNotFoundException("Student status not found with id: " + id));
     }
 
     // ─── UPDATE ───
+    // The edited row is written like any other status: through the engine for
+    // today's pickup statuses, with its counter deltas otherwise. Moving a status
+    // to another student takes it off the first one's row and counters.
     public StudentStatus update(Long id, StudentStatus updated) {
         StudentStatus existing = findById(id);
 
-        if (updated.getPickupStatus() != null) {
-            existing.setPickupStatus(updated.getPickupStatus());
-        }
-        if (updated.getStudent() != null) {
-            existing.setStudent(updated.getStudent());
+        Long previousStudentId = existing.getStudent().getId();
+        Long studentId = updated.getStudent() != null && updated.getStudent().getId() != null
+                ? updated.getStudent().getId()
+                : previousStudentId;
+        String pickupStatus = updated.getPickupStatus() != null
+                ? updated.getPickupStatus()
+                : existing.getPickupStatus();
+        Long updatedBy = updated.getUpdatedBy() != null && updated.getUpdatedBy().getId() != null
+                ? updated.getUpdatedBy().getId()
+                : existing.getUpdatedBy() != null ? existing.getUpdatedBy().getId() : null;
+
+        if (!studentId.equals(previousStudentId)) {
+            remove(previousStudentId, existing.getDate());
         }
-        if (updated.getUpdatedBy() != null) {
-            existing.setUpdatedBy(updated.getUpdatedBy());
+        write(studentId, existing.getDate(), pickupStatus, updatedBy);
+
+        // both writes have committed: live streams show the correction
+        if (existing.getDate().equals(LocalDate.now())) {
+            Map<Long, String> changed = new HashMap<>();
+            if (!studentId.equals(previousStudentId)) {
+                changed.put(previousStudentId, null);
+            }
+            changed.put(studentId, pickupStatus);
+            publishToday(changed);
         }
 
-        return repo.save(existing);
+        return repo.findWithDetailsByStudentIdAndDate(studentId, existing.getDate())
+                .orElseThrow(() -> new ResourceNotFoundException("Student status not found"));
     }
 
     // ─── DELETE ───
+    // Takes the status off the counters (and the engine's tally) with the row
     public void delete(Long id) {
-        if (!repo.existsById(id)) {
-            throw new ResourceNotFoundException(
-                    "Student status not found with id: " + id);
+        StudentStatus existing = findById(id);
+        remove(existing.getStudent().getId(), existing.getDate());
+
+        if (existing.getDate().equals(LocalDate.now())) {
+            publishToday(Collections.singletonMap(existing.getStudent().getId(), null));
+        }
+    }
+
+    // Today's pickup statuses go through the engine so dashboards see them;
+    // flush straight away because the caller reads the persisted row back
+    private void write(Long studentId, LocalDate date, String pickupStatus, Long updatedBy) {
+        if (attendanceEngine.isEnabled()
+                && date.equals(LocalDate.now())
+                && PICKUP_STATUSES.contains(pickupStatus)) {
+            attendanceEngine.record(Map.of(studentId, pickupStatus), updatedBy);
+            if (!attendanceEngine.flush()) {
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                        "Status recorded but not yet persisted, retry the read shortly");
+            }
+        } else {
+            // Keep ordering with any engine write for the same student still waiting to flush
+            attendanceEngine.flush();
+            attendanceCounters.upsertAll(List.of(new StudentStatusRepositoryCustom.StatusUpsert(
+                    studentId, date, pickupStatus, updatedBy)));
+        }
+    }
+
+    private void remove(Long studentId, LocalDate date) {
+        List<Long> studentIds = List.of(studentId);
+        if (attendanceEngine.isEnabled() && date.equals(LocalDate.now())) {
+            attendanceEngine.clear(studentId, () -> attendanceCounters.deleteAll(date, studentIds));
+        } else {
+            attendanceEngine.flush();
+            attendanceCounters.deleteAll(date, studentIds);
         }
-        repo.deleteById(id);
     }
 
     // ─── Find all statuses for a specific student ───
+    // student_status plus archived months; archived days come back without id and updatedBy
     public List<StudentStatus> findByStudent(Long studentId) {
-        return repo.findByStudentId(studentId);
+        List<StudentStatus> statuses = repo.findByStudentId(studentId);
+        List<StudentStatusMonth> archived = archiveRepository.findByStudentIdOrderByMonth(studentId);
+        if (archived.isEmpty()) {
+            return statuses;
+        }
+
+        Set<LocalDate> hotDates = new HashSet<>();
+        statuses.forEach(status -> hotDates.add(status.getDate()));
+        Student student = statuses.isEmpty()
+                ? studentRepository.findById(studentId).orElse(null)
+                : statuses.get(0).getStudent();
+
+        List<StudentStatus> history = new ArrayList<>(statuses);
+        for (StudentStatusMonth month : archived) {
+            String[] byDay = AttendanceMonthCodec.decode(month.getStatuses());
+            for (int day = 1; day <= month.getMonth().lengthOfMonth(); day++) {
+                LocalDate date = month.getMonth().withDayOfMonth(day);
+                if (byDay[day - 1] == null || hotDates.contains(date)) {
+                    continue; // no status that day, or a later write in student_status wins
+                }
+                StudentStatus status = new StudentStatus();
+                status.setDate(date);
+                status.setPickupStatus(byDay[day - 1]);
+                status.setStudent(student);
+                history.add(status);
+            }
+        }
+        history.sort(Comparator.comparing(StudentStatus::getDate));
+        return history;
     }
 
     // ─── Find today's status for a specific student ───
@@ -105,30 +244,139 @@ public class StudentStatusService {
     }
 
     // ─── ✅ NEW: UPSERT TODAY STATUS (HELPER USE) ───
-    public StudentStatus upsertTodayStatus(
+    // In-memory engine (journalled, flushed in batches) when enabled; otherwise an
+    // INSERT ... ON DUPLICATE KEY UPDATE on (student_id, date) plus the counter deltas,
+    // in one transaction – double taps and helper / school races never duplicate rows
+    public void upsertTodayStatus(
             Long studentId,
             String pickupStatus,
             BusHelper helper) {
 
+        if (attendanceEngine.isEnabled()) {
+            attendanceEngine.record(Map.of(studentId, pickupStatus), helper.getId());
+        } else {
+            attendanceCounters.upsertAll(List.of(new StudentStatusRepositoryCustom.StatusUpsert(
+                    studentId,
+                    LocalDate.now(),
+                    pickupStatus,
+                    helper.getId())));
+        }
+        publishToday(Map.of(studentId, pickupStatus));
+    }
+    
+    
+    // ─── ✅ BATCH UPSERT TODAY STATUS (HELPER MARKS A WHOLE BUS) ───
+    @Transactional(isolation = Isolation.READ_COMMITTED)
+    public StatusBatchResult upsertTodayStatuses(
+            List<StatusBatchItem> items,
+            Long helperId,
+            Long busId) {
+
+        if (busId == null) {
+            throw new ResponseStatusException(HttpStatus.CONFLICT, "No bus assigned to this helper");
+        }
+        if (items == null || items.isEmpty()) {
+            return new StatusBatchResult(0, 0);
+        }
+        if (items.size() > MAX_BATCH_SIZE) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "At most " + MAX_BATCH_SIZE + " statuses per batch");
+        }
+
+        // Repeated taps on the same child: keep the latest one (list order breaks ties)
+        long receivedAt = System.currentTimeMillis();
+        Map<Long, StatusBatchItem> latest = new LinkedHashMap<>();
+        for (StatusBatchItem item : items) {
+            if (item.getStudentId() == null || !PICKUP_STATUSES.contains(item.getPickupStatus())) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Each item needs a studentId and a pickupStatus of " + PICKUP_STATUSES);
+            }
+            if (item.getClientTimestamp() == null) {
+                item.setClientTimestamp(receivedAt);
+            }
+            latest.merge(item.getStudentId(), item,
+                    (kept, next) -> next.getClientTimestamp() >= kept.getClientTimestamp() ? next : kept);
+        }
+
+        // 🔐 Every student must ride the helper's bus – one query for the whole batch
+        Set<Long> onBus = new HashSet<>(studentRepository.findIdsOnBus(busId, latest.keySet()));
+        if (onBus.size() != latest.size()) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN,
+                    "Some students are not assigned to your bus");
+        }
+
+        Map<Long, String> statuses = new LinkedHashMap<>();
+        latest.forEach((studentId, item) -> statuses.put(studentId, item.getPickupStatus()));
+
+        if (attendanceEngine.isEnabled()) {
+            attendanceEngine.record(statuses, helperId);
+            publishToday(statuses);
+            return new StatusBatchResult(items.size(), statuses.size());
+        }
+
         LocalDate today = LocalDate.now();
+        List<StudentStatusRepositoryCustom.StatusUpsert> rows = latest.values().stream()
+                .map(item -> new StudentStatusRepositoryCustom.StatusUpsert(
+                        item.getStudentId(),
+                        today,
+                        item.getPickupStatus(),
+                        helperId))
+                .toList();
+
+        attendanceCounters.upsertAll(rows);
+        publishToday(statuses);
+        return new StatusBatchResult(items.size(), rows.size());
+    }
+
 
-        Optional<StudentStatus> existing =
-                repo.findByStudentIdAndDate(studentId, today);
+    // ─── Live status events (SSE) for the student's, bus's and school's streams ───
+    private void publishToday(Map<Long, String> statusByStudent) {
+        if (statusEvents.subscriberCount() == 0) {
+            return;
+        }
 
-        StudentStatus status = existing.orElse(new StudentStatus());
+        // bus / school routing from the engine when it has the student, one query for the rest
+        Map<Long, RosterEntry> routes = new HashMap<>();
+        for (Long studentId : statusByStudent.keySet()) {
+            attendanceEngine.rosterOf(studentId).ifPresent(entry -> routes.put(studentId, entry));
+        }
+        if (routes.size() < statusByStudent.size()) {
+            List<Long> missing = statusByStudent.keySet().stream()
+                    .filter(studentId -> !routes.containsKey(studentId))
+                    .toList();
+            studentRepository.findAttendanceRosterEntries(missing)
+                    .forEach(entry -> routes.put(entry.studentId(), entry));
+        }
 
-        Student student = new Student();
-        student.setId(studentId);
+        LocalDate today = LocalDate.now();
+        long now = System.currentTimeMillis();
+        List<PickupStatusEvent> events = new ArrayList<>(statusByStudent.size());
+        statusByStudent.forEach((studentId, pickupStatus) -> {
+            RosterEntry route = routes.get(studentId);
+            events.add(new PickupStatusEvent(
+                    studentId,
+                    route != null ? route.busId() : null,
+                    route != null ? route.schoolId() : null,
+                    pickupStatus,
+                    today,
+                    now));
+        });
+        statusEvents.publish(events);
+    }
 
-        status.setDate(today);
-        status.setPickupStatus(pickupStatus);
-        status.setStudent(student);
-        status.setUpdatedBy(helper);
 
-        return repo.save(status);
+    // ─── Helper roster with today's status (single projection query) ───
+    public List<HelperStudentStatusDTO> getTodayRosterForBus(Long busId) {
+        if (busId == null) {
+            return List.of();
+        }
+        List<HelperStudentStatusDTO> roster = repo.findRosterByBusAndDate(busId, LocalDate.now());
+        // marks not flushed yet are only in the engine
+        roster.forEach(dto -> attendanceEngine.statusOf(dto.getStudentId()).ifPresent(dto::setPickupStatus));
+        return roster;
     }
-    
-    
+
+
     public List<HelperStudentStatusDTO> findTodayBySchoolDTO(Long schoolId) {
 
         LocalDate today = LocalDate.now();
@@ -0,0 +1,43 @@
+package com.eduride.service;
+
+import org.springframework.stereotype.Service;
+
+import com.eduride.entity.User;
+import com.eduride.repository.UserRepository;
+import com.eduride.security.UserPrincipalCache;
+
+/**
+ * Invalidates issued JWTs by bumping the user's token version.
+ *
+ * Call it whenever something carried in the token (bus, school, agency,
+ * credentials) changes. The cached principal is evicted again once the
+ * surrounding transaction commits (see UserPrincipalCache), so a concurrent
+ * request cannot re-cache the old version.
+ */
+@Service
+public class TokenRevocationService {
+
+    private final UserRepository userRepository;
+    private final UserPrincipalCache principalCache;
+
+    public TokenRevocationService(UserRepository userRepository, UserPrincipalCache principalCache) {
+        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+    }
+
+    // Caller persists the entity (managed entities are flushed on commit)
+    public void revoke(User user) {
+        if (user == null) {
+            return;
+        }
+        user.setTokenVersion(user.getTokenVersion() + 1);
+
+        principalCache.evict(user.getEmail());
+    }
+
+    // School's agency changed – students and helpers carry that agency in their tokens
+    public void revokeSchoolMembers(Long schoolId) {
+        userRepository.incrementTokenVersionForSchoolMembers(schoolId);
+        userRepository.findSchoolMemberEmails(schoolId).forEach(principalCache::evict);
+    }
+}
@@ -3,21 +3,30 @@ package com.eduride.service;
 import com.eduride.dto.ChangePasswordRequest;
 import com.eduride.entity.User;
 import com.eduride.repository.UserRepository;
+import com.eduride.security.UserPrincipalCache;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 @Service
 public class UserService {
 
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
+    private final UserPrincipalCache principalCache;
+    private final TokenRevocationService tokenRevocationService;
 
     public UserService(UserRepository userRepository,
-                       PasswordEncoder passwordEncoder) {
+                       PasswordEncoder passwordEncoder,
+                       UserPrincipalCache principalCache,
+                       TokenRevocationService tokenRevocationService) {
         this.userRepository = userRepository;
         this.passwordEncoder = passwordEncoder;
+        this.principalCache = principalCache;
+        this.tokenRevocationService = tokenRevocationService;
     }
 
+    @Transactional
     public void changePassword(String email, ChangePasswordRequest request) {
 
         User user = userRepository.findByEmail(email)
@@ -30,6 +39,10 @@ public class UserService {
 
         // 2️⃣ Encode and update new password
         user.setPassword(passwordEncoder.encode(request.getNewPassword()));
+        tokenRevocationService.revoke(user); // signs out every session on the old password, this one included
         userRepository.save(user);
+
+        // 3️⃣ Drop the cached principal so the old hash is never served again
+        principalCache.evict(email);
     }
 }
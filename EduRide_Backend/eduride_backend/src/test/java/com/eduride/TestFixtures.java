@@ -0,0 +1,185 @@
+package com.eduride;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.TestComponent;
+
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.entity.StudentStatus;
+import com.eduride.entity.User;
+import com.eduride.repository.AgencyRepository;
+import com.eduride.repository.BusHelperRepository;
+import com.eduride.repository.BusRepository;
+import com.eduride.repository.DriverRepository;
+import com.eduride.repository.SchoolRepository;
+import com.eduride.repository.StudentRepository;
+import com.eduride.repository.StudentStatusRepository;
+
+/**
+ * Saved test data for the agency → school → bus → helper / driver → students
+ * chain. Every row gets its own number, so emails, phones, bus numbers and
+ * licences never collide between tests sharing a context; pass a customizer
+ * to set what a test asserts on. Pull in with {@code @Import(TestFixtures.class)}.
+ */
+@TestComponent
+public class TestFixtures {
+
+    // shared by every context in the JVM: they may share one H2 database
+    private static final AtomicLong SEQUENCE = new AtomicLong();
+
+    @Autowired
+    private AgencyRepository agencyRepository;
+
+    @Autowired
+    private SchoolRepository schoolRepository;
+
+    @Autowired
+    private BusRepository busRepository;
+
+    @Autowired
+    private DriverRepository driverRepository;
+
+    @Autowired
+    private BusHelperRepository helperRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private StudentStatusRepository statusRepository;
+
+    // ─── USERS ───
+
+    /** Not saved, for tests that go through a service or saveAll. */
+    public Agency newAgency() {
+        long n = SEQUENCE.incrementAndGet();
+        Agency agency = user(new Agency(), "agency", n, Role.AGENCY);
+        agency.setAddress("Pune");
+        return agency;
+    }
+
+    public Agency agency() {
+        return agencyRepository.save(newAgency());
+    }
+
+    public School school(Agency agency) {
+        long n = SEQUENCE.incrementAndGet();
+        School school = user(new School(), "school", n, Role.SCHOOL);
+        school.setAddress("Pune");
+        school.setAgency(agency);
+        return schoolRepository.save(school);
+    }
+
+    public Driver driver(Agency agency) {
+        return driver(agency, driver -> { });
+    }
+
+    public Driver driver(Agency agency, Consumer<Driver> customizer) {
+        long n = SEQUENCE.incrementAndGet();
+        Driver driver = user(new Driver(), "driver", n, Role.DRIVER);
+        driver.setLicenseNumber("LIC-" + n);
+        driver.setAgency(agency);
+        customizer.accept(driver);
+        return driverRepository.save(driver);
+    }
+
+    public BusHelper helper(School school, Bus bus) {
+        return helper(school, bus, helper -> { });
+    }
+
+    public BusHelper helper(School school, Bus bus, Consumer<BusHelper> customizer) {
+        long n = SEQUENCE.incrementAndGet();
+        BusHelper helper = user(new BusHelper(), "helper", n, Role.HELPER);
+        helper.setSchool(school);
+        helper.setAssignedBus(bus);
+        customizer.accept(helper);
+        return helperRepository.save(helper);
+    }
+
+    /** Not saved, for tests that go through StudentService. */
+    public Student newStudent(School school, Bus bus) {
+        long n = SEQUENCE.incrementAndGet();
+        Student student = user(new Student(), "student", n, Role.STUDENT);
+        student.setRollNo(Long.toString(n));
+        student.setClassName("5A");
+        student.setAddress("Pune");
+        student.setPassStatus("ACTIVE");
+        student.setSchool(school);
+        student.setAssignedBus(bus);
+        return student;
+    }
+
+    public Student student(School school, Bus bus) {
+        return student(school, bus, student -> { });
+    }
+
+    public Student student(School school, Bus bus, Consumer<Student> customizer) {
+        Student student = newStudent(school, bus);
+        customizer.accept(student);
+        return studentRepository.save(student);
+    }
+
+    public List<Student> students(School school, Bus bus, int count) {
+        List<Student> students = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            students.add(student(school, bus));
+        }
+        return students;
+    }
+
+    // ─── BUSES / STATUSES ───
+
+    public Bus bus(Agency agency, School school) {
+        return bus(agency, school, bus -> { });
+    }
+
+    public Bus bus(Agency agency, School school, Consumer<Bus> customizer) {
+        Bus bus = new Bus();
+        bus.setBusNumber("BUS-" + SEQUENCE.incrementAndGet());
+        bus.setCapacity(40);
+        bus.setAgency(agency);
+        bus.setSchool(school);
+        customizer.accept(bus);
+        return busRepository.save(bus);
+    }
+
+    /** Saved straight to student_status, bypassing the counter path. */
+    public StudentStatus status(Student student, BusHelper helper, LocalDate date, String pickupStatus) {
+        StudentStatus status = new StudentStatus();
+        status.setStudent(student);
+        status.setDate(date);
+        status.setPickupStatus(pickupStatus);
+        status.setUpdatedBy(helper);
+        return statusRepository.save(status);
+    }
+
+    /** The usual chain: a fresh agency and school, one bus, its helper, and {@code riders} students on it. */
+    public BusHelper helperWithRiders(int riders) {
+        Agency agency = agency();
+        School school = school(agency);
+        Bus bus = bus(agency, school);
+        BusHelper helper = helper(school, bus);
+        students(school, bus, riders);
+        return helper;
+    }
+
+    private static <T extends User> T user(T user, String kind, long n, Role role) {
+        user.setName(Character.toUpperCase(kind.charAt(0)) + kind.substring(1) + " " + n);
+        user.setPhone(String.format("7%09d", n));
+        user.setEmail(kind + "-" + n + "@eduride.test");
+        user.setPassword("x");
+        user.setRole(role);
+        return user;
+    }
+}
@@ -0,0 +1,191 @@
+package com.eduride.attendance;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * An acknowledged status must survive a process dying before the write-behind
+ * flush, and a flush that fails against the database; a mark the database
+ * refuses for good must not hold back the others.
+ */
+class AttendanceStateEngineRecoveryTest {
+
+    private static final ZoneId ZONE = ZoneId.of("Asia/Kolkata");
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 18);
+    private static final Clock CLOCK = Clock.fixed(TODAY.atTime(7, 30).atZone(ZONE).toInstant(), ZONE);
+
+    private static final long SCHOOL = 1L;
+    private static final long BUS = 10L;
+    private static final long HELPER = 99L;
+
+    @TempDir
+    Path journalDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void acknowledgedMarksAreReplayedAfterCrash() {
+        InMemoryStore store = new InMemoryStore();
+
+        AttendanceStateEngine beforeCrash = start(store);
+        beforeCrash.record(Map.of(101L, "PICKED"), HELPER);
+        beforeCrash.record(Map.of(102L, "PICKED", 103L, "PICKED"), HELPER);
+        beforeCrash.record(Map.of(102L, "DROPPED"), HELPER);
+
+        assertThat(beforeCrash.countsForBus(BUS)).contains(new AttendanceCounts(3, 0, 2, 1));
+        assertThat(store.rows).isEmpty();
+
+        // process dies: no flush, no shutdown hook – only the journal is left
+        AttendanceStateEngine afterCrash = start(store);
+
+        assertThat(store.rows).containsOnly(
+                Map.entry(101L, "PICKED"),
+                Map.entry(102L, "DROPPED"),
+                Map.entry(103L, "PICKED"));
+        assertThat(afterCrash.countsForBus(BUS)).contains(new AttendanceCounts(3, 0, 2, 1));
+        assertThat(afterCrash.countsForSchool(SCHOOL)).contains(new AttendanceCounts(4, 1, 2, 1));
+        assertThat(afterCrash.statusOf(102L)).contains("DROPPED");
+    }
+
+    @Test
+    void failedFlushKeepsMarksForRetryAndRecovery() {
+        InMemoryStore store = new InMemoryStore();
+        AttendanceStateEngine engine = start(store);
+
+        engine.record(Map.of(101L, "PICKED"), HELPER);
+        store.failing = true;
+        assertThat(engine.flush()).isFalse();
+
+        // newer mark taken while the database was down
+        engine.record(Map.of(101L, "DROPPED"), HELPER);
+        assertThat(store.rows).isEmpty();
+
+        // crash while the database is still failing, restart once it is back
+        store.failing = false;
+        start(store);
+
+        assertThat(store.rows).containsOnly(Map.entry(101L, "DROPPED"));
+    }
+
+    @Test
+    void flushedMarksAreNotReplayedOverLaterDatabaseState() {
+        InMemoryStore store = new InMemoryStore();
+        AttendanceStateEngine engine = start(store);
+
+        engine.record(Map.of(101L, "PICKED"), HELPER);
+        assertThat(engine.flush()).isTrue();
+
+        // out-of-band correction straight in the database
+        store.rows.put(101L, "PENDING");
+
+        AttendanceStateEngine restarted = start(store);
+        assertThat(store.rows).containsEntry(101L, "PENDING");
+        assertThat(restarted.statusOf(101L)).contains("PENDING");
+    }
+
+    @Test
+    void clearedStatusIsNotBroughtBackByItsJournalledMark() {
+        InMemoryStore store = new InMemoryStore();
+        AttendanceStateEngine engine = start(store);
+
+        engine.record(Map.of(101L, "PICKED", 102L, "PICKED"), HELPER);
+        engine.clear(101L, () -> store.rows.remove(101L));
+
+        assertThat(store.rows).containsOnly(Map.entry(102L, "PICKED"));
+        assertThat(engine.countsForBus(BUS)).contains(new AttendanceCounts(3, 2, 1, 0));
+
+        start(store);
+        assertThat(store.rows).containsOnly(Map.entry(102L, "PICKED"));
+    }
+
+    @Test
+    void markForDeletedStudentIsDeadLetteredWithoutBlockingOthers() throws Exception {
+        InMemoryStore store = new InMemoryStore();
+        AttendanceStateEngine engine = start(store);
+
+        engine.record(Map.of(101L, "PICKED"), HELPER);
+        engine.record(Map.of(102L, "PICKED"), HELPER);
+        engine.record(Map.of(103L, "PICKED"), HELPER);
+        // student removed between the tap and the flush – the FK refuses the row
+        store.deleted.add(102L);
+
+        assertThat(engine.flush()).isTrue();
+        assertThat(store.rows).containsOnly(Map.entry(101L, "PICKED"), Map.entry(103L, "PICKED"));
+        assertThat(Files.readAllLines(journalDir.resolve(AttendanceJournal.DEAD_LETTER)))
+                .containsExactly(TODAY + ",102,PICKED," + HELPER);
+        assertThat(meterRegistry.counter("eduride.attendance.marks.rejected").count()).isEqualTo(1);
+
+        // later marks flush normally and the refused one is not replayed on restart
+        engine.record(Map.of(101L, "DROPPED"), HELPER);
+        assertThat(engine.flush()).isTrue();
+        start(store);
+        assertThat(store.rows).containsOnly(Map.entry(101L, "DROPPED"), Map.entry(103L, "PICKED"));
+        assertThat(meterRegistry.counter("eduride.attendance.marks.rejected").count()).isEqualTo(1);
+    }
+
+    private AttendanceStateEngine start(InMemoryStore store) {
+        AttendanceStateEngine engine = new AttendanceStateEngine(store, true, journalDir, CLOCK, meterRegistry);
+        engine.start();
+        return engine;
+    }
+
+    /** student_status for TODAY, keyed by student id. */
+    private static final class InMemoryStore implements AttendanceStore {
+
+        final Map<Long, String> rows = new LinkedHashMap<>();
+        final Set<Long> deleted = new HashSet<>();
+        boolean failing;
+
+        private final List<RosterEntry> roster = List.of(
+                new RosterEntry(101L, SCHOOL, BUS),
+                new RosterEntry(102L, SCHOOL, BUS),
+                new RosterEntry(103L, SCHOOL, BUS),
+                new RosterEntry(104L, SCHOOL, null));
+
+        @Override
+        public List<RosterEntry> loadRoster() {
+            return roster;
+        }
+
+        @Override
+        public Optional<RosterEntry> findRosterEntry(Long studentId) {
+            return roster.stream().filter(entry -> entry.studentId().equals(studentId)).findFirst();
+        }
+
+        @Override
+        public List<StoredStatus> loadStatuses(LocalDate date) {
+            return rows.entrySet().stream()
+                    .map(row -> new StoredStatus(row.getKey(), row.getValue()))
+                    .toList();
+        }
+
+        @Override
+        public void upsertAll(Collection<AttendanceMark> marks) {
+            if (failing) {
+                throw new IllegalStateException("database unavailable");
+            }
+            if (marks.stream().anyMatch(mark -> deleted.contains(mark.studentId()))) {
+                throw new DataIntegrityViolationException("foreign key student_id");
+            }
+            marks.forEach(mark -> rows.put(mark.studentId(), mark.pickupStatus()));
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.eduride.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+
+/**
+ * What entity responses carry now that associations are lazy: an entity's own
+ * references in full, their references only as ids.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class EntityResponseShapeTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void schoolsCarryTheirAgencyInFull() throws Exception {
+        Agency agency = fixtures.agency();
+        fixtures.school(agency);
+
+        mockMvc.perform(get("/api/schools/agency/{agencyId}", agency.getId())
+                        .header("Authorization", bearer(agency)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].agency.name").value(agency.getName()));
+    }
+
+    @Test
+    void studentsCarryTheirBusWithItsReferencesAsIds() throws Exception {
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        Bus bus = fixtures.bus(agency, school, b -> b.setDriver(fixtures.driver(agency)));
+        fixtures.student(school, bus);
+
+        mockMvc.perform(get("/api/students/school/{schoolId}", school.getId())
+                        .header("Authorization", bearer(agency)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].assignedBus.busNumber").value(bus.getBusNumber()))
+                .andExpect(jsonPath("$[0].assignedBus.driver.id").value(bus.getDriver().getId()))
+                .andExpect(jsonPath("$[0].assignedBus.driver.name").doesNotExist());
+    }
+
+    private String bearer(Agency agency) {
+        return "Bearer " + jwtUtil.generateToken(new TenantContext(agency.getId(), agency.getEmail(), Role.AGENCY,
+                agency.getId(), null, null, 0));
+    }
+}
@@ -0,0 +1,164 @@
+package com.eduride.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.monitoring.MaxQueries;
+import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+
+/**
+ * Statement budgets of the list endpoints that used to be N+1: ten buses,
+ * drivers, riders or days of history must cost what one would – and of the
+ * dashboards, which take their ids from the token instead of looking the
+ * caller up again. Budgets include the JwtFilter principal lookup.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ReadEndpointQueryBudgetTest {
+
+    private static final int BUSES = 10;
+    private static final int HISTORY_DAYS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private Agency agency;
+    private School school;
+    private BusHelper helper;
+    private Student rider;
+
+    @BeforeAll
+    void seed() {
+        agency = fixtures.agency();
+        school = fixtures.school(agency);
+
+        Bus firstBus = null;
+        for (int i = 0; i < BUSES; i++) {
+            Driver driver = fixtures.driver(agency);
+            Bus bus = fixtures.bus(agency, school, b -> b.setDriver(driver));
+            BusHelper busHelper = fixtures.helper(school, bus);
+            if (i == 0) {
+                firstBus = bus;
+                helper = busHelper;
+            }
+        }
+
+        for (Student student : fixtures.students(school, firstBus, BUSES)) {
+            fixtures.status(student, helper, LocalDate.now(), "PICKED");
+            if (rider == null) {
+                rider = student;
+            }
+        }
+
+        for (int day = 1; day < HISTORY_DAYS; day++) {
+            fixtures.status(rider, helper, LocalDate.now().minusDays(day), "DROPPED");
+        }
+    }
+
+    @Test
+    @MaxQueries(2)
+    void agencyBusList() throws Exception {
+        mockMvc.perform(get("/api/buses/agency/{agencyId}", agency.getId())
+                        .header("Authorization", bearer(agencyTenant())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BUSES));
+    }
+
+    @Test
+    @MaxQueries(2)
+    void agencyDriverList() throws Exception {
+        mockMvc.perform(get("/api/drivers/agency/me")
+                        .header("Authorization", bearer(agencyTenant())))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BUSES));
+    }
+
+    @Test
+    @MaxQueries(2)
+    void helperRosterWithTodaysStatus() throws Exception {
+        TenantContext tenant = new TenantContext(helper.getId(), helper.getEmail(), Role.HELPER,
+                agency.getId(), school.getId(), helper.getAssignedBus().getId(), 0);
+
+        mockMvc.perform(get("/api/helpers/students").header("Authorization", bearer(tenant)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(BUSES));
+    }
+
+    // bus number, rider count, counters
+    @Test
+    @MaxQueries(4)
+    void helperDashboard() throws Exception {
+        TenantContext tenant = new TenantContext(helper.getId(), helper.getEmail(), Role.HELPER,
+                agency.getId(), school.getId(), helper.getAssignedBus().getId(), 0);
+
+        mockMvc.perform(get("/api/helpers/dashboard/summary").header("Authorization", bearer(tenant)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.busNumber").value(helper.getAssignedBus().getBusNumber()))
+                .andExpect(jsonPath("$.totalStudentsAssigned").value(BUSES));
+    }
+
+    // school name, bus count, student count, counters
+    @Test
+    @MaxQueries(5)
+    void schoolDashboard() throws Exception {
+        TenantContext tenant = new TenantContext(school.getId(), school.getEmail(), Role.SCHOOL,
+                agency.getId(), school.getId(), null, 0);
+
+        mockMvc.perform(get("/api/schools/dashboard/summary").header("Authorization", bearer(tenant)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.schoolName").value(school.getName()))
+                .andExpect(jsonPath("$.totalBuses").value(BUSES));
+    }
+
+    // student and updatedBy come with the statuses (StudentStatus.withDetails), plus the archive lookup
+    @Test
+    @MaxQueries(3)
+    void studentStatusHistory() throws Exception {
+        TenantContext tenant = new TenantContext(rider.getId(), rider.getEmail(), Role.STUDENT,
+                agency.getId(), school.getId(), rider.getAssignedBus().getId(), 0);
+
+        mockMvc.perform(get("/api/student-status/student/{studentId}", rider.getId())
+                        .header("Authorization", bearer(tenant)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(HISTORY_DAYS))
+                .andExpect(jsonPath("$[0].student.name").value(rider.getName()))
+                .andExpect(jsonPath("$[0].updatedBy.name").value(helper.getName()));
+    }
+
+    private TenantContext agencyTenant() {
+        return new TenantContext(agency.getId(), agency.getEmail(), Role.AGENCY, agency.getId(), null, null, 0);
+    }
+
+    private String bearer(TenantContext tenant) {
+        return "Bearer " + jwtUtil.generateToken(tenant);
+    }
+}
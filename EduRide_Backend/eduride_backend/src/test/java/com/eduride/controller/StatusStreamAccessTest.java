@@ -0,0 +1,91 @@
+package com.eduride.controller;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.web.servlet.MockMvc;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Role;
+import com.eduride.entity.Student;
+import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+
+import jakarta.servlet.DispatcherType;
+
+/**
+ * Who may open which live stream: a student follows only their own status,
+ * never the whole bus, and only stream paths skip the checks on re-dispatch.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class StatusStreamAccessTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private BusHelper helper;
+    private Student rider;
+
+    @BeforeAll
+    void seed() {
+        helper = fixtures.helperWithRiders(1);
+        rider = fixtures.student(helper.getSchool(), helper.getAssignedBus());
+    }
+
+    @Test
+    void studentFollowsOwnStatusButNotTheBus() throws Exception {
+        TenantContext tenant = new TenantContext(rider.getId(), rider.getEmail(), Role.STUDENT,
+                rider.getSchool().getAgency().getId(), rider.getSchool().getId(), rider.getAssignedBus().getId(), 0);
+
+        mockMvc.perform(get("/api/student-status/stream/student/{studentId}", rider.getId())
+                        .header("Authorization", bearer(tenant)))
+                .andExpect(request().asyncStarted());
+
+        mockMvc.perform(get("/api/student-status/stream/bus/{busId}", rider.getAssignedBus().getId())
+                        .header("Authorization", bearer(tenant)))
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void helperFollowsOwnBus() throws Exception {
+        TenantContext tenant = new TenantContext(helper.getId(), helper.getEmail(), Role.HELPER,
+                helper.getSchool().getAgency().getId(), helper.getSchool().getId(),
+                helper.getAssignedBus().getId(), 0);
+
+        mockMvc.perform(get("/api/student-status/stream/bus/{busId}", helper.getAssignedBus().getId())
+                        .header("Authorization", bearer(tenant)))
+                .andExpect(request().asyncStarted());
+    }
+
+    @Test
+    void asyncDispatchOutsideStreamsIsNotPermitted() throws Exception {
+        // the feedback list is guarded by the URL rules alone
+        mockMvc.perform(get("/api/feedback").with(request -> {
+                    request.setDispatcherType(DispatcherType.ASYNC);
+                    return request;
+                }))
+                .andExpect(status().isForbidden());
+    }
+
+    private String bearer(TenantContext tenant) {
+        return "Bearer " + jwtUtil.generateToken(tenant);
+    }
+}
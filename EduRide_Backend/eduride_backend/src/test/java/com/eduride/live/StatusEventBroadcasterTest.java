@@ -0,0 +1,248 @@
+package com.eduride.live;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * Fan-out to thousands of in-JVM subscribers: every event reaches every
+ * matching stream, is serialised once, and stuck clients only lose their own
+ * oldest events until they are dropped.
+ */
+class StatusEventBroadcasterTest {
+
+    private static final long SCHOOL = 1L;
+    private static final long BUS = 10L;
+    private static final long STUDENT = 100L;
+
+    private final CountingObjectMapper objectMapper = new CountingObjectMapper();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StatusEventBroadcaster broadcaster;
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.close();
+    }
+
+    @Test
+    void thousandsOfSubscribersEachGetEveryEventSerialisedOnce() {
+        broadcaster = newBroadcaster(64);
+
+        List<RecordingEmitter> school = subscribe(StatusEventBroadcaster.schoolTopic(SCHOOL), 3_000);
+        List<RecordingEmitter> bus = subscribe(StatusEventBroadcaster.busTopic(BUS), 2_000);
+        List<RecordingEmitter> student = subscribe(StatusEventBroadcaster.studentTopic(STUDENT), 1_000);
+        List<RecordingEmitter> otherSchool = subscribe(StatusEventBroadcaster.schoolTopic(2L), 500);
+
+        int events = 20;
+        for (int i = 0; i < events; i++) {
+            broadcaster.publish(List.of(event(i % 2 == 0 ? "PICKED" : "DROPPED")));
+        }
+
+        List<RecordingEmitter> matching = new ArrayList<>();
+        matching.addAll(school);
+        matching.addAll(bus);
+        matching.addAll(student);
+        awaitTrue(() -> matching.stream().allMatch(emitter -> emitter.events.size() == events));
+
+        assertThat(objectMapper.serialisations.get()).isEqualTo(events);
+        assertThat(matching).allSatisfy(emitter ->
+                assertThat(emitter.events.get(events - 1)).contains("\"pickupStatus\":\"DROPPED\""));
+        assertThat(otherSchool).allSatisfy(emitter -> assertThat(emitter.events).isEmpty());
+        assertThat(meterRegistry.get("eduride.live.events.dropped").counter().count()).isZero();
+    }
+
+    @Test
+    void stuckSubscriberDropsOldestWithoutSlowingOthers() throws Exception {
+        int buffer = 8;
+        broadcaster = newBroadcaster(buffer);
+
+        BlockingEmitter stuck = broadcaster.subscribe(StatusEventBroadcaster.busTopic(BUS), new BlockingEmitter());
+        RecordingEmitter healthy = broadcaster.subscribe(StatusEventBroadcaster.busTopic(BUS), new RecordingEmitter());
+
+        int events = 50;
+        for (int i = 1; i <= events; i++) {
+            broadcaster.publish(List.of(event("PICKED")));
+            int expected = i;
+            awaitTrue(() -> healthy.events.size() == expected);
+            if (i == 1) {
+                assertThat(stuck.entered.await(5, TimeUnit.SECONDS)).isTrue();
+            }
+        }
+
+        stuck.release.countDown();
+        // the in-flight first event, then only the newest `buffer` ones
+        awaitTrue(() -> stuck.ids.size() == 1 + buffer);
+        assertThat(stuck.ids.get(0)).isEqualTo("1");
+        assertThat(stuck.ids.get(buffer)).isEqualTo(Integer.toString(events));
+        assertThat(meterRegistry.get("eduride.live.events.dropped").counter().count())
+                .isEqualTo(events - 1 - buffer);
+    }
+
+    @Test
+    void manyStuckSubscribersDoNotStallOthersAndAreClosedAfterSendTimeout() throws Exception {
+        broadcaster = new StatusEventBroadcaster(objectMapper, meterRegistry, 8, Duration.ofMinutes(30), 0,
+                Duration.ofMillis(50));
+
+        List<BlockingEmitter> stuck = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            stuck.add(broadcaster.subscribe(StatusEventBroadcaster.schoolTopic(SCHOOL), new BlockingEmitter()));
+        }
+        RecordingEmitter otherSchool = broadcaster.subscribe(StatusEventBroadcaster.schoolTopic(2L),
+                new RecordingEmitter());
+
+        broadcaster.publish(List.of(event("PICKED")));
+        broadcaster.publish(List.of(new PickupStatusEvent(200L, 20L, 2L, "PICKED", LocalDate.now(),
+                System.currentTimeMillis())));
+        awaitTrue(() -> otherSchool.events.size() == 1);
+        for (BlockingEmitter emitter : stuck) {
+            assertThat(emitter.entered.await(5, TimeUnit.SECONDS)).isTrue();
+        }
+
+        Thread.sleep(100);
+        broadcaster.heartbeat();
+
+        assertThat(broadcaster.subscriberCount()).isEqualTo(1);
+        assertThat(meterRegistry.get("eduride.live.subscribers.evicted").counter().count()).isEqualTo(50);
+        // their requests are ended too, not left open until the emitter timeout
+        awaitTrue(() -> stuck.stream().allMatch(emitter -> emitter.failure != null));
+        stuck.forEach(emitter -> emitter.release.countDown());
+    }
+
+    @Test
+    void idleSubscribersGetHeartbeatAndBrokenOnesAreRemoved() {
+        broadcaster = newBroadcaster(8);
+
+        RecordingEmitter idle = broadcaster.subscribe(StatusEventBroadcaster.schoolTopic(SCHOOL), new RecordingEmitter());
+        broadcaster.subscribe(StatusEventBroadcaster.schoolTopic(SCHOOL), new BrokenEmitter());
+        assertThat(broadcaster.subscriberCount()).isEqualTo(2);
+
+        broadcaster.heartbeat();
+
+        awaitTrue(() -> idle.heartbeats.get() == 1 && broadcaster.subscriberCount() == 1);
+        assertThat(idle.events).isEmpty();
+    }
+
+    private StatusEventBroadcaster newBroadcaster(int bufferSize) {
+        return new StatusEventBroadcaster(objectMapper, meterRegistry, bufferSize, Duration.ofMinutes(30), 0,
+                Duration.ofSeconds(30));
+    }
+
+    private List<RecordingEmitter> subscribe(String topic, int count) {
+        List<RecordingEmitter> emitters = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            emitters.add(broadcaster.subscribe(topic, new RecordingEmitter()));
+        }
+        return emitters;
+    }
+
+    private static PickupStatusEvent event(String status) {
+        return new PickupStatusEvent(STUDENT, BUS, SCHOOL, status, LocalDate.now(), System.currentTimeMillis());
+    }
+
+    private static void awaitTrue(BooleanSupplier condition) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(20);
+        while (!condition.getAsBoolean()) {
+            assertThat(System.nanoTime()).as("condition not met in time").isLessThan(deadline);
+            Thread.onSpinWait();
+        }
+    }
+
+    private static final class CountingObjectMapper extends ObjectMapper {
+
+        final AtomicInteger serialisations = new AtomicInteger();
+
+        CountingObjectMapper() {
+            super(Jackson2ObjectMapperBuilder.json().build());
+        }
+
+        @Override
+        public String writeValueAsString(Object value) throws JsonProcessingException {
+            serialisations.incrementAndGet();
+            return super.writeValueAsString(value);
+        }
+    }
+
+    /** Stands in for a connected client; keeps the JSON payload of every event. */
+    private static class RecordingEmitter extends SseEmitter {
+
+        final List<String> events = new CopyOnWriteArrayList<>();
+        final List<String> ids = new CopyOnWriteArrayList<>();
+        final AtomicInteger heartbeats = new AtomicInteger();
+        volatile Throwable failure;
+
+        @Override
+        public void completeWithError(Throwable ex) {
+            failure = ex;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            Set<DataWithMediaType> parts = builder.build();
+            String json = null;
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType part : parts) {
+                if (MediaType.APPLICATION_JSON.equals(part.getMediaType())) {
+                    json = (String) part.getData();
+                } else {
+                    text.append(part.getData());
+                }
+            }
+            if (json == null) {
+                heartbeats.incrementAndGet();
+                return;
+            }
+            String frame = text.toString();
+            ids.add(frame.substring(frame.indexOf("id:") + 3, frame.indexOf('\n')));
+            events.add(json);
+        }
+    }
+
+    /** Client whose first write hangs until released. */
+    private static final class BlockingEmitter extends RecordingEmitter {
+
+        final CountDownLatch entered = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            entered.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            super.send(builder);
+        }
+    }
+
+    /** Client that has gone away. */
+    private static final class BrokenEmitter extends SseEmitter {
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            throw new IOException("Broken pipe");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.eduride.monitoring;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.eduride.entity.Agency;
+import com.eduride.service.AgencyService;
+
+/**
+ * A login and a dashboard call show up on the Prometheus scrape with their
+ * role / tenant tags and histogram buckets.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@AutoConfigureObservability(tracing = false)
+class HotPathMetricsTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AgencyService agencyService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void hotPathsAreScrapedWithRoleAndTenant() throws Exception {
+        Agency agency = new Agency();
+        agency.setName("Metrics Agency");
+        agency.setPhone("9700000000");
+        agency.setEmail("metrics-agency@eduride.test");
+        agency.setPassword("metrics-password");
+        agency.setAddress("Nagpur");
+        agency = agencyService.create(agency);
+
+        HttpResponse<String> login = client.send(HttpRequest.newBuilder(uri("/api/auth/login"))
+                        .header("Content-Type", "application/json")
+                        .POST(HttpRequest.BodyPublishers.ofString(
+                                "{\"email\":\"metrics-agency@eduride.test\",\"password\":\"metrics-password\"}"))
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(login.statusCode()).isEqualTo(200);
+        String token = login.body().replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        HttpResponse<String> dashboard = client.send(HttpRequest.newBuilder(uri("/api/agencies/dashboard/summary"))
+                        .header("Authorization", "Bearer " + token)
+                        .GET()
+                        .build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(dashboard.statusCode()).isEqualTo(200);
+
+        HttpResponse<String> scrape = client.send(HttpRequest.newBuilder(uri("/actuator/prometheus")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+        assertThat(scrape.statusCode()).isEqualTo(200);
+
+        String tenant = "tenant=\"" + agency.getId() + "\"";
+        assertThat(scrape.body())
+                .containsPattern("eduride_auth_login_seconds_bucket\\{[^}]*outcome=\"success\",role=\"agency\","
+                        + tenant)
+                .containsPattern("eduride_jwt_verification_seconds_count\\{[^}]*role=\"agency\"," + tenant)
+                .containsPattern("eduride_user_lookup_seconds_count\\{[^}]*role=\"agency\"," + tenant)
+                .containsPattern("eduride_dashboard_summary_seconds_count\\{dashboard=\"agency\","
+                        + "outcome=\"success\",role=\"agency\"," + tenant);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,21 @@
+package com.eduride.monitoring;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import org.junit.jupiter.api.extension.ExtendWith;
+
+/**
+ * Statement budget of a test method: fails the test if its body runs more
+ * SQL statements on the test thread. {@code @BeforeEach} fixtures are not
+ * counted; MockMvc requests run on the test thread and are.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@ExtendWith(MaxQueriesExtension.class)
+public @interface MaxQueries {
+
+    int value();
+}
@@ -0,0 +1,33 @@
+package com.eduride.monitoring;
+
+import org.junit.jupiter.api.extension.AfterTestExecutionCallback;
+import org.junit.jupiter.api.extension.BeforeTestExecutionCallback;
+import org.junit.jupiter.api.extension.ExtensionContext;
+import org.opentest4j.AssertionFailedError;
+
+/**
+ * Enforces {@link MaxQueries}: takes {@link SqlStatementCounter#executed()}
+ * right before and after the test body.
+ */
+class MaxQueriesExtension implements BeforeTestExecutionCallback, AfterTestExecutionCallback {
+
+    private static final ExtensionContext.Namespace NAMESPACE = ExtensionContext.Namespace.create(MaxQueriesExtension.class);
+
+    @Override
+    public void beforeTestExecution(ExtensionContext context) {
+        context.getStore(NAMESPACE).put(context.getUniqueId(), SqlStatementCounter.executed());
+    }
+
+    @Override
+    public void afterTestExecution(ExtensionContext context) {
+        long before = context.getStore(NAMESPACE).remove(context.getUniqueId(), Long.class);
+        long statements = SqlStatementCounter.executed() - before;
+        int budget = context.getRequiredTestMethod().getAnnotation(MaxQueries.class).value();
+
+        if (statements > budget) {
+            throw new AssertionFailedError(
+                    context.getDisplayName() + " ran " + statements + " SQL statements, budget is " + budget,
+                    budget, statements);
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.eduride.paging;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Student;
+import com.eduride.repository.StudentRepository;
+
+/**
+ * Walking a list page by page with the returned cursors visits every row
+ * exactly once, in the requested order.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class PageQueryTest {
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void cursorsWalkEveryRowOnceInBothDirections() {
+        Agency agency = fixtures.agency();
+        fixtures.students(fixtures.school(agency), null, 7);
+        long total = studentRepository.count();
+
+        List<Long> ascending = walk("id", 3);
+        assertThat(ascending).hasSize((int) total).isSorted().doesNotHaveDuplicates();
+
+        List<Long> descending = walk("-id", 4);
+        assertThat(descending).hasSize((int) total).doesNotHaveDuplicates();
+        assertThat(descending).containsExactlyElementsOf(ascending.reversed());
+    }
+
+    @Test
+    void limitIsCappedAndBadInputRejected() {
+        assertThat(PageQuery.of(null, null, null, KeysetSort.ID_ASC).limit()).isEqualTo(PageQuery.DEFAULT_LIMIT);
+        assertThat(PageQuery.of(100_000, null, null, KeysetSort.ID_ASC).limit()).isEqualTo(PageQuery.MAX_LIMIT);
+        assertThat(PageQuery.of(0, null, null, KeysetSort.ID_ASC).limit()).isEqualTo(1);
+
+        String idCursor = PageQuery.encode(KeysetSort.ID_ASC, ScrollPosition.forward(Map.of("id", 42L)));
+        assertThatThrownBy(() -> PageQuery.of(10, idCursor, "-id", KeysetSort.ID_ASC, KeysetSort.ID_DESC))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> PageQuery.of(10, "not-a-cursor", "id", KeysetSort.ID_ASC))
+                .isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> PageQuery.of(10, null, "-date", KeysetSort.ID_ASC))
+                .isInstanceOf(ResponseStatusException.class);
+    }
+
+    @Test
+    void compositeCursorRoundTripsTypedKeys() {
+        KeysetScrollPosition position = ScrollPosition.forward(
+                Map.of("date", LocalDate.of(2026, 3, 14), "id", 9L));
+
+        String cursor = PageQuery.encode(KeysetSort.DATE_DESC, position);
+
+        assertThat(PageQuery.decode(cursor, KeysetSort.DATE_DESC).getKeys())
+                .containsEntry("date", LocalDate.of(2026, 3, 14))
+                .containsEntry("id", 9L);
+    }
+
+    private List<Long> walk(String sort, int limit) {
+        List<Long> ids = new ArrayList<>();
+        String cursor = null;
+        do {
+            CursorPage<Student> page = PageQuery.of(limit, cursor, sort, KeysetSort.ID_ASC, KeysetSort.ID_DESC)
+                    .fetch(studentRepository::findBy);
+            assertThat(page.items()).hasSizeLessThanOrEqualTo(limit);
+            page.items().forEach(student -> ids.add(student.getId()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+        return ids;
+    }
+}
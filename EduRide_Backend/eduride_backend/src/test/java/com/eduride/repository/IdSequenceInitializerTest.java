@@ -0,0 +1,58 @@
+package com.eduride.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.IdSequences;
+
+/**
+ * Rows inserted with ids the pooled generator never handed out (AUTO_INCREMENT
+ * leftovers) must not collide with the ids it hands out next.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class IdSequenceInitializerTest {
+
+    @Autowired
+    private IdSequenceInitializer initializer;
+
+    @Autowired
+    private AgencyRepository agencyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void generatedIdsStartPastRowsInsertedOutsideHibernate() {
+        long legacyId = 1_000_000L;
+        jdbcTemplate.update("""
+                INSERT INTO users (id, name, phone, email, password, role, active, token_version)
+                VALUES (?, 'Legacy Agency', '9400000000', 'legacy-agency@eduride.test', 'x', 'AGENCY', TRUE, 0)
+                """, legacyId);
+        jdbcTemplate.update("INSERT INTO agency (id, address) VALUES (?, 'Surat')", legacyId);
+
+        initializer.alignAll();
+
+        List<Agency> agencies = new ArrayList<>();
+        for (int i = 0; i < IdSequences.ALLOCATION_SIZE + 5; i++) {
+            agencies.add(fixtures.newAgency());
+        }
+
+        // more than one allocation: whatever block this JVM still holds, the next one comes from the aligned row
+        List<Agency> saved = agencyRepository.saveAll(agencies);
+        assertThat(saved.get(saved.size() - 1).getId()).isGreaterThan(legacyId);
+    }
+}
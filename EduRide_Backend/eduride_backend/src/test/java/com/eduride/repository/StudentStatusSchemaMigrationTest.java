@@ -0,0 +1,36 @@
+package com.eduride.repository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.eduride.TestFixtures;
+
+/**
+ * A student_status table created while updated_by was NOT NULL must take the
+ * seed's author-less rows after startup.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class StudentStatusSchemaMigrationTest {
+
+    @Autowired
+    private StudentStatusSchemaMigration migration;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void relaxesAnUpdatedByColumnCreatedNotNull() {
+        jdbcTemplate.execute("ALTER TABLE student_status ALTER COLUMN updated_by SET NOT NULL");
+        assertThat(migration.isNotNull()).isTrue();
+
+        migration.migrate();
+
+        assertThat(migration.isNotNull()).isFalse();
+    }
+}
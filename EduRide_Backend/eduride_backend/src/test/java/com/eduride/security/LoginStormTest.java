@@ -0,0 +1,117 @@
+package com.eduride.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import com.eduride.entity.Agency;
+import com.eduride.service.AgencyService;
+
+/**
+ * Load test: a burst of logins far larger than the hashing pool must be
+ * shed with 503 + Retry-After, while cheap endpoints keep answering quickly.
+ */
+@SpringBootTest(
+        webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "eduride.security.password-hashing.threads=1",
+                "eduride.security.password-hashing.queue-capacity=4",
+                "eduride.security.password-hashing.max-wait=5s"
+        }
+)
+class LoginStormTest {
+
+    private static final int LOGINS = 100;
+    private static final int PROBES = 20;
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private AgencyService agencyService;
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .build();
+
+    @Test
+    void cheapEndpointsStayResponsiveDuringLoginStorm() throws Exception {
+        Agency agency = new Agency();
+        agency.setName("Storm Agency");
+        agency.setPhone("9999999999");
+        agency.setEmail("storm@eduride.test");
+        agency.setPassword("storm-password");
+        agency.setAddress("Pune");
+        agencyService.create(agency);
+
+        HttpRequest login = HttpRequest.newBuilder(uri("/api/auth/login"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(
+                        "{\"email\":\"storm@eduride.test\",\"password\":\"storm-password\"}"))
+                .build();
+        HttpRequest health = HttpRequest.newBuilder(uri("/actuator/health")).GET().build();
+
+        // warm up both paths so servlet init / JIT is not counted as storm latency
+        assertThat(client.send(login, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+        assertThat(client.send(health, HttpResponse.BodyHandlers.ofString()).statusCode()).isEqualTo(200);
+
+        List<Future<HttpResponse<String>>> storm = new ArrayList<>();
+        List<Long> probeMillis = new ArrayList<>();
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < LOGINS; i++) {
+                storm.add(clients.submit(() -> client.send(login, HttpResponse.BodyHandlers.ofString())));
+            }
+
+            // probe a cheap endpoint while the storm is in flight
+            for (int i = 0; i < PROBES; i++) {
+                long start = System.nanoTime();
+                HttpResponse<String> response = client.send(health, HttpResponse.BodyHandlers.ofString());
+                probeMillis.add((System.nanoTime() - start) / 1_000_000);
+                assertThat(response.statusCode()).isEqualTo(200);
+                Thread.sleep(20);
+            }
+
+            int ok = 0;
+            int busy = 0;
+            for (Future<HttpResponse<String>> future : storm) {
+                HttpResponse<String> response = future.get();
+                if (response.statusCode() == 200) {
+                    ok++;
+                } else {
+                    assertThat(response.statusCode()).isEqualTo(503);
+                    assertThat(response.headers().firstValue("Retry-After")).isPresent();
+                    busy++;
+                }
+            }
+
+            assertThat(ok).isPositive();
+            assertThat(busy).isPositive();
+            assertThat(ok + busy).isEqualTo(LOGINS);
+        }
+
+        // median rather than max: the first probes share the CPU with the storm's
+        // connection intake, which is not what the hashing pool protects against
+        List<Long> sorted = probeMillis.stream().sorted().toList();
+        assertThat(sorted.get(sorted.size() / 2))
+                .as("median /actuator/health latency during the storm (ms), all probes: %s", probeMillis)
+                .isLessThan(250);
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+}
@@ -0,0 +1,50 @@
+package com.eduride.security;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+/**
+ * A principal re-cached by a concurrent request while the change was not yet
+ * committed is evicted again on commit.
+ */
+class UserPrincipalCacheTest {
+
+    private final UserPrincipalCache cache = new UserPrincipalCache(new SimpleMeterRegistry(), 100, Duration.ofMinutes(5));
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void evictionInsideTransactionIsRepeatedAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        cache.get("a@eduride.test", email -> principal(email, "old"));
+        cache.evict("a@eduride.test");
+        // a concurrent request reloads before the update commits
+        cache.get("a@eduride.test", email -> principal(email, "old"));
+
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+
+        assertThat(cache.get("a@eduride.test", email -> principal(email, "new")).getPassword()).isEqualTo("new");
+    }
+
+    private static UserDetails principal(String email, String password) {
+        return User.withUsername(email).password(password).roles("SCHOOL").build();
+    }
+}
@@ -0,0 +1,77 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.eduride.TestFixtures;
+import com.eduride.dto.dashboard.AgencyDashboardSummaryDTO;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.repository.AgencyRepository;
+import com.eduride.security.TenantContext;
+
+/**
+ * The agency dashboard is one aggregate query, served from cache until a
+ * create or delete touches the agency.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class AgencyDashboardSummaryTest {
+
+    @Autowired
+    private AgencyService agencyService;
+
+    @Autowired
+    private StudentService studentService;
+
+    @Autowired
+    private AgencyRepository agencyRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @AfterEach
+    void clearTenant() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void summaryIsAggregatedOnceAndEvictedOnStudentChanges() {
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        fixtures.bus(agency, school);
+        fixtures.driver(agency);
+        Student first = studentService.create(fixtures.newStudent(school, null));
+        studentService.create(fixtures.newStudent(school, null));
+
+        assertThat(agencyRepository.findDashboardSummary(agency.getId()))
+                .contains(new AgencyDashboardSummaryDTO(1, 1, 2, 1));
+        assertThat(agencyRepository.findDashboardSummary(-1L)).isEmpty();
+
+        actAs(agency);
+        AgencyDashboardSummaryDTO cached = agencyService.getAgencyDashboardSummary();
+        assertThat(cached.getTotalStudents()).isEqualTo(2);
+        assertThat(agencyService.getAgencyDashboardSummary()).isSameAs(cached);
+
+        studentService.delete(first.getId());
+        assertThat(agencyService.getAgencyDashboardSummary().getTotalStudents()).isEqualTo(1);
+    }
+
+    private static void actAs(Agency agency) {
+        UsernamePasswordAuthenticationToken auth =
+                new UsernamePasswordAuthenticationToken(agency.getEmail(), null, List.of());
+        auth.setDetails(new TenantContext(agency.getId(), agency.getEmail(), Role.AGENCY, agency.getId(), null, null, 0));
+        SecurityContextHolder.getContext().setAuthentication(auth);
+    }
+}
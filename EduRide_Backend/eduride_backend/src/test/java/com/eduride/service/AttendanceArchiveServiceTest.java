@@ -0,0 +1,143 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eduride.TestFixtures;
+import com.eduride.attendance.AttendanceMonthCodec;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.entity.StudentStatusMonth;
+import com.eduride.repository.StudentStatusMonthRepository;
+import com.eduride.repository.StudentStatusRepository;
+
+/**
+ * Compacting closed months must not change what the history and export
+ * endpoints return, and later writes to an archived month must win.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class AttendanceArchiveServiceTest {
+
+    private static final LocalDate JANUARY = LocalDate.of(2024, 1, 1);
+    private static final LocalDate MARCH = LocalDate.of(2024, 3, 1);
+    private static final String[] CYCLE = {"PICKED", "DROPPED", "PENDING"};
+
+    @Autowired
+    private AttendanceArchiveService archiveService;
+
+    @Autowired
+    private StudentStatusService statusService;
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private StudentStatusRepository statusRepository;
+
+    @Autowired
+    private StudentStatusMonthRepository archiveRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    private final List<Student> students = new ArrayList<>();
+    private BusHelper helper;
+
+    @Test
+    void codecRoundTripsEveryDayIn12Bytes() {
+        String[] month = new String[31];
+        for (int day = 0; day < 31; day++) {
+            month[day] = day % 4 == 3 ? null : CYCLE[day % 3];
+        }
+
+        byte[] bits = AttendanceMonthCodec.encode(month);
+
+        assertThat(bits).hasSize(AttendanceMonthCodec.BYTES);
+        assertThat(AttendanceMonthCodec.decode(bits)).containsExactly(month);
+        assertThat(AttendanceMonthCodec.statusOn(bits, 31)).isEqualTo(month[30]);
+        assertThat(AttendanceMonthCodec.isEncodable("PRESENT")).isFalse();
+        assertThatThrownBy(() -> AttendanceMonthCodec.encode(new String[] {"PRESENT"}))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void compactedMonthsReadBackUnchangedAndLateWritesWin() throws Exception {
+        School school = seedSchool();
+        Student first = students.get(0);
+
+        List<String> historyBefore = history(first.getId());
+        String exportBefore = export(school.getId());
+
+        AttendanceArchiveService.Compaction compaction = archiveService.compactBefore(MARCH);
+
+        // 2 students × (31 + 29) days, minus the one status the codec has no code for
+        assertThat(compaction.months()).isEqualTo(2);
+        assertThat(compaction.archived()).isEqualTo(2 * 60 - 1);
+        assertThat(compaction.kept()).isEqualTo(1);
+        assertThat(statusRepository.findByStudentId(first.getId())).hasSize(1);
+        assertThat(archiveRepository.findByStudentIdOrderByMonth(first.getId()))
+                .extracting(StudentStatusMonth::getMonth)
+                .containsExactly(JANUARY, JANUARY.plusMonths(1));
+
+        assertThat(history(first.getId())).isEqualTo(historyBefore);
+        assertThat(export(school.getId())).isEqualTo(exportBefore);
+
+        // a correction to an archived day lands in student_status and wins on read
+        fixtures.status(first, helper, JANUARY.plusDays(4), "PENDING");
+        assertThat(history(first.getId())).contains(JANUARY.plusDays(4) + " PENDING")
+                .doesNotContain(JANUARY.plusDays(4) + " DROPPED");
+
+        // ...until the next run folds it into the archive
+        assertThat(archiveService.compactBefore(MARCH).archived()).isEqualTo(1);
+        byte[] january = archiveRepository.findByStudentIdOrderByMonth(first.getId()).get(0).getStatuses();
+        assertThat(AttendanceMonthCodec.statusOn(january, 5)).isEqualTo("PENDING");
+    }
+
+    private List<String> history(Long studentId) {
+        return statusService.findByStudent(studentId).stream()
+                .map(status -> status.getDate() + " " + status.getPickupStatus())
+                .toList();
+    }
+
+    private String export(Long schoolId) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        exportService.export(schoolId, JANUARY.plusDays(10), MARCH.minusDays(1),
+                AttendanceExportService.Format.CSV, out);
+        return out.toString(StandardCharsets.UTF_8);
+    }
+
+    private School seedSchool() {
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        Bus bus = fixtures.bus(agency, school);
+        helper = fixtures.helper(school, bus);
+
+        for (int i = 0; i < 2; i++) {
+            students.add(fixtures.student(school, bus));
+
+            for (LocalDate date = JANUARY; date.isBefore(MARCH); date = date.plusDays(1)) {
+                // one legacy status outside the codec's vocabulary stays in student_status
+                String status = i == 0 && date.getDayOfMonth() == 15 && date.getMonthValue() == 2
+                        ? "PRESENT"
+                        : CYCLE[(date.getDayOfMonth() - 1 + i) % 3];
+                fixtures.status(students.get(i), helper, date, status);
+            }
+        }
+        return school;
+    }
+}
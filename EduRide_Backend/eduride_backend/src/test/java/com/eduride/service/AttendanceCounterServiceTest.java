@@ -0,0 +1,134 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eduride.TestFixtures;
+import com.eduride.dto.StatusBatchItem;
+import com.eduride.entity.AttendanceCounter;
+import com.eduride.entity.AttendanceCounterId;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.CounterScope;
+import com.eduride.entity.Student;
+import com.eduride.entity.StudentStatus;
+import com.eduride.repository.AttendanceCounterRepository;
+import com.eduride.repository.StudentRepository;
+
+/**
+ * attendance_counter must follow every status transition written through the
+ * upsert path – admin edits and deletes included – and reconciliation must
+ * find and repair drift.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class AttendanceCounterServiceTest {
+
+    @Autowired
+    private StudentStatusService statusService;
+
+    @Autowired
+    private AttendanceCounterService counterService;
+
+    @Autowired
+    private AttendanceCounterRepository counterRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void countersFollowTransitionsAndReconcileRepairsDrift() {
+        BusHelper helper = fixtures.helperWithRiders(2);
+        Long schoolId = helper.getSchool().getId();
+        Long busId = helper.getAssignedBus().getId();
+        List<Student> students = studentRepository.findByAssignedBusId(busId);
+        Long first = students.get(0).getId();
+        Long second = students.get(1).getId();
+        LocalDate today = LocalDate.now();
+
+        statusService.upsertTodayStatus(first, "PICKED", helper);
+        statusService.upsertTodayStatus(second, "PICKED", helper);
+        assertThat(counts(CounterScope.SCHOOL, schoolId)).containsOnly(Map.entry("PICKED", 2L));
+        assertThat(counts(CounterScope.BUS, busId)).containsOnly(Map.entry("PICKED", 2L));
+
+        // PICKED → DROPPED moves one count; a repeated tap changes nothing
+        statusService.upsertTodayStatus(first, "DROPPED", helper);
+        statusService.upsertTodayStatus(first, "DROPPED", helper);
+        assertThat(counts(CounterScope.BUS, busId))
+                .containsEntry("PICKED", 1L)
+                .containsEntry("DROPPED", 1L);
+
+        // batch path: both students swap
+        statusService.upsertTodayStatuses(List.of(item(first, "PICKED"), item(second, "DROPPED")),
+                helper.getId(), busId);
+        assertThat(counts(CounterScope.SCHOOL, schoolId))
+                .containsEntry("PICKED", 1L)
+                .containsEntry("DROPPED", 1L);
+
+        assertThat(counterService.reconcile(today).drifted()).isZero();
+
+        // an out-of-band write leaves the counter wrong until reconciliation
+        AttendanceCounter corrupted = counterRepository
+                .findById(new AttendanceCounterId(CounterScope.BUS, busId, today, "PICKED"))
+                .orElseThrow();
+        corrupted.setCount(7);
+        counterRepository.save(corrupted);
+
+        assertThat(counterService.reconcile(today).drifted()).isEqualTo(1);
+        assertThat(counts(CounterScope.BUS, busId)).containsEntry("PICKED", 1L);
+        assertThat(counterService.reconcile(today).drifted()).isZero();
+    }
+
+    @Test
+    void adminEditsAndDeletesMoveTheCountersWithTheRow() {
+        BusHelper helper = fixtures.helperWithRiders(0);
+        Long busId = helper.getAssignedBus().getId();
+        Student first = fixtures.student(helper.getSchool(), helper.getAssignedBus());
+        Student second = fixtures.student(helper.getSchool(), helper.getAssignedBus());
+
+        StudentStatus status = new StudentStatus();
+        status.setStudent(first);
+        status.setUpdatedBy(helper);
+        status.setPickupStatus("PICKED");
+        Long id = statusService.create(status).getId();
+
+        StudentStatus edit = new StudentStatus();
+        edit.setPickupStatus("DROPPED");
+        statusService.update(id, edit);
+        assertThat(counts(CounterScope.BUS, busId)).containsOnly(Map.entry("DROPPED", 1L));
+
+        // moved to another student: off the first one's row, onto the second's
+        edit.setStudent(second);
+        Long movedId = statusService.update(id, edit).getId();
+        assertThat(counts(CounterScope.BUS, busId)).containsOnly(Map.entry("DROPPED", 1L));
+        assertThat(statusService.findTodayStatus(first.getId())).isNull();
+
+        statusService.delete(movedId);
+        assertThat(counts(CounterScope.BUS, busId)).isEmpty();
+        assertThat(counterService.reconcile(LocalDate.now()).drifted()).isZero();
+    }
+
+    private Map<String, Long> counts(CounterScope scope, Long scopeId) {
+        Map<String, Long> counts = new HashMap<>(counterService.countsFor(scope, scopeId, LocalDate.now()));
+        counts.values().removeIf(count -> count == 0);
+        return counts;
+    }
+
+    private static StatusBatchItem item(Long studentId, String status) {
+        StatusBatchItem item = new StatusBatchItem();
+        item.setStudentId(studentId);
+        item.setPickupStatus(status);
+        return item;
+    }
+}
@@ -0,0 +1,143 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Role;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.security.JwtUtil;
+import com.eduride.security.TenantContext;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * The export streams exactly the school's rows in the range, ordered by day
+ * then student, in either format – also through the endpoint, on its own
+ * async timeout.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(TestFixtures.class)
+class AttendanceExportServiceTest {
+
+    private static final LocalDate START = LocalDate.of(2025, 6, 2);
+
+    @Autowired
+    private AttendanceExportService exportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JwtUtil jwtUtil;
+
+    @Value("${eduride.attendance.export.timeout}")
+    private Duration exportTimeout;
+
+    @Test
+    void exportsSchoolRangeAsCsvAndNdjson() throws Exception {
+        Agency agency = fixtures.agency();
+        School school = seedSchool(agency, "exp-a", 3, 5);
+        seedSchool(agency, "exp-b", 2, 5);
+
+        LocalDate from = START.plusDays(1);
+        LocalDate to = START.plusDays(3);
+
+        ByteArrayOutputStream csv = new ByteArrayOutputStream();
+        long csvRows = exportService.export(school.getId(), from, to, AttendanceExportService.Format.CSV, csv);
+
+        List<String> lines = csv.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(csvRows).isEqualTo(9);
+        assertThat(lines).hasSize(10);
+        assertThat(lines.get(0)).isEqualTo("date,student_id,roll_no,student_name,class_name,bus_number,pickup_status");
+        assertThat(lines.get(1)).startsWith(from + ",").contains(",\"Sharma, exp-a 0\",").endsWith(",EXP-A,PICKED");
+        assertThat(lines.get(9)).startsWith(to + ",");
+
+        ByteArrayOutputStream ndjson = new ByteArrayOutputStream();
+        long jsonRows = exportService.export(school.getId(), from, to, AttendanceExportService.Format.NDJSON, ndjson);
+
+        List<String> records = ndjson.toString(StandardCharsets.UTF_8).lines().toList();
+        assertThat(jsonRows).isEqualTo(9);
+        assertThat(records).hasSize(9);
+        JsonNode first = objectMapper.readTree(records.get(0));
+        assertThat(first.get("date").asText()).isEqualTo(from.toString());
+        assertThat(first.get("studentName").asText()).isEqualTo("Sharma, exp-a 0");
+        assertThat(first.get("pickupStatus").asText()).isEqualTo("PICKED");
+    }
+
+    @Test
+    void downloadStreamsAsAsyncTaskWithItsOwnTimeout() throws Exception {
+        Agency agency = fixtures.agency();
+        School school = seedSchool(agency, "exp-c", 2, 3);
+        TenantContext tenant = new TenantContext(school.getId(), school.getEmail(), Role.SCHOOL,
+                agency.getId(), school.getId(), null, 0);
+
+        MvcResult started = mockMvc.perform(get("/api/student-status/school/{schoolId}/export", school.getId())
+                        .param("from", START.toString())
+                        .param("to", START.plusDays(2).toString())
+                        .header("Authorization", "Bearer " + jwtUtil.generateToken(tenant)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertThat(started.getRequest().getAsyncContext().getTimeout()).isEqualTo(exportTimeout.toMillis());
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CONTENT_DISPOSITION, containsString(".csv")))
+                .andReturn().getResponse().getContentAsString();
+        assertThat(body.lines()).hasSize(1 + 2 * 3);
+    }
+
+    @Test
+    void csvQuotesOnlyWhenNeeded() {
+        assertThat(AttendanceExportService.csv("6B")).isEqualTo("6B");
+        assertThat(AttendanceExportService.csv(null)).isEmpty();
+        assertThat(AttendanceExportService.csv("say \"hi\"")).isEqualTo("\"say \"\"hi\"\"\"");
+    }
+
+    private School seedSchool(Agency agency, String key, int students, int days) {
+        School school = fixtures.school(agency);
+        Bus bus = fixtures.bus(agency, school, b -> b.setBusNumber(key.toUpperCase()));
+        BusHelper helper = fixtures.helper(school, bus);
+
+        for (int i = 0; i < students; i++) {
+            String name = "Sharma, " + key + " " + i;
+            Student student = fixtures.student(school, bus, s -> s.setName(name));
+            for (int d = 0; d < days; d++) {
+                fixtures.status(student, helper, START.plusDays(d), "PICKED");
+            }
+        }
+        return school;
+    }
+}
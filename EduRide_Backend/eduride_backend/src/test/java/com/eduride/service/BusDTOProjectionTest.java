@@ -0,0 +1,100 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Comparator;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eduride.TestFixtures;
+import com.eduride.dto.BusDTO;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.School;
+
+import jakarta.persistence.EntityManagerFactory;
+
+/**
+ * Bus lists are built by a single projection query, whatever the bus count.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class BusDTOProjectionTest {
+
+    @Autowired
+    private BusService busService;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    // helpers of PRJ-0; insertion order need not be id order once other contexts have reset id_sequences
+    private List<BusHelper> firstBusHelpers;
+
+    @Test
+    void statementCountDoesNotGrowWithBuses() {
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        addBuses(agency, school, 0, 3);
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.setStatisticsEnabled(true);
+        try {
+            long small = statementsFor(statistics, () -> assertThat(busService.findByAgencyDTO(agency.getId())).hasSize(3));
+
+            addBuses(agency, school, 3, 20);
+            long large = statementsFor(statistics, () -> {
+                assertThat(busService.findByAgencyDTO(agency.getId())).hasSize(20);
+                assertThat(busService.getBusesBySchool(school.getId())).hasSize(20);
+            });
+
+            assertThat(small).isEqualTo(1);
+            assertThat(large).isEqualTo(2);
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+
+        BusDTO first = busService.findByAgencyDTO(agency.getId()).get(0);
+        assertThat(first.getBusNumber()).isEqualTo("PRJ-0");
+        assertThat(first.getSchoolName()).isEqualTo(school.getName());
+        assertThat(first.getDriverName()).isEqualTo("Projection Driver 0");
+        // two helpers on the bus: the first one (lowest id) is reported
+        assertThat(first.getHelperName()).isEqualTo(firstBusHelpers.stream()
+                .min(Comparator.comparing(BusHelper::getId)).orElseThrow().getName());
+        assertThat(busService.getBusDTOById(first.getId())).isEqualTo(first);
+    }
+
+    private static long statementsFor(Statistics statistics, Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    private void addBuses(Agency agency, School school, int from, int to) {
+        for (int i = from; i < to; i++) {
+            String key = Integer.toString(i);
+            Driver driver = fixtures.driver(agency, d -> d.setName("Projection Driver " + key));
+            Bus bus = fixtures.bus(agency, school, b -> {
+                b.setBusNumber("PRJ-" + key);
+                b.setDriver(driver);
+            });
+
+            List<BusHelper> helpers = List.of("a", "b").stream()
+                    .map(suffix -> fixtures.helper(school, bus, helper -> helper.setName("Projection Helper " + key + suffix)))
+                    .toList();
+            if (i == 0) {
+                firstBusHelpers = helpers;
+            }
+        }
+    }
+}
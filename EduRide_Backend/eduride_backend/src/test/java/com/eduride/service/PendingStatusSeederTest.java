@@ -0,0 +1,80 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.Bus;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.CounterScope;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.entity.StudentStatus;
+import com.eduride.repository.StudentStatusRepository;
+
+/**
+ * The nightly seed gives every rider exactly one PENDING row, written by
+ * nobody, leaves rows already written alone, counts what it inserts, and is
+ * safe to run again.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class PendingStatusSeederTest {
+
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 7);
+
+    @Autowired
+    private PendingStatusSeeder seeder;
+
+    @Autowired
+    private AttendanceCounterService counterService;
+
+    @Autowired
+    private StudentStatusRepository statusRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void seedsRidersOnceWithoutOverwritingTaps() {
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        Bus bus = fixtures.bus(agency, school);
+        BusHelper helper = fixtures.helper(school, bus);
+
+        Student rider = fixtures.student(school, bus);
+        Student tapped = fixtures.student(school, bus);
+        Student lapsed = fixtures.student(school, bus, student -> student.setPassStatus("INACTIVE"));
+        Student walker = fixtures.student(school, null);
+        Student unattended = fixtures.student(school, fixtures.bus(agency, school)); // bus without a helper
+
+        // tapped before the seed got to it (e.g. a late run)
+        fixtures.status(tapped, helper, DAY, "PICKED");
+
+        PendingStatusSeeder.SeedRun first = seeder.seed(DAY);
+
+        assertThat(first.complete()).isTrue();
+        StudentStatus seeded = statusRepository.findByStudentIdAndDate(rider.getId(), DAY).orElseThrow();
+        assertThat(seeded.getPickupStatus()).isEqualTo("PENDING");
+        assertThat(seeded.getUpdatedBy()).isNull();
+        assertThat(statusRepository.findByStudentIdAndDate(unattended.getId(), DAY)).isPresent();
+        assertThat(statusRepository.findByStudentIdAndDate(tapped.getId(), DAY).get().getPickupStatus())
+                .isEqualTo("PICKED");
+        assertThat(statusRepository.findByStudentIdAndDate(lapsed.getId(), DAY)).isEmpty();
+        assertThat(statusRepository.findByStudentIdAndDate(walker.getId(), DAY)).isEmpty();
+
+        // the seeded row is counted; the row saved outside the counter path is not
+        assertThat(counterService.countsFor(CounterScope.BUS, bus.getId(), DAY))
+                .isEqualTo(Map.of("PENDING", 1L));
+
+        assertThat(seeder.seed(DAY).inserted()).isZero();
+    }
+}
@@ -0,0 +1,81 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.StudentStatus;
+import com.eduride.repository.StudentRepository;
+import com.eduride.repository.StudentStatusRepository;
+
+/**
+ * Hammers one student's daily status from many threads: the (student_id, date)
+ * key plus the single-statement upsert must leave exactly one row.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class StudentStatusUpsertConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int WRITES_PER_THREAD = 25;
+
+    @Autowired
+    private StudentStatusService statusService;
+
+    @Autowired
+    private StudentStatusRepository statusRepository;
+
+    @Autowired
+    private StudentRepository studentRepository;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void concurrentUpsertsLeaveOneRowWithLastWrittenStatus() throws Exception {
+        BusHelper helper = fixtures.helperWithRiders(1);
+        Long studentId = studentRepository.findBySchoolId(helper.getSchool().getId()).get(0).getId();
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> writers = new ArrayList<>();
+
+        try (ExecutorService pool = Executors.newFixedThreadPool(THREADS)) {
+            for (int t = 0; t < THREADS; t++) {
+                String status = t % 2 == 0 ? "PICKED" : "PENDING";
+                writers.add(pool.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < WRITES_PER_THREAD; i++) {
+                        statusService.upsertTodayStatus(studentId, status, helper);
+                    }
+                    return null;
+                }));
+            }
+            start.countDown();
+            for (Future<?> writer : writers) {
+                writer.get();   // surfaces any constraint violation from a writer
+            }
+        }
+
+        // the last write after the storm must win
+        statusService.upsertTodayStatus(studentId, "DROPPED", helper);
+
+        List<StudentStatus> rows = statusRepository.findByStudentId(studentId);
+        assertThat(rows).hasSize(1);
+        assertThat(rows.get(0).getPickupStatus()).isEqualTo("DROPPED");
+        assertThat(rows.get(0).getDate()).isEqualTo(LocalDate.now());
+        assertThat(statusService.findTodayStatus(studentId)).isNotNull();
+    }
+}
@@ -0,0 +1,117 @@
+package com.eduride.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.eduride.TestFixtures;
+import com.eduride.entity.Agency;
+import com.eduride.entity.BusHelper;
+import com.eduride.entity.Driver;
+import com.eduride.entity.School;
+import com.eduride.entity.Student;
+import com.eduride.repository.UserRepository;
+import com.eduride.security.UserPrincipalCache;
+
+/**
+ * Every password change invalidates the user's issued tokens, and a school
+ * changing agency signs out only that school's members.
+ */
+@SpringBootTest
+@Import(TestFixtures.class)
+class TokenRevocationServiceTest {
+
+    @Autowired
+    private AgencyService agencyService;
+
+    @Autowired
+    private SchoolService schoolService;
+
+    @Autowired
+    private DriverService driverService;
+
+    @Autowired
+    private TokenRevocationService tokenRevocationService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private UserPrincipalCache principalCache;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private TestFixtures fixtures;
+
+    @Test
+    void passwordChangeRevokesTokens() {
+        Agency agency = fixtures.agency();
+        School school = fixtures.school(agency);
+        Driver driver = fixtures.driver(agency);
+
+        Agency agencyUpdate = fixtures.newAgency();
+        agencyUpdate.setEmail(agency.getEmail());
+        agencyUpdate.setPassword("new-secret");
+        agencyService.update(agency.getId(), agencyUpdate);
+
+        School schoolUpdate = new School();
+        schoolUpdate.setName(school.getName());
+        schoolUpdate.setPhone(school.getPhone());
+        schoolUpdate.setEmail(school.getEmail());
+        schoolUpdate.setAddress(school.getAddress());
+        schoolUpdate.setPassword("new-secret");
+        schoolService.update(school.getId(), schoolUpdate);
+
+        Driver driverUpdate = new Driver();
+        driverUpdate.setName(driver.getName());
+        driverUpdate.setPhone(driver.getPhone());
+        driverUpdate.setEmail(driver.getEmail());
+        driverUpdate.setLicenseNumber(driver.getLicenseNumber());
+        driverUpdate.setPassword("new-secret");
+        driverService.update(driver.getId(), driverUpdate);
+
+        assertThat(tokenVersion(agency.getId())).isEqualTo(1);
+        assertThat(tokenVersion(school.getId())).isEqualTo(1);
+        assertThat(tokenVersion(driver.getId())).isEqualTo(1);
+    }
+
+    @Test
+    void schoolMembersAreEvictedWithoutTouchingOtherTenants() {
+        BusHelper helper = fixtures.helperWithRiders(0);
+        Student member = fixtures.student(helper.getSchool(), helper.getAssignedBus());
+        BusHelper outsider = fixtures.helperWithRiders(0);
+
+        AtomicInteger loads = new AtomicInteger();
+        principalCache.get(member.getEmail(), email -> load(email, loads));
+        principalCache.get(outsider.getEmail(), email -> load(email, loads));
+
+        transactionTemplate.executeWithoutResult(status ->
+                tokenRevocationService.revokeSchoolMembers(helper.getSchool().getId()));
+
+        principalCache.get(member.getEmail(), email -> load(email, loads));
+        principalCache.get(outsider.getEmail(), email -> load(email, loads));
+        assertThat(loads).hasValue(3);
+        assertThat(tokenVersion(member.getId())).isEqualTo(1);
+        assertThat(tokenVersion(helper.getId())).isEqualTo(1);
+        assertThat(tokenVersion(outsider.getId())).isZero();
+    }
+
+    private int tokenVersion(Long userId) {
+        return userRepository.findById(userId).orElseThrow().getTokenVersion();
+    }
+
+    private static UserDetails load(String email, AtomicInteger loads) {
+        loads.incrementAndGet();
+        return User.withUsername(email).password("x").roles("STUDENT").build();
+    }
+}
@@ -1,5 +1,5 @@
 import { useEffect, useState } from "react";
-import API from "../../services/api";
+import API, { getAllPages } from "../../services/api";
 
 function BusSignup() {
   const [form, setForm] = useState({
@@ -17,7 +17,7 @@ function BusSignup() {
   useEffect(() => {
     API.get("/agencies").then(res => setAgencies(res.data));
     API.get("/schools").then(res => setSchools(res.data));
-    API.get("/drivers").then(res => setDrivers(res.data));
+    getAllPages("/drivers").then(setDrivers);
   }, []);
 
   const handleChange = (e) =>
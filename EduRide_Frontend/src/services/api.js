@@ -66,4 +66,17 @@ API.interceptors.response.use(
   }
 );
 
+// 🔹 Paged list endpoints return one page and put the next page's cursor in
+// X-Next-Cursor; this follows it until the last page (for dropdowns that need every item)
+export const getAllPages = async (url, params = {}) => {
+  const items = [];
+  let cursor;
+  do {
+    const res = await API.get(url, { params: { ...params, limit: 200, cursor } });
+    items.push(...res.data);
+    cursor = res.headers["x-next-cursor"];
+  } while (cursor);
+  return items;
+};
+
 export default API;